@@ -0,0 +1,75 @@
+package com.example.skillswap.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps concurrent calls into one downstream system (the JDBC pool, Nominatim). Callers queue fairly
+ * for up to maxWait and are then turned away with BulkheadFullException, so a burst sheds load
+ * instead of parking an unbounded number of (virtual) threads behind a slow dependency.
+ * Exposed as skillswap.bulkhead.available / .waiting / .rejected, tagged with the name.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int maxConcurrent, Duration maxWait, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        Gauge.builder("skillswap.bulkhead.available", permits, Semaphore::availablePermits)
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("skillswap.bulkhead.waiting", permits, Semaphore::getQueueLength)
+                .tag("name", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("skillswap.bulkhead.rejected")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a permit, waiting at most maxWait; pair every successful call with {@link #release()}.
+     */
+    public void acquire() {
+        try {
+            if (permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        throw new BulkheadFullException(name);
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public <T> T call(Supplier<T> work) {
+        acquire();
+        try {
+            return work.get();
+        } finally {
+            release();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+}
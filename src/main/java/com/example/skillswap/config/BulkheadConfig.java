@@ -0,0 +1,49 @@
+package com.example.skillswap.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Bulkheads in front of the JDBC pool and the geocoder. With virtual threads (spring.threads.virtual.enabled)
+ * the web tier no longer stops at 200 Tomcat threads, so these are what bound the load on each dependency.
+ */
+@Configuration
+public class BulkheadConfig {
+
+    @Bean
+    public Bulkhead jdbcBulkhead(@Value("${skillswap.bulkhead.jdbc.max-concurrent:20}") int maxConcurrent,
+                                 @Value("${skillswap.bulkhead.jdbc.max-wait:2s}") Duration maxWait,
+                                 MeterRegistry meterRegistry) {
+        return new Bulkhead("jdbc", maxConcurrent, maxWait, meterRegistry);
+    }
+
+    @Bean
+    public Bulkhead geocoderBulkhead(@Value("${skillswap.bulkhead.geocoder.max-concurrent:2}") int maxConcurrent,
+                                     @Value("${skillswap.bulkhead.geocoder.max-wait:3s}") Duration maxWait,
+                                     MeterRegistry meterRegistry) {
+        return new Bulkhead("geocoder", maxConcurrent, maxWait, meterRegistry);
+    }
+
+    // Same bean as QueryMonitoringConfig wraps: the one pool, or the read/write router with a replica
+    @Bean
+    public static BeanPostProcessor jdbcBulkheadDataSourcePostProcessor(
+            @Qualifier("jdbcBulkhead") ObjectProvider<Bulkhead> jdbcBulkhead) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return new BulkheadDataSource(dataSource, jdbcBulkhead.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.skillswap.config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * No permit became free within the bulkhead's wait time. Answered with 503 (also when it surfaces
+ * as the cause of a transaction or data access exception) so clients back off and retry.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Server busy, try again shortly")
+public class BulkheadFullException extends RuntimeException {
+
+    public BulkheadFullException(String bulkhead) {
+        super("Bulkhead '" + bulkhead + "' is full");
+    }
+}
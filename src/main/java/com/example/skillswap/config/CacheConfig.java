@@ -0,0 +1,31 @@
+package com.example.skillswap.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Caching;
+import java.net.URI;
+
+/**
+ * Enables Spring's cache abstraction. Cache names and the Caffeine spec live in application.properties.
+ * Also hands Hibernate its JCache manager: Caffeine reads "classpath:" config URIs itself, which works
+ * inside the packaged jar, whereas Hibernate's own hibernate.javax.cache.uri lookup turns the file into
+ * a jar: URL that Caffeine ignores (silently falling back to unbounded default regions).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(
+            @Value("${skillswap.cache.hibernate-config:classpath:hibernate-jcache.conf}") String configUri) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER,
+                Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                        .getCacheManager(URI.create(configUri), getClass().getClassLoader()));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.skillswap.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the node-local Hibernate second-level cache in step across nodes. After a cached entity
+ * (Skill, User, Profile) is committed, its ID is published on the cache invalidation channel; the
+ * other nodes drop that entity and their query results, which may list it.
+ */
+public class EntityCacheInvalidator implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityCacheInvalidator.class);
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final TwoLevelCacheManager cacheManager;
+
+    public EntityCacheInvalidator(EntityManagerFactory entityManagerFactory, TwoLevelCacheManager cacheManager) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.cacheManager = cacheManager;
+
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        cacheManager.setEntityInvalidationHandler(this::evictLocal);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was committed, so there is nothing to invalidate
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private void publish(EntityPersister persister, Object id) {
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        try {
+            cacheManager.publish(TwoLevelCacheManager.ENTITY_PREFIX + persister.getEntityName(), String.valueOf(id));
+        } catch (RuntimeException e) {
+            logger.warn("Could not publish invalidation for {}#{}: {}", persister.getEntityName(), id, e.getMessage());
+        }
+    }
+
+    /**
+     * Applies another node's change: drops the entity and every cached query result.
+     */
+    void evictLocal(String entityName, String id) {
+        org.hibernate.Cache cache = sessionFactory.getCache();
+        if (id == null) {
+            cache.evictEntityData(entityName);
+        } else {
+            try {
+                cache.evictEntityData(entityName, Long.valueOf(id));
+            } catch (NumberFormatException e) {
+                cache.evictEntityData(entityName);
+            }
+        }
+        // Query results are cheap to rebuild (only the skill catalogue today)
+        cache.evictQueryRegions();
+        cache.evictDefaultQueryRegion();
+    }
+}
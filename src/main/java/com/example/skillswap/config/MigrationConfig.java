@@ -0,0 +1,89 @@
+package com.example.skillswap.config;
+
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.callback.BaseCallback;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * Runs the Flyway migrations at startup unless skillswap.flyway.migrate-on-startup=false. Turning it off
+ * lets extra nodes of a scaled-out deployment (and the CDS training run, which has no database) start
+ * without touching the schema; ddl-auto=validate still checks it. Checked at runtime rather than through
+ * spring.flyway.enabled, which an AOT-processed build fixes at build time.
+ */
+@Configuration
+public class MigrationConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MigrationConfig.class);
+
+    private static final String SEED_LOCATION = "db/seed";
+    private static final String SEED_SCRIPT = "R__default_test_users.sql";
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${skillswap.flyway.migrate-on-startup:true}") boolean migrateOnStartup) {
+        return flyway -> {
+            if (migrateOnStartup) {
+                flyway.migrate();
+            } else {
+                logger.info("Skipping Flyway migrations (skillswap.flyway.migrate-on-startup=false)");
+            }
+        };
+    }
+
+    /**
+     * Databases that applied db/seed before it became dev-only keep its history row, which validation
+     * would report as a missing migration. Without the dev profile the row is dropped before validating;
+     * the users it inserted stay (see the README). Every other missing script is still an error.
+     */
+    @Bean
+    public Callback forgetSeedOutsideDev() {
+        return new BaseCallback() {
+            @Override
+            public boolean supports(Event event, Context context) {
+                return event == Event.BEFORE_VALIDATE || event == Event.BEFORE_MIGRATE;
+            }
+
+            @Override
+            public void handle(Event event, Context context) {
+                if (Arrays.stream(context.getConfiguration().getLocations())
+                        .map(Location::getPath)
+                        .anyMatch(SEED_LOCATION::equals)) {
+                    return;
+                }
+                String table = context.getConfiguration().getTable();
+                Connection connection = context.getConnection();
+                try (PreparedStatement exists = connection.prepareStatement("SELECT to_regclass(?) IS NOT NULL")) {
+                    exists.setString(1, table);
+                    try (ResultSet rs = exists.executeQuery()) {
+                        if (!rs.next() || !rs.getBoolean(1)) {
+                            return;
+                        }
+                    }
+                    try (PreparedStatement delete = connection.prepareStatement(
+                            "DELETE FROM " + table + " WHERE script = ?")) {
+                        delete.setString(1, SEED_SCRIPT);
+                        if (delete.executeUpdate() > 0) {
+                            logger.info("Removed the {} history row; the dev profile is not active", SEED_SCRIPT);
+                        }
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Could not clean up the " + SEED_SCRIPT + " history row", e);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.skillswap.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open-in-view for every request except the notification streams (spring.jpa.open-in-view=false turns off
+ * Spring Boot's own interceptor, which cannot exclude paths). The entity manager lives as long as the
+ * request, and an SSE request lasts up to the stream timeout; with it open, each stream would keep a pooled
+ * connection and a JDBC bulkhead permit the whole time. Entity lists with lazy users still rely on it.
+ */
+@Configuration
+public class OpenInViewConfig implements WebMvcConfigurer {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public OpenInViewConfig(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor).excludePathPatterns("/api/notifications/**");
+    }
+}
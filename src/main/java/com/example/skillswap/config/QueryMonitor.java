@@ -0,0 +1,81 @@
+package com.example.skillswap.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Sees every JDBC statement the application runs (the DataSource is wrapped in QueryMonitoringConfig).
+ * Counts statements per thread between {@link #startCounting()} and {@link #stopCounting()}, and logs
+ * statements slower than the threshold with the types of their bind values, never the values.
+ */
+public class QueryMonitor implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryMonitor.class);
+
+    private static final ThreadLocal<Counter> COUNTER = new ThreadLocal<>();
+
+    private final long slowThresholdMs;
+
+    public QueryMonitor(Duration slowThreshold) {
+        this.slowThresholdMs = slowThreshold.toMillis();
+    }
+
+    public static void startCounting() {
+        COUNTER.set(new Counter());
+    }
+
+    /**
+     * Statements run on this thread since startCounting(); a JDBC batch counts as one round trip.
+     */
+    public static int stopCounting() {
+        Counter counter = COUNTER.get();
+        COUNTER.remove();
+        return counter == null ? 0 : counter.statements;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Counter counter = COUNTER.get();
+        if (counter != null) {
+            counter.statements++;
+        }
+        if (execInfo.getElapsedTime() >= slowThresholdMs) {
+            for (QueryInfo query : queryInfoList) {
+                logger.warn("Slow query ({} ms{}): {} binds {}", execInfo.getElapsedTime(),
+                        execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "",
+                        query.getQuery(), bindShape(query));
+            }
+        }
+    }
+
+    // e.g. [Long, String, null]; for batches, the shape of the first row
+    private static String bindShape(QueryInfo query) {
+        List<List<ParameterSetOperation>> rows = query.getParametersList();
+        if (rows.isEmpty()) {
+            return "[]";
+        }
+        return rows.get(0).stream()
+                .map(operation -> {
+                    Object[] args = operation.getArgs();
+                    Object value = args.length > 1 ? args[1] : null;
+                    return value == null ? "null" : value.getClass().getSimpleName();
+                })
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static final class Counter {
+        private int statements;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.skillswap.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the application DataSource in a datasource-proxy that reports every statement to QueryMonitor,
+ * in place of show-sql/TRACE logging. Only the bean named "dataSource" is wrapped: the single pool
+ * normally, or the read/write router when the replica is enabled, so the pools underneath stay plain.
+ */
+@Configuration
+public class QueryMonitoringConfig {
+
+    @Bean
+    public static BeanPostProcessor queryMonitoringDataSourcePostProcessor(Environment environment) {
+        Duration slowThreshold = environment.getProperty("skillswap.jdbc.slow-query-threshold",
+                Duration.class, Duration.ofMillis(200));
+        QueryMonitor monitor = new QueryMonitor(slowThreshold);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name("skillswap")
+                            .listener(monitor)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(
+            MeterRegistry meterRegistry,
+            @Value("${skillswap.jdbc.request-query-budget:20}") int requestQueryBudget) {
+        FilterRegistrationBean<QueryCountFilter> registration =
+                new FilterRegistrationBean<>(new QueryCountFilter(meterRegistry, requestQueryBudget));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.skillswap.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Rate limits for expensive endpoints (recommendations, city autocomplete), configured under
+ * skillswap.rate-limit. With skillswap.rate-limit.redis.enabled=true the limits are shared by all nodes.
+ */
+@Configuration
+@ConditionalOnProperty(name = "skillswap.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    @ConfigurationProperties("skillswap.rate-limit")
+    public RateLimitProperties rateLimitProperties() {
+        return new RateLimitProperties();
+    }
+
+    // Ahead of QueryCountFilter: a rejected request runs no queries and is not counted as one
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties,
+                                                                   ObjectProvider<StringRedisTemplate> redisTemplate,
+                                                                   MeterRegistry meterRegistry) {
+        RedisRateLimiter sharedLimiter = properties.getRedis().isEnabled()
+                ? new RedisRateLimiter(redisTemplate.getObject(), properties.getRedis().getKeyPrefix())
+                : null;
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(properties, sharedLimiter, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.skillswap.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Token-bucket rate limits for the configured routes (skillswap.rate-limit.routes), per client address and,
+ * when the route has a {userId} variable, per user as well, so that cycling through user IDs does not
+ * lift the limit. A request without a token from every bucket it counts against gets 429
+ * with Retry-After and never reaches the controller. Buckets are kept on this node, or in Redis when
+ * a RedisRateLimiter is given; if Redis fails the node falls back to its own buckets for a while.
+ * Rejections are counted as skillswap.ratelimit.rejected{route}.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final long REDIS_RETRY_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final List<LimitedRoute> routes = new ArrayList<>();
+    private final Cache<String, TokenBucket> buckets;
+    private final RedisRateLimiter sharedLimiter;
+    private final MeterRegistry meterRegistry;
+    // While Redis is failing, System.nanoTime() at which to try it again
+    private volatile long redisRetryAt;
+    private volatile boolean redisDown;
+
+    public RateLimitFilter(RateLimitProperties properties, RedisRateLimiter sharedLimiter, MeterRegistry meterRegistry) {
+        PathPatternParser parser = new PathPatternParser();
+        for (Map.Entry<String, RateLimitProperties.Route> entry : properties.getRoutes().entrySet()) {
+            RateLimitProperties.Route route = entry.getValue();
+            Set<String> methods = route.getMethods().stream().map(String::toUpperCase).collect(Collectors.toSet());
+            routes.add(new LimitedRoute(entry.getKey(), parser.parse(route.getPath()), methods,
+                    route.getCapacity(), nanosPerToken(route.getRefillPerMinute()),
+                    route.getAddressCapacity(), nanosPerToken(route.getAddressRefillPerMinute())));
+        }
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getIdleExpiry())
+                .maximumSize(properties.getMaxBuckets())
+                .build();
+        this.sharedLimiter = sharedLimiter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return routes.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        PathContainer path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        for (LimitedRoute route : routes) {
+            if (!route.methods.isEmpty() && !route.methods.contains(request.getMethod())) {
+                continue;
+            }
+            PathPattern.PathMatchInfo match = route.pattern.matchAndExtract(path);
+            if (match == null) {
+                continue;
+            }
+            String userId = match.getUriVariables().get("userId");
+            long waitNanos = userId == null ? 0
+                    : tryConsume(route.name + ":user:" + userId, route.capacity, route.nanosPerToken);
+            if (waitNanos == 0) {
+                // Client address as Tomcat sees it; behind a proxy, set server.forward-headers-strategy
+                waitNanos = tryConsume(route.name + ":addr:" + request.getRemoteAddr(), route.addressCapacity,
+                        route.addressNanosPerToken);
+            }
+            if (waitNanos > 0) {
+                reject(route, response, waitNanos);
+                return;
+            }
+            break;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static long nanosPerToken(double refillPerMinute) {
+        return (long) (TimeUnit.MINUTES.toNanos(1) / refillPerMinute);
+    }
+
+    private long tryConsume(String bucket, int capacity, long nanosPerToken) {
+        if (sharedLimiter != null && (!redisDown || System.nanoTime() - redisRetryAt >= 0)) {
+            try {
+                long wait = sharedLimiter.tryConsume(bucket, capacity, nanosPerToken);
+                if (redisDown) {
+                    redisDown = false;
+                    logger.info("Rate limits are shared over Redis again");
+                }
+                return wait;
+            } catch (RuntimeException e) {
+                if (!redisDown) {
+                    logger.warn("Redis rate limiting failed, using this node's buckets: {}", e.getMessage());
+                }
+                redisDown = true;
+                redisRetryAt = System.nanoTime() + REDIS_RETRY_NANOS;
+            }
+        }
+        return buckets.get(bucket, key -> new TokenBucket(capacity, nanosPerToken))
+                .tryConsume(System.nanoTime());
+    }
+
+    private void reject(LimitedRoute route, HttpServletResponse response, long waitNanos) throws IOException {
+        Counter.builder("skillswap.ratelimit.rejected")
+                .description("Requests turned away with 429")
+                .tag("route", route.name)
+                .register(meterRegistry)
+                .increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests, try again shortly");
+    }
+
+    private record LimitedRoute(String name, PathPattern pattern, Set<String> methods, int capacity,
+                                long nanosPerToken, int addressCapacity, long addressNanosPerToken) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.skillswap.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * skillswap.rate-limit.*: one entry under routes per limited endpoint, e.g.
+ * skillswap.rate-limit.routes.recommendations.path=/api/matches/recommendations/{userId}
+ */
+public class RateLimitProperties {
+
+    // Buckets nobody has used for this long are dropped (they would be full again anyway)
+    private Duration idleExpiry = Duration.ofMinutes(10);
+    private long maxBuckets = 100_000;
+    private final Redis redis = new Redis();
+    private final Map<String, Route> routes = new LinkedHashMap<>();
+
+    public Duration getIdleExpiry() { return idleExpiry; }
+    public void setIdleExpiry(Duration idleExpiry) { this.idleExpiry = idleExpiry; }
+
+    public long getMaxBuckets() { return maxBuckets; }
+    public void setMaxBuckets(long maxBuckets) { this.maxBuckets = maxBuckets; }
+
+    public Redis getRedis() { return redis; }
+
+    public Map<String, Route> getRoutes() { return routes; }
+
+    public static class Redis {
+
+        private boolean enabled = false;
+        private String keyPrefix = "skillswap:rate-limit:";
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public String getKeyPrefix() { return keyPrefix; }
+        public void setKeyPrefix(String keyPrefix) { this.keyPrefix = keyPrefix; }
+    }
+
+    public static class Route {
+
+        // Spring path pattern; a {userId} variable adds a limit per user to the one per client address
+        private String path;
+        // Empty means every method
+        private Set<String> methods = new LinkedHashSet<>();
+        private int capacity = 10;
+        private double refillPerMinute = 60;
+        // Per client address; on a {userId} route this also applies, across user IDs. Unset means the same
+        // as capacity and refill-per-minute
+        private Integer addressCapacity;
+        private Double addressRefillPerMinute;
+
+        public String getPath() { return path; }
+        public void setPath(String path) { this.path = path; }
+
+        public Set<String> getMethods() { return methods; }
+        public void setMethods(Set<String> methods) { this.methods = methods; }
+
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+
+        public double getRefillPerMinute() { return refillPerMinute; }
+        public void setRefillPerMinute(double refillPerMinute) { this.refillPerMinute = refillPerMinute; }
+
+        public int getAddressCapacity() { return addressCapacity != null ? addressCapacity : capacity; }
+        public void setAddressCapacity(int addressCapacity) { this.addressCapacity = addressCapacity; }
+
+        public double getAddressRefillPerMinute() {
+            return addressRefillPerMinute != null ? addressRefillPerMinute : refillPerMinute;
+        }
+        public void setAddressRefillPerMinute(double addressRefillPerMinute) {
+            this.addressRefillPerMinute = addressRefillPerMinute;
+        }
+    }
+}
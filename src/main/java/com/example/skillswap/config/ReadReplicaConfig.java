@@ -0,0 +1,92 @@
+package com.example.skillswap.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read/write split, on when skillswap.datasource.replica.enabled=true. spring.datasource.* (and
+ * spring.datasource.hikari.*) describe the primary pool as before; skillswap.datasource.replica.*
+ * describes a second pool against a streaming replica (or any other Postgres with the same schema).
+ * {@code @Transactional(readOnly = true)} work, which includes Spring Data's own finders, is routed to
+ * the replica while it is within the allowed lag; writes and everything outside a transaction go to the
+ * primary. Off, Spring Boot's single pool is used.
+ */
+@Configuration
+@ConditionalOnProperty(name = "skillswap.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("skillswap.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties primaryProperties,
+                                              @Value("${skillswap.datasource.replica.url}") String url,
+                                              @Value("${skillswap.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${skillswap.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setDriverClassName(primaryProperties.determineDriverClassName());
+        replica.setJdbcUrl(url);
+        replica.setUsername(username);
+        replica.setPassword(password);
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                                      @Qualifier("replicaDataSource") HikariDataSource replica,
+                                                      @Value("${skillswap.datasource.replica.max-lag:5s}") Duration maxLag,
+                                                      @Value("${skillswap.datasource.replica.lag-check-interval-ms:5000}") long checkIntervalMs) {
+        return new ReplicaRoutingDataSource(primary, replica, maxLag.plusMillis(checkIntervalMs));
+    }
+
+    /**
+     * The DataSource JPA, JdbcTemplate and schema init see. The lazy proxy defers picking a pool until
+     * the first statement, by which time the transaction's read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource routingDataSource,
+                                               @Qualifier("primaryDataSource") HikariDataSource primary,
+                                               @Qualifier("replicaDataSource") HikariDataSource replica,
+                                               @Value("${skillswap.datasource.replica.lag-query}") String lagQuery,
+                                               @Value("${skillswap.datasource.replica.max-lag:5s}") Duration maxLag,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(routingDataSource, replica, lagQuery, maxLag, meterRegistry, primary, replica);
+    }
+
+    /**
+     * Hibernate normally holds a connection for the whole session, which with open-in-view is the whole
+     * request; a read followed by a write would then both run on whichever pool the read picked.
+     * Releasing the connection after each transaction lets every transaction be routed on its own.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer perTransactionConnections() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.skillswap.config;
+
+import com.example.skillswap.service.NotificationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Multi-node cache tier, on when skillswap.cache.redis.enabled=true. The shared caches become
+ * Caffeine near caches backed by Redis, and both they and the Hibernate second-level cache are
+ * invalidated across nodes over Redis pub/sub, as are notifications for users streaming from another
+ * node. Off, Spring Boot's plain Caffeine cache manager is used.
+ */
+@Configuration
+@ConditionalOnProperty(name = "skillswap.cache.redis.enabled", havingValue = "true")
+public class RedisCacheConfig {
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             StringRedisTemplate redisTemplate,
+                                             @Value("${spring.cache.cache-names}") List<String> cacheNames,
+                                             @Value("${spring.cache.caffeine.spec}") String localSpec,
+                                             @Value("${skillswap.cache.redis.cache-names}") Set<String> sharedCacheNames,
+                                             @Value("${skillswap.cache.redis.ttl:10m}") Duration ttl,
+                                             @Value("${skillswap.cache.redis.channel}") String channel) {
+        CaffeineCacheManager localManager = new CaffeineCacheManager();
+        localManager.setCacheSpecification(localSpec);
+        localManager.setCacheNames(cacheNames);
+
+        RedisCacheManager remoteManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(ttl)
+                        .computePrefixWith(name -> "skillswap:" + name + "::"))
+                .build();
+        remoteManager.afterPropertiesSet();
+
+        return new TwoLevelCacheManager(localManager, remoteManager, redisTemplate, channel, sharedCacheNames);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                   TwoLevelCacheManager cacheManager,
+                                                                   @Value("${skillswap.cache.redis.channel}") String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> cacheManager.onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+        return container;
+    }
+
+    // Notifications ride on the same Redis as the cache invalidations, on their own channel
+    @Bean
+    public RedisNotificationRelay redisNotificationRelay(NotificationService notificationService,
+                                                         StringRedisTemplate redisTemplate,
+                                                         RedisMessageListenerContainer cacheInvalidationListener,
+                                                         ObjectMapper objectMapper,
+                                                         @Value("${skillswap.notifications.redis.channel:skillswap:notifications}") String channel) {
+        return new RedisNotificationRelay(notificationService, redisTemplate, cacheInvalidationListener,
+                objectMapper, channel);
+    }
+
+    @Bean
+    public EntityCacheInvalidator entityCacheInvalidator(EntityManagerFactory entityManagerFactory,
+                                                         TwoLevelCacheManager cacheManager) {
+        return new EntityCacheInvalidator(entityManagerFactory, cacheManager);
+    }
+}
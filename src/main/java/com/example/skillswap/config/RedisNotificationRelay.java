@@ -0,0 +1,63 @@
+package com.example.skillswap.config;
+
+import com.example.skillswap.dto.NotificationDto;
+import com.example.skillswap.service.NotificationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Fans notifications out to every node, so a user's stream gets them whichever node holds it. Messages
+ * on the channel are "node\njson"; a node skips its own, which it has already delivered.
+ */
+public class RedisNotificationRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisNotificationRelay.class);
+
+    private final NotificationService notificationService;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public RedisNotificationRelay(NotificationService notificationService, StringRedisTemplate redisTemplate,
+                                  RedisMessageListenerContainer listenerContainer, ObjectMapper objectMapper,
+                                  String channel) {
+        this.notificationService = notificationService;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+
+        listenerContainer.addMessageListener(
+                (message, pattern) -> onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+        notificationService.setRelay(this::publish);
+    }
+
+    public void publish(NotificationDto notification) {
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + "\n" + objectMapper.writeValueAsString(notification));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void onMessage(String message) {
+        String[] parts = message.split("\n", 2);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            notificationService.deliver(objectMapper.readValue(parts[1], NotificationDto.class));
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignoring malformed notification on {}: {}", channel, e.getMessage());
+        }
+    }
+}
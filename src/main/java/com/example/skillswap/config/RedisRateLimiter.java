@@ -0,0 +1,48 @@
+package com.example.skillswap.config;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * The same token bucket as {@link TokenBucket}, kept in Redis so every node draws on one limit. The
+ * script runs atomically on Redis' own clock, so node clocks don't have to agree; keys expire once
+ * their bucket is full again.
+ */
+public class RedisRateLimiter {
+
+    // KEYS[1] = bucket, ARGV[1] = microseconds per token, ARGV[2] = capacity in microseconds.
+    // Returns 0 when a token was taken, otherwise the microseconds until one is available
+    private static final RedisScript<Long> TAKE_TOKEN = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local full = tonumber(redis.call('GET', KEYS[1]) or 0)
+            local next = math.max(full, now) + tonumber(ARGV[1])
+            local wait = next - now - tonumber(ARGV[2])
+            if wait > 0 then
+                return math.ceil(wait)
+            end
+            redis.call('SET', KEYS[1], string.format('%d', next), 'PX', math.max(1, math.ceil((next - now) / 1000)))
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate, String keyPrefix) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+    }
+
+    /**
+     * Takes a token from the shared bucket; 0 if there was one, otherwise nanoseconds until there will be.
+     */
+    public long tryConsume(String bucket, int capacity, long nanosPerToken) {
+        long microsPerToken = Math.max(1, nanosPerToken / 1000);
+        Long waitMicros = redisTemplate.execute(TAKE_TOKEN, List.of(keyPrefix + bucket),
+                Long.toString(microsPerToken), Long.toString(capacity * microsPerToken));
+        return waitMicros == null ? 0 : waitMicros * 1000;
+    }
+}
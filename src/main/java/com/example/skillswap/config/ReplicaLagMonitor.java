@@ -0,0 +1,72 @@
+package com.example.skillswap.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+/**
+ * Periodically measures how far the replica is behind the primary and tells the routing data source
+ * whether reads may go to it. A failed check (replica down, query error) counts as lagging.
+ * Also warns when a pool has threads waiting for a connection, i.e. it is saturated, and counts those
+ * checks as skillswap.db.pool.saturated{pool}.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final JdbcTemplate replicaJdbc;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final HikariDataSource[] pools;
+    private final Counter[] saturated;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, HikariDataSource replica, String lagQuery,
+                             Duration maxLag, MeterRegistry meterRegistry, HikariDataSource... pools) {
+        this.routingDataSource = routingDataSource;
+        this.replicaJdbc = new JdbcTemplate(replica);
+        this.replicaJdbc.setQueryTimeout(2);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.pools = pools;
+        this.saturated = new Counter[pools.length];
+        for (int i = 0; i < pools.length; i++) {
+            saturated[i] = Counter.builder("skillswap.db.pool.saturated")
+                    .description("Lag checks that found threads waiting for a connection")
+                    .tag("pool", pools[i].getPoolName())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${skillswap.datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        try {
+            Number lag = replicaJdbc.queryForObject(lagQuery, Number.class);
+            // No answer means the replica cannot tell how far behind it is
+            double seconds = lag != null ? lag.doubleValue() : -1;
+            routingDataSource.updateReplicaState(seconds >= 0 && seconds <= maxLagSeconds, seconds);
+        } catch (DataAccessException e) {
+            logger.debug("Replica lag check failed: {}", e.getMessage());
+            routingDataSource.updateReplicaState(false, -1);
+        }
+
+        for (int i = 0; i < pools.length; i++) {
+            HikariDataSource pool = pools[i];
+            HikariPoolMXBean stats = pool.getHikariPoolMXBean();
+            if (stats != null && stats.getThreadsAwaitingConnection() > 0) {
+                saturated[i].increment();
+                logger.warn("Connection pool {} saturated: {} active of {}, {} threads waiting",
+                        pool.getPoolName(), stats.getActiveConnections(), pool.getMaximumPoolSize(),
+                        stats.getThreadsAwaitingConnection());
+            }
+        }
+    }
+}
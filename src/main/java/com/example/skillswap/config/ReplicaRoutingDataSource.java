@@ -0,0 +1,110 @@
+package com.example.skillswap.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary.
+ * The replica is only used while {@link ReplicaLagMonitor} reports it within the allowed lag;
+ * otherwise reads fall back to the primary. Must sit behind a LazyConnectionDataSourceProxy so
+ * the connection is picked after the transaction's read-only flag is set.
+ * Right after a user's own write, reads that fill that user's caches go to the primary for a short
+ * while ({@link #pinToPrimary(Object)}, {@link #readPinned(Object, Supplier)}); a replica that has not
+ * applied the write yet would otherwise put the old data back in the cache.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUESTED = new ThreadLocal<>();
+
+    // Off until the first lag check passes
+    private volatile boolean replicaUsable = false;
+    private volatile double replicaLagSeconds = -1;
+    // Keys written through this node within the pin window
+    private final Cache<Object, Boolean> pinned;
+
+    /**
+     * @param pinAfterWrite how long reads for a key stay on the primary after {@link #pinToPrimary(Object)};
+     *                      the longest a usable replica can be behind (max-lag plus the check interval)
+     */
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration pinAfterWrite) {
+        this.pinned = Caffeine.newBuilder().expireAfterWrite(pinAfterWrite).maximumSize(100_000).build();
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return replicaUsable && PRIMARY_REQUESTED.get() == null
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+    }
+
+    /**
+     * Marks the key (e.g. a user ID) as just written, so {@link #readPinned(Object, Supplier)} reads it
+     * from the primary until the replica is certain to have the write.
+     */
+    public void pinToPrimary(Object key) {
+        pinned.put(key, Boolean.TRUE);
+    }
+
+    /**
+     * The reads, on the primary if the key was written within the pin window and on the usual route
+     * (the replica, in a read-only transaction) otherwise. Must run before the transaction's first statement.
+     */
+    public <T> T readPinned(Object key, Supplier<T> reads) {
+        return pinned.getIfPresent(key) != null ? readFromPrimary(reads) : reads.get();
+    }
+
+    /**
+     * Runs reads on the primary even in a read-only transaction, provided the transaction has not run a
+     * statement yet.
+     */
+    public static <T> T readFromPrimary(Supplier<T> reads) {
+        if (PRIMARY_REQUESTED.get() != null) {
+            return reads.get();
+        }
+        PRIMARY_REQUESTED.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            PRIMARY_REQUESTED.remove();
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * Seconds the replica was behind at the last check, or -1 if it could not be checked.
+     */
+    public double getReplicaLagSeconds() {
+        return replicaLagSeconds;
+    }
+
+    void updateReplicaState(boolean usable, double lagSeconds) {
+        if (usable != replicaUsable) {
+            if (usable) {
+                logger.info("Read replica is in sync (lag {}s); routing read-only transactions to it", lagSeconds);
+            } else {
+                logger.warn("Read replica unavailable or lagging (lag {}s); routing reads to the primary", lagSeconds);
+            }
+        }
+        this.replicaLagSeconds = lagSeconds;
+        this.replicaUsable = usable;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.skillswap.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs (e.g. SwipeEventConsumer) and {@code @Async} methods.
+ * Both run on virtual threads when spring.threads.virtual.enabled is set.
+ */
+@Configuration
+@EnableScheduling
+@EnableAsync
+public class SchedulingConfig {
+}
@@ -0,0 +1,38 @@
+package com.example.skillswap.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket holding up to capacity requests, refilled by one token every nanosPerToken. The state is
+ * the one instant at which the bucket will be full again (the GCRA form of a token bucket), so taking a
+ * token is a compare-and-set on an AtomicLong: no lock, and no refill thread.
+ */
+public class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(int capacity, long nanosPerToken) {
+        this.nanosPerToken = nanosPerToken;
+        this.burstNanos = capacity * nanosPerToken;
+    }
+
+    /**
+     * Takes a token at nowNanos (System.nanoTime()). Returns 0 if there was one, otherwise how many
+     * nanoseconds until there will be; nothing is taken then.
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + nanosPerToken;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
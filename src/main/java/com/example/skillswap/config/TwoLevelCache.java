@@ -0,0 +1,173 @@
+package com.example.skillswap.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
+/**
+ * A cache with an in-process near copy (Caffeine) in front of a shared Redis copy.
+ * Reads try the near copy, then Redis; fills and evictions go to both. Only evictions are announced on
+ * the invalidation channel so other nodes drop their near copy: a fill stores what was just read from
+ * the database, and broadcasting it would have every read miss empty the other nodes' near caches.
+ * Changed data is therefore evicted, never overwritten in place. Keys are compared by their string form,
+ * as Redis sees them, so an invalidation received as text matches the local entry.
+ * If Redis is unreachable the cache keeps working from the near copy alone.
+ */
+public class TwoLevelCache implements Cache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCache.class);
+
+    private final String name;
+    private final Cache local;
+    private final Cache remote;
+    // (cache name, key or null for "everything") -> tell the other nodes
+    private final BiConsumer<String, String> invalidationPublisher;
+
+    public TwoLevelCache(String name, Cache local, Cache remote, BiConsumer<String, String> invalidationPublisher) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The near copy's Caffeine cache, so cache statistics report near-cache hits.
+     */
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String cacheKey = toKey(key);
+        ValueWrapper value = local.get(cacheKey);
+        if (value == null) {
+            value = remoteGet(cacheKey);
+            if (value != null) {
+                local.put(cacheKey, value.get());
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String cacheKey = toKey(key);
+        return local.get(cacheKey, () -> {
+            ValueWrapper shared = remoteGet(cacheKey);
+            if (shared != null) {
+                return (T) shared.get();
+            }
+            T value = valueLoader.call();
+            remotePut(cacheKey, value);
+            return value;
+        });
+    }
+
+    /**
+     * A fill (a @Cacheable miss or a value just computed from the database); not announced, see above.
+     */
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = toKey(key);
+        remotePut(cacheKey, value);
+        local.put(cacheKey, value);
+    }
+
+    /**
+     * Not atomic across nodes: two nodes may both store a value, and the later one wins.
+     */
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        put(key, value);
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = toKey(key);
+        try {
+            remote.evict(cacheKey);
+        } catch (RuntimeException e) {
+            logger.warn("Redis evict failed for {}::{}: {}", name, cacheKey, e.getMessage());
+        }
+        local.evict(cacheKey);
+        publish(cacheKey);
+    }
+
+    @Override
+    public void clear() {
+        try {
+            remote.clear();
+        } catch (RuntimeException e) {
+            logger.warn("Redis clear failed for {}: {}", name, e.getMessage());
+        }
+        local.clear();
+        publish(null);
+    }
+
+    /**
+     * Drops the near copy only; called when another node changed the entry.
+     */
+    void evictLocal(String key) {
+        if (key == null) {
+            local.clear();
+        } else {
+            local.evict(key);
+        }
+    }
+
+    private ValueWrapper remoteGet(String key) {
+        try {
+            return remote.get(key);
+        } catch (RuntimeException e) {
+            logger.warn("Redis read failed for {}::{}, using the database: {}", name, key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void remotePut(String key, Object value) {
+        try {
+            remote.put(key, value);
+        } catch (RuntimeException e) {
+            logger.warn("Redis write failed for {}::{}: {}", name, key, e.getMessage());
+        }
+    }
+
+    private void publish(String key) {
+        try {
+            invalidationPublisher.accept(name, key);
+        } catch (RuntimeException e) {
+            logger.warn("Could not publish cache invalidation for {}::{}: {}", name, key, e.getMessage());
+        }
+    }
+
+    private static String toKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.skillswap.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Hands out {@link TwoLevelCache}s for the shared cache names and plain near caches for the rest.
+ * Invalidations travel over one Redis pub/sub channel as "node\ntarget[\nkey]" (no key = clear all);
+ * a node ignores its own messages. Targets starting with {@link #ENTITY_PREFIX} are Hibernate
+ * second-level cache entries and go to the entity handler.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+
+    public static final String ENTITY_PREFIX = "entity:";
+
+    private final CacheManager localManager;
+    private final CacheManager remoteManager;
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final Set<String> sharedCacheNames;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> sharedCaches = new ConcurrentHashMap<>();
+    private volatile BiConsumer<String, String> entityInvalidationHandler = (entityName, id) -> { };
+
+    public TwoLevelCacheManager(CacheManager localManager, CacheManager remoteManager,
+                                StringRedisTemplate redisTemplate, String channel, Set<String> sharedCacheNames) {
+        this.localManager = localManager;
+        this.remoteManager = remoteManager;
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.sharedCacheNames = Set.copyOf(sharedCacheNames);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (!sharedCacheNames.contains(name)) {
+            return localManager.getCache(name);
+        }
+        return sharedCaches.computeIfAbsent(name, n -> {
+            Cache local = localManager.getCache(n);
+            Cache remote = remoteManager.getCache(n);
+            if (local == null || remote == null) {
+                throw new IllegalStateException("Shared cache " + n + " is missing from spring.cache.cache-names");
+            }
+            return new TwoLevelCache(n, local, remote, this::publish);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return localManager.getCacheNames();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setEntityInvalidationHandler(BiConsumer<String, String> entityInvalidationHandler) {
+        this.entityInvalidationHandler = entityInvalidationHandler;
+    }
+
+    /**
+     * Tells the other nodes to drop their near copy of target/key (key null = the whole target).
+     */
+    public void publish(String target, String key) {
+        String message = nodeId + "\n" + target + (key != null ? "\n" + key : "");
+        redisTemplate.convertAndSend(channel, message);
+    }
+
+    /**
+     * Applies an invalidation published by another node.
+     */
+    public void onMessage(String message) {
+        String[] parts = message.split("\n", 3);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        String target = parts[1];
+        String key = parts.length == 3 ? parts[2] : null;
+
+        if (target.startsWith(ENTITY_PREFIX)) {
+            entityInvalidationHandler.accept(target.substring(ENTITY_PREFIX.length()), key);
+            return;
+        }
+        if (getCache(target) instanceof TwoLevelCache cache) {
+            cache.evictLocal(key);
+        } else {
+            logger.debug("Ignoring invalidation for unknown cache {}", target);
+        }
+    }
+}
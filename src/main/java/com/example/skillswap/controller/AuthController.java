@@ -0,0 +1,29 @@
+package com.example.skillswap.controller;
+
+import com.example.skillswap.dto.LoginRequestDto;
+import com.example.skillswap.dto.SessionDto;
+import com.example.skillswap.service.AuthService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/auth")
+public class AuthController {
+
+    private final AuthService authService;
+
+    public AuthController(AuthService authService) {
+        this.authService = authService;
+    }
+
+    // Log in with email (case-insensitive) and password; returns the session payload for the browser
+    @PostMapping("/login")
+    public SessionDto login(@RequestBody LoginRequestDto request) {
+        return authService.login(request.getEmail(), request.getPassword())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid email or password"));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.skillswap.controller;
+
+import com.example.skillswap.dto.CacheRegionStatsDto;
+import com.example.skillswap.service.EntityCacheService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final EntityCacheService entityCacheService;
+
+    public CacheController(EntityCacheService entityCacheService) {
+        this.entityCacheService = entityCacheService;
+    }
+
+    // Hits, misses and hit ratio per cache region since startup
+    @GetMapping("/stats")
+    public List<CacheRegionStatsDto> getStats() {
+        return entityCacheService.regionStats();
+    }
+
+    // Clears every cache, e.g. after loading data directly with psql
+    @DeleteMapping
+    public ResponseEntity<Void> evictAll() {
+        entityCacheService.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.skillswap.controller;
+
+import com.example.skillswap.dto.DatabaseStatsDto;
+import com.example.skillswap.service.DatabaseStatsService;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/db")
+public class DatabaseController {
+
+    private final DatabaseStatsService databaseStatsService;
+
+    public DatabaseController(DatabaseStatsService databaseStatsService) {
+        this.databaseStatsService = databaseStatsService;
+    }
+
+    // Active/idle connections and waiting threads per pool, plus replica lag and routing state
+    @GetMapping("/stats")
+    public DatabaseStatsDto getStats() {
+        return databaseStatsService.stats();
+    }
+}
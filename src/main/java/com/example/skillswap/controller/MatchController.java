@@ -1,16 +1,23 @@
 package com.example.skillswap.controller;
 
+import com.example.skillswap.dto.KeysetPage;
 import com.example.skillswap.dto.MatchRecommendationDto;
 import com.example.skillswap.model.Match;
+import com.example.skillswap.model.Views;
 import com.example.skillswap.repository.MatchRepository;
+import com.example.skillswap.service.ListStreamer;
 import com.example.skillswap.service.MatchingService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -20,15 +27,29 @@ public class MatchController {
 
     private final MatchRepository matchRepository;
     private final MatchingService matchingService;
+    private final ListStreamer listStreamer;
 
-    public MatchController(MatchRepository matchRepository, MatchingService matchingService) {
+    public MatchController(MatchRepository matchRepository, MatchingService matchingService,
+                           ListStreamer listStreamer) {
         this.matchRepository = matchRepository;
         this.matchingService = matchingService;
+        this.listStreamer = listStreamer;
     }
 
+    // Streamed; each side is just the user's id and name
     @GetMapping
-    public List<Match> getAllMatches() {
-        return matchRepository.findAll();
+    public ResponseEntity<StreamingResponseBody> getAllMatches(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return listStreamer.stream(accept, Views.Reference.class, Match::getMatchId,
+                matchRepository::findAllAfter);
+    }
+
+    // Keyset-paged slim rows, e.g. /api/matches/page?after=0&size=20 (pass nextAfter back as after)
+    @GetMapping("/page")
+    public KeysetPage<MatchRepository.MatchSummary> getMatchPage(@RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "20") int size) {
+        return KeysetPage.fetch(after, size, matchRepository::findSummariesAfter,
+                MatchRepository.MatchSummary::getMatchId);
     }
 
     @PostMapping
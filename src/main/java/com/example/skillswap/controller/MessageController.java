@@ -3,9 +3,16 @@ package com.example.skillswap.controller;
 import com.example.skillswap.model.Match;
 import com.example.skillswap.model.Message;
 import com.example.skillswap.model.User;
+import com.example.skillswap.model.Views;
 import com.example.skillswap.repository.MatchRepository;
 import com.example.skillswap.repository.MessageRepository;
 import com.example.skillswap.repository.UserRepository;
+import com.example.skillswap.service.MessageSentEvent;
+import com.fasterxml.jackson.annotation.JsonView;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
@@ -20,26 +27,47 @@ public class MessageController {
     private final MessageRepository messageRepo;
     private final MatchRepository matchRepo;
     private final UserRepository userRepo;
+    private final Timer sendTimer;
+    private final Timer readTimer;
+    private final DistributionSummary conversationSize;
+    private final ApplicationEventPublisher eventPublisher;
 
     public MessageController(MessageRepository messageRepo,
                              MatchRepository matchRepo,
-                             UserRepository userRepo) {
+                             UserRepository userRepo,
+                             MeterRegistry meterRegistry,
+                             ApplicationEventPublisher eventPublisher) {
         this.messageRepo = messageRepo;
         this.matchRepo = matchRepo;
         this.userRepo = userRepo;
+        this.eventPublisher = eventPublisher;
+        this.sendTimer = Timer.builder("skillswap.messages.send")
+                .description("Loading the match and sender and saving a message")
+                .register(meterRegistry);
+        this.readTimer = Timer.builder("skillswap.messages.read")
+                .description("Loading a conversation")
+                .register(meterRegistry);
+        this.conversationSize = DistributionSummary.builder("skillswap.messages.conversation.size")
+                .description("Messages returned per conversation read")
+                .maximumExpectedValue(5_000.0)
+                .register(meterRegistry);
     }
 
     // ✅ Get all messages for a given match (clearer path)
     @GetMapping("/match/{matchId}")
+    @JsonView(Views.Reference.class)
     public List<Message> getMessagesByMatch(@PathVariable Long matchId) {
         if (!matchRepo.existsById(matchId)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Match not found");
         }
-        return messageRepo.findByMatchMatchIdOrderBySentAtAsc(matchId);
+        List<Message> messages = readTimer.record(() -> messageRepo.findByMatchMatchIdOrderBySentAtAsc(matchId));
+        conversationSize.record(messages.size());
+        return messages;
     }
 
     // ✅ Backwards-compatible endpoint if frontend calls /api/messages/{matchId}
     @GetMapping("/{matchId}")
+    @JsonView(Views.Reference.class)
     public List<Message> getMessagesByMatchLegacy(@PathVariable Long matchId) {
         return getMessagesByMatch(matchId);
     }
@@ -80,6 +108,10 @@ public class MessageController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Message is too long");
         }
 
+        return sendTimer.record(() -> save(incoming, content));
+    }
+
+    private Message save(Message incoming, String content) {
         // Load match + sender from database (don’t trust raw IDs blindly)
         Match match = matchRepo.findById(incoming.getMatch().getMatchId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Match not found"));
@@ -95,7 +127,12 @@ public class MessageController {
         message.setIsRead(false);
         message.setSentAt(LocalDateTime.now());
 
-        return messageRepo.save(message);
+        Message saved = messageRepo.save(message);
+        Long recipientId = sender.getUserId().equals(match.getUser1().getUserId())
+                ? match.getUser2().getUserId() : match.getUser1().getUserId();
+        eventPublisher.publishEvent(new MessageSentEvent(saved.getMessageId(), match.getMatchId(),
+                sender.getUserId(), recipientId));
+        return saved;
     }
 
     // ✅ Mark a single message as read
@@ -1,11 +1,25 @@
 package com.example.skillswap.controller;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 import java.util.Map;
+import com.example.skillswap.dto.KeysetPage;
+import com.example.skillswap.dto.ProfileSearchResultDto;
+import com.example.skillswap.dto.ProfileViewDto;
 import com.example.skillswap.model.Profile;
+import com.example.skillswap.model.Views;
 import com.example.skillswap.repository.ProfileRepository;
+import com.example.skillswap.service.ContentVersionService;
 import com.example.skillswap.service.GeolocationService;
+import com.example.skillswap.service.ListStreamer;
+import com.example.skillswap.service.ProfileSearchService;
+import com.example.skillswap.service.ProfileViewService;
 
 @RestController
 @RequestMapping("/api/profiles")
@@ -13,15 +27,64 @@ public class ProfileController {
 
     private final ProfileRepository repo;
     private final GeolocationService geolocationService;
+    private final ProfileViewService profileViewService;
+    private final ListStreamer listStreamer;
+    private final ContentVersionService contentVersionService;
+    private final ProfileSearchService profileSearchService;
 
-    public ProfileController(ProfileRepository repo, GeolocationService geolocationService) {
+    public ProfileController(ProfileRepository repo, GeolocationService geolocationService,
+                             ProfileViewService profileViewService, ListStreamer listStreamer,
+                             ContentVersionService contentVersionService,
+                             ProfileSearchService profileSearchService) {
         this.repo = repo;
         this.geolocationService = geolocationService;
+        this.profileViewService = profileViewService;
+        this.listStreamer = listStreamer;
+        this.contentVersionService = contentVersionService;
+        this.profileSearchService = profileSearchService;
     }
 
+    // Streamed without the long texts (career, publications, awards: see /user/{userId}/full)
     @GetMapping
-    public List<Profile> getAllProfiles() {
-        return repo.findAll();
+    public ResponseEntity<StreamingResponseBody> getAllProfiles(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return listStreamer.stream(accept, Views.Summary.class, Profile::getProfileId, repo::findAllAfter);
+    }
+
+    // Keyset-paged slim rows, e.g. /api/profiles/page?after=0&size=20 (pass nextAfter back as after)
+    @GetMapping("/page")
+    public KeysetPage<ProfileRepository.ProfileSummary> getProfilePage(@RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "20") int size) {
+        return KeysetPage.fetch(after, size, repo::findSummariesAfter, ProfileRepository.ProfileSummary::getProfileId);
+    }
+
+    /**
+     * Search profiles, e.g. /api/profiles/search?q=kubernetes&near=Atlanta, GA&radiusKm=25.
+     * near (a city, geocoded) or lat/lng limit hits to profiles sharing their location within radiusKm.
+     */
+    @GetMapping("/search")
+    public List<ProfileSearchResultDto> searchProfiles(@RequestParam String q,
+            @RequestParam(required = false) String university,
+            @RequestParam(required = false) String near,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(defaultValue = "25") double radiusKm,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") int offset) {
+        if (q.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search text is required");
+        }
+        if (near != null && !near.isBlank() && (lat == null || lng == null)) {
+            Map<String, Double> coordinates = geolocationService.geocodeCity(near);
+            if (coordinates == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown location: " + near);
+            }
+            lat = coordinates.get("latitude");
+            lng = coordinates.get("longitude");
+        }
+        boolean located = lat != null && lng != null;
+        return profileSearchService.search(new ProfileSearchService.Criteria(q.trim(), university,
+                lat, lng, located ? Math.max(0.1, radiusKm) : null, limit, offset));
     }
 
     @PostMapping
@@ -30,7 +93,9 @@ public class ProfileController {
         if (profile.getLocation() != null && !profile.getLocation().trim().isEmpty()) {
             geocodeProfileLocation(profile);
         }
-        return repo.save(profile);
+        Profile saved = repo.save(profile);
+        evictView(saved);
+        return saved;
     }
 
     @PutMapping("/{id}")
@@ -69,7 +134,9 @@ public class ProfileController {
             existing.setLongitude(profile.getLongitude());
         }
         
-        return repo.save(existing);
+        Profile saved = repo.save(existing);
+        evictView(saved);
+        return saved;
     }
     
     /**
@@ -93,7 +160,15 @@ public class ProfileController {
             existing.setShowLocation((Boolean) locationData.get("showLocation"));
         }
         
-        return repo.save(existing);
+        Profile saved = repo.save(existing);
+        evictView(saved);
+        return saved;
+    }
+    
+    private void evictView(Profile profile) {
+        if (profile.getUser() != null) {
+            profileViewService.evict(profile.getUser().getUserId());
+        }
     }
     
     /**
@@ -109,20 +184,42 @@ public class ProfileController {
         }
     }
 
+    // The single-profile GETs answer 304 from the cached content version, before loading anything
     @GetMapping("/{id}")
-    public Profile getProfile(@PathVariable Long id) {
+    public Profile getProfile(@PathVariable Long id, WebRequest request) {
+        if (ContentVersionService.notModified(request, contentVersionService.forProfile(id))) {
+            return null;
+        }
         return repo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Profile not found"));
     }
     
     @GetMapping("/user/{userId}")
-    public Profile getProfileByUserId(@PathVariable Long userId) {
+    public Profile getProfileByUserId(@PathVariable Long userId, WebRequest request) {
+        if (ContentVersionService.notModified(request, contentVersionService.forUser(userId))) {
+            return null;
+        }
         Profile profile = repo.findByUserUserId(userId);
         if (profile == null) {
             throw new RuntimeException("Profile not found for user ID: " + userId);
         }
         return profile;
     }
+
+    /**
+     * User, profile, skills, interests, languages, organizations and photos in one response
+     */
+    @GetMapping("/user/{userId}/full")
+    public ProfileViewDto getFullProfile(@PathVariable Long userId, WebRequest request) {
+        if (ContentVersionService.notModified(request, contentVersionService.forUser(userId))) {
+            return null;
+        }
+        ProfileViewDto view = profileViewService.getProfileView(userId);
+        if (view == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found for this id :: " + userId);
+        }
+        return view;
+    }
     
     /**
      * Get city suggestions for autocomplete
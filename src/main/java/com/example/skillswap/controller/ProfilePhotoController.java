@@ -1,16 +1,24 @@
 package com.example.skillswap.controller;
 
+import com.example.skillswap.dto.KeysetPage;
 import com.example.skillswap.model.Profile;
 import com.example.skillswap.model.ProfilePhoto;
 import com.example.skillswap.repository.ProfilePhotoRepository;
 import com.example.skillswap.repository.ProfileRepository;
+import com.example.skillswap.service.ContentVersionService;
 import com.example.skillswap.service.FileStorageService;
+import com.example.skillswap.service.PrimaryPhotoService;
+import com.example.skillswap.service.ProfileViewService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/photos")
@@ -19,13 +27,25 @@ public class ProfilePhotoController {
     private final ProfilePhotoRepository repo;
     private final ProfileRepository profileRepository;
     private final FileStorageService fileStorageService;
+    private final PrimaryPhotoService primaryPhotoService;
+    private final ProfileViewService profileViewService;
+    private final ContentVersionService contentVersionService;
+
+    // Upper bound on IDs per batch lookup (roughly a few screens of cards)
+    private static final int MAX_BATCH_SIZE = 200;
 
     public ProfilePhotoController(ProfilePhotoRepository repo,
                                   ProfileRepository profileRepository,
-                                  FileStorageService fileStorageService) {
+                                  FileStorageService fileStorageService,
+                                  PrimaryPhotoService primaryPhotoService,
+                                  ProfileViewService profileViewService,
+                                  ContentVersionService contentVersionService) {
         this.repo = repo;
         this.profileRepository = profileRepository;
         this.fileStorageService = fileStorageService;
+        this.primaryPhotoService = primaryPhotoService;
+        this.profileViewService = profileViewService;
+        this.contentVersionService = contentVersionService;
     }
 
     // GET all photos
@@ -34,16 +54,45 @@ public class ProfilePhotoController {
         return repo.findAll();
     }
 
-    // GET all photos by profile_id
+    // Keyset-paged slim rows, e.g. /api/photos/page?after=0&size=20 (pass nextAfter back as after)
+    @GetMapping("/page")
+    public KeysetPage<ProfilePhotoRepository.PhotoSummary> getPhotoPage(@RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "20") int size) {
+        return KeysetPage.fetch(after, size, repo::findSummariesAfter, ProfilePhotoRepository.PhotoSummary::getPhotoId);
+    }
+
+    // GET primary photo URL for many profiles at once, e.g. /api/photos/primary?profileIds=1,2,3
+    // Profiles without a primary photo are omitted from the map
+    @GetMapping("/primary")
+    public Map<Long, String> getPrimaryPhotos(@RequestParam("profileIds") List<Long> profileIds) {
+        if (profileIds.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BATCH_SIZE + " profile IDs per request");
+        }
+        return primaryPhotoService.findPrimaryPhotoUrls(profileIds);
+    }
+
+    // GET all photos by profile_id (304 when the profile's content version still matches)
     @GetMapping("/{profileId}")
-    public List<ProfilePhoto> getPhotosByProfile(@PathVariable Long profileId) {
+    public List<ProfilePhoto> getPhotosByProfile(@PathVariable Long profileId, WebRequest request) {
+        if (ContentVersionService.notModified(request, contentVersionService.forProfile(profileId))) {
+            return null;
+        }
         return repo.findByProfile_ProfileId(profileId);
     }
 
     // POST add a new photo by URL (legacy path)
     @PostMapping
     public ProfilePhoto addPhoto(@RequestBody ProfilePhoto photo) {
-        return repo.save(photo);
+        ProfilePhoto saved = repo.save(photo);
+        if (photo.getProfile() != null) {
+            primaryPhotoService.evict(photo.getProfile().getProfileId());
+            // The posted profile is usually just an ID, so look up its owner
+            profileRepository.findById(photo.getProfile().getProfileId())
+                    .filter(profile -> profile.getUser() != null)
+                    .ifPresent(profile -> profileViewService.evict(profile.getUser().getUserId()));
+        }
+        return saved;
     }
 
     // POST multipart upload to local filesystem and persist URL
@@ -60,6 +109,11 @@ public class ProfilePhotoController {
         photo.setProfile(profile);
         photo.setPhotoUrl(publicUrl);
         photo.setIsPrimary(isPrimary);
-        return repo.save(photo);
+        ProfilePhoto saved = repo.save(photo);
+        primaryPhotoService.evict(profileId);
+        if (profile.getUser() != null) {
+            profileViewService.evict(profile.getUser().getUserId());
+        }
+        return saved;
     }
 }
@@ -2,7 +2,11 @@ package com.example.skillswap.controller;
 
 import com.example.skillswap.model.Skill;
 import com.example.skillswap.repository.SkillRepository;
+import com.example.skillswap.service.ContentVersionService;
+import com.example.skillswap.service.EntityCacheService;
+import com.example.skillswap.service.SkillCanonicalizer;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 @RestController
@@ -10,23 +14,41 @@ import java.util.List;
 public class SkillController {
 
     private final SkillRepository repo;
+    private final EntityCacheService entityCacheService;
+    private final ContentVersionService contentVersionService;
+    private final SkillCanonicalizer skillCanonicalizer;
 
-    public SkillController(SkillRepository repo) {
+    public SkillController(SkillRepository repo, EntityCacheService entityCacheService,
+                           ContentVersionService contentVersionService, SkillCanonicalizer skillCanonicalizer) {
         this.repo = repo;
+        this.entityCacheService = entityCacheService;
+        this.contentVersionService = contentVersionService;
+        this.skillCanonicalizer = skillCanonicalizer;
     }
 
+    // Cached catalogue (second-level + query cache); 304 when If-None-Match still matches
     @GetMapping
-    public List<Skill> getAllSkills() {
-        return repo.findAll();
+    public List<Skill> getAllSkills(WebRequest request) {
+        if (ContentVersionService.notModified(request, contentVersionService.forSkillCatalogue())) {
+            return null;
+        }
+        return repo.findAllByOrderBySkillNameAsc();
     }
 
     @PostMapping
     public Skill addSkill(@RequestBody Skill skill) {
-        return repo.save(skill);
+        Skill saved = repo.save(skill);
+        entityCacheService.evictSkill(saved.getSkillId());
+        contentVersionService.evictSkillCatalogue();
+        // User skills already written under this name (or a synonym or typo of it) get linked in the background
+        skillCanonicalizer.linkUnresolved();
+        return saved;
     }
 
     @DeleteMapping("/{id}")
     public void deleteSkill(@PathVariable Long id) {
         repo.deleteById(id);
+        entityCacheService.evictSkill(id);
+        contentVersionService.evictSkillCatalogue();
     }
 }
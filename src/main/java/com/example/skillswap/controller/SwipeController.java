@@ -1,70 +1,102 @@
 package com.example.skillswap.controller;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
+import com.example.skillswap.dto.KeysetPage;
+import com.example.skillswap.dto.SwipeBatchRequestDto;
+import com.example.skillswap.dto.SwipeBatchResultDto;
+import com.example.skillswap.dto.SwipeResultDto;
 import com.example.skillswap.model.Swipe;
-import com.example.skillswap.model.Match;
+import com.example.skillswap.model.Views;
 import com.example.skillswap.repository.SwipeRepository;
-import com.example.skillswap.repository.UserRepository;
-import com.example.skillswap.repository.MatchRepository;
+import com.example.skillswap.service.ListStreamer;
+import com.example.skillswap.service.SwipeEventLog;
+import com.example.skillswap.service.SwipeService;
+import com.fasterxml.jackson.annotation.JsonView;
 
 @RestController
 @RequestMapping("/api/swipes")
 public class SwipeController {
 
     private final SwipeRepository swipeRepo;
-    private final UserRepository userRepo;
-    private final MatchRepository matchRepo;
+    private final SwipeService swipeService;
+    private final SwipeEventLog swipeEventLog;
+    private final ListStreamer listStreamer;
 
-    public SwipeController(SwipeRepository swipeRepo, UserRepository userRepo, MatchRepository matchRepo) {
+    public SwipeController(SwipeRepository swipeRepo, SwipeService swipeService, SwipeEventLog swipeEventLog,
+                           ListStreamer listStreamer) {
         this.swipeRepo = swipeRepo;
-        this.userRepo = userRepo;
-        this.matchRepo = matchRepo;
+        this.swipeService = swipeService;
+        this.swipeEventLog = swipeEventLog;
+        this.listStreamer = listStreamer;
     }
 
-    // Get all swipes
+    // Get all swipes (streamed; each side is just the user's id and name)
     @GetMapping
-    public List<Swipe> getAllSwipes() {
-        return swipeRepo.findAll();
+    public ResponseEntity<StreamingResponseBody> getAllSwipes(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return listStreamer.stream(accept, Views.Reference.class, Swipe::getSwipeId, swipeRepo::findAllAfter);
     }
 
-    // Add a swipe (with validation and auto-match)
-    @PostMapping
-    public Swipe addSwipe(@RequestBody Swipe swipe) {
-        // Ensure both users exist
-        swipe.setSwiper(userRepo.findById(swipe.getSwiper().getUserId())
-                .orElseThrow(() -> new RuntimeException("Swiper user not found")));
-        swipe.setSwipee(userRepo.findById(swipe.getSwipee().getUserId())
-                .orElseThrow(() -> new RuntimeException("Swipee user not found")));
-
-        Swipe savedSwipe = swipeRepo.save(swipe);
+    // Keyset-paged slim rows, e.g. /api/swipes/page?after=0&size=20 (pass nextAfter back as after)
+    @GetMapping("/page")
+    public KeysetPage<SwipeRepository.SwipeSummary> getSwipePage(@RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "20") int size) {
+        return KeysetPage.fetch(after, size, swipeRepo::findSummariesAfter, SwipeRepository.SwipeSummary::getSwipeId);
+    }
 
-        // --- AUTO-MATCH LOGIC ---
-        if (Boolean.TRUE.equals(swipe.getIsLike())) {
-            swipeRepo.findBySwiperUserIdAndSwipeeUserId(
+    // Add a swipe; a mutual like creates the match in the same atomic operation
+    // (202 Accepted when swipes are recorded asynchronously through the swipe log)
+    @PostMapping
+    public ResponseEntity<SwipeResultDto> addSwipe(@RequestBody Swipe swipe) {
+        if (swipe.getSwiper() == null || swipe.getSwipee() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Swiper and swipee are required");
+        }
+        try {
+            SwipeResultDto result = swipeService.recordSwipe(
+                    swipe.getSwiper().getUserId(),
                     swipe.getSwipee().getUserId(),
-                    swipe.getSwiper().getUserId()
-            ).ifPresent(reverseSwipe -> {
-                if (Boolean.TRUE.equals(reverseSwipe.getIsLike())) {
-                    boolean matchExists = matchRepo
-                            .findExistingMatch(swipe.getSwiper().getUserId(), swipe.getSwipee().getUserId())
-                            .isPresent();
+                    Boolean.TRUE.equals(swipe.getIsLike()));
+            return ResponseEntity.status(swipeService.isAsync() ? HttpStatus.ACCEPTED : HttpStatus.OK).body(result);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Swiper or swipee user not found");
+        }
+    }
 
-                    if (!matchExists) {
-                        Match newMatch = new Match();
-                        newMatch.setUser1(swipe.getSwiper());
-                        newMatch.setUser2(swipe.getSwipee());
-                        matchRepo.save(newMatch);
-                    }
-                }
-            });
+    // Add a group of swipes by one user in one transaction; returns the matches the batch created
+    @PostMapping("/batch")
+    public ResponseEntity<SwipeBatchResultDto> addSwipes(@RequestBody SwipeBatchRequestDto batch) {
+        try {
+            SwipeBatchResultDto result = swipeService.recordSwipes(batch);
+            return ResponseEntity.status(swipeService.isAsync() ? HttpStatus.ACCEPTED : HttpStatus.OK).body(result);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Swiper or swipee user not found");
         }
+    }
 
-        return savedSwipe;
+    // Re-run match detection from a point in the swipe log, parked (FAILED) events included (async mode only)
+    @PostMapping("/events/replay")
+    public ResponseEntity<Void> replaySwipeLog(@RequestParam(defaultValue = "1") long fromEventId) {
+        if (!swipeService.isAsync()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Swipes are not recorded through the swipe log");
+        }
+        swipeEventLog.rewind(fromEventId);
+        return ResponseEntity.accepted().build();
     }
 
     // Get all swipes made by a specific user
     @GetMapping("/user/{swiperId}")
+    @JsonView(Views.Reference.class)
     public List<Swipe> getSwipesByUser(@PathVariable Long swiperId) {
         return swipeRepo.findBySwiperUserId(swiperId);
     }
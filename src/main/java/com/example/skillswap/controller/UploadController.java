@@ -0,0 +1,190 @@
+package com.example.skillswap.controller;
+
+import com.example.skillswap.service.FileStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves uploaded photos straight from disk, or redirects to a presigned URL for remote storage backends.
+ * Content-hashed names get a strong ETag and a long immutable Cache-Control, so browsers
+ * revalidate rarely; bodies go through Tomcat sendfile or FileChannel.transferTo instead of heap buffers.
+ */
+@RestController
+@RequestMapping("/uploads")
+public class UploadController {
+
+    // Tomcat request attributes for handing a file region to the connector (sendfile)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Below this size a plain copy is cheaper than setting up sendfile
+    private static final long SENDFILE_THRESHOLD = 48 * 1024;
+
+    // Kept well below the presign TTL so a cached redirect never points at an expired URL
+    private static final Duration REDIRECT_MAX_AGE = Duration.ofMinutes(1);
+
+    private final FileStorageService fileStorageService;
+    private final Duration immutableMaxAge;
+    private final Duration legacyMaxAge;
+
+    public UploadController(FileStorageService fileStorageService,
+                            @Value("${skillswap.upload.cache-max-age:365d}") Duration immutableMaxAge,
+                            @Value("${skillswap.upload.legacy-cache-max-age:1h}") Duration legacyMaxAge) {
+        this.fileStorageService = fileStorageService;
+        this.immutableMaxAge = immutableMaxAge;
+        this.legacyMaxAge = legacyMaxAge;
+    }
+
+    @GetMapping("/{filename:.+}")
+    public void serve(@PathVariable String filename,
+                      HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        Path file = fileStorageService.resolve(filename);
+        if (file == null) {
+            // Remote backends hand the browser a short-lived direct URL instead of proxying bytes
+            Optional<URI> presigned = fileStorageService.presignedUrl(filename);
+            if (presigned.isPresent()) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(REDIRECT_MAX_AGE).cachePrivate().getHeaderValue());
+                response.setStatus(HttpStatus.FOUND.value());
+                response.setHeader(HttpHeaders.LOCATION, presigned.get().toString());
+                return;
+            }
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        boolean immutable = fileStorageService.isContentHashed(filename);
+
+        // The hash is the content, so it is a strong validator; legacy names only get a weak one
+        String etag = immutable
+                ? "\"" + stripExtension(filename) + "\""
+                : "W/\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        CacheControl cacheControl = immutable
+                ? CacheControl.maxAge(immutableMaxAge.toSeconds(), TimeUnit.SECONDS).cachePublic().immutable()
+                : CacheControl.maxAge(legacyMaxAge.toSeconds(), TimeUnit.SECONDS).cachePublic();
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        // Handles If-None-Match / If-Modified-Since (304) and If-Match / If-Unmodified-Since (412)
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        MediaType contentType = MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setContentType(contentType.toString());
+
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && length > 0 && rangeApplies(request.getHeader(HttpHeaders.IF_RANGE), etag, immutable, lastModified)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // Multi-range requests are rare for images; answering with the full body is allowed
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                try {
+                    start = range.getRangeStart(length);
+                    end = range.getRangeEnd(length);
+                    if (start >= length || end < start) {
+                        throw new IllegalArgumentException("Range outside of file: " + rangeHeader);
+                    }
+                } catch (IllegalArgumentException e) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = length == 0 ? 0 : end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (count >= SENDFILE_THRESHOLD && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat streams the region with sendfile after the handler returns
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    /**
+     * If-Range only lets the partial response through when the validator still matches.
+     */
+    private boolean rangeApplies(String ifRange, String etag, boolean strongEtag, long lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // Weak validators never satisfy If-Range
+            return strongEtag && ifRange.equals(etag);
+        }
+        try {
+            long since = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return lastModified / 1000 <= since / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static String stripExtension(String filename) {
+        int dot = filename.indexOf('.');
+        return dot > -1 ? filename.substring(0, dot) : filename;
+    }
+}
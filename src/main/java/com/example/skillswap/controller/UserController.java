@@ -1,28 +1,58 @@
 package com.example.skillswap.controller;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 import java.util.Map;
+import com.example.skillswap.dto.KeysetPage;
 import com.example.skillswap.model.User;
+import com.example.skillswap.model.Views;
 import com.example.skillswap.repository.UserRepository;
+import com.example.skillswap.service.AuthService;
+import com.example.skillswap.service.ListStreamer;
+import com.example.skillswap.service.ProfileViewService;
 
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
 
     private final UserRepository repo;
+    private final ProfileViewService profileViewService;
+    private final ListStreamer listStreamer;
 
-    public UserController(UserRepository repo) {
+    public UserController(UserRepository repo, ProfileViewService profileViewService, ListStreamer listStreamer) {
         this.repo = repo;
+        this.profileViewService = profileViewService;
+        this.listStreamer = listStreamer;
     }
 
+    // Streamed with the list fields only (no email or login timestamps); Accept: application/cbor for CBOR
     @GetMapping
-    public List<User> getAllUsers() {
-        return repo.findAll();
+    public ResponseEntity<StreamingResponseBody> getAllUsers(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return listStreamer.stream(accept, Views.Summary.class, User::getUserId, repo::findAllAfter);
+    }
+
+    // Keyset-paged slim rows, e.g. /api/users/page?after=0&size=20 (pass nextAfter back as after)
+    @GetMapping("/page")
+    public KeysetPage<UserRepository.UserSummary> getUserPage(@RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "20") int size) {
+        return KeysetPage.fetch(after, size, repo::findSummariesAfter, UserRepository.UserSummary::getUserId);
     }
 
     @PostMapping
     public User addUser(@RequestBody User user) {
+        // Emails are unique regardless of case (idx_users_email_lower)
+        if (user.getEmail() != null) {
+            user.setEmail(AuthService.normalizeEmail(user.getEmail()));
+            if (repo.existsByEmailIgnoreCase(user.getEmail())) {
+                throw emailTaken();
+            }
+        }
         return repo.save(user);
     }
 
@@ -41,7 +71,11 @@ public class UserController {
             user.setUniversity(userDetails.getUniversity());
         }
         if (userDetails.getEmail() != null) {
-            user.setEmail(userDetails.getEmail());
+            String email = AuthService.normalizeEmail(userDetails.getEmail());
+            if (repo.existsByEmailIgnoreCaseAndUserIdNot(email, id)) {
+                throw emailTaken();
+            }
+            user.setEmail(email);
         }
         
         // Update geolocation fields
@@ -56,6 +90,7 @@ public class UserController {
         }
 
         final User updatedUser = repo.save(user);
+        profileViewService.evict(id);
         return updatedUser;
     }
     
@@ -76,7 +111,9 @@ public class UserController {
             user.setShowLocation((Boolean) locationData.get("showLocation"));
         }
         
-        return repo.save(user);
+        User saved = repo.save(user);
+        profileViewService.evict(id);
+        return saved;
     }
 
     @GetMapping("/{id}")
@@ -84,4 +121,8 @@ public class UserController {
         return repo.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found for this id :: " + id));
     }
+
+    private static ResponseStatusException emailTaken() {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "An account with this email already exists");
+    }
 }
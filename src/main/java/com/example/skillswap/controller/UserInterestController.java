@@ -1,18 +1,29 @@
 package com.example.skillswap.controller;
 
+import com.example.skillswap.dto.KeysetPage;
 import com.example.skillswap.model.UserInterest;
 import com.example.skillswap.repository.UserInterestRepository;
+import com.example.skillswap.service.ProfileViewService;
+import com.example.skillswap.service.UserCollectionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 @RestController
 @RequestMapping("/api/interests")
 public class UserInterestController {
 
     private final UserInterestRepository repo;
+    private final ProfileViewService profileViewService;
+    private final UserCollectionService collectionService;
 
-    public UserInterestController(UserInterestRepository repo) {
+    public UserInterestController(UserInterestRepository repo, ProfileViewService profileViewService,
+            UserCollectionService collectionService) {
         this.repo = repo;
+        this.profileViewService = profileViewService;
+        this.collectionService = collectionService;
     }
 
     @GetMapping
@@ -20,6 +31,14 @@ public class UserInterestController {
         return repo.findAll();
     }
 
+    // Keyset-paged slim rows, e.g. /api/interests/page?after=0&size=20 (pass nextAfter back as after)
+    @GetMapping("/page")
+    public KeysetPage<UserInterestRepository.UserInterestSummary> getInterestPage(@RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "20") int size) {
+        return KeysetPage.fetch(after, size, repo::findSummariesAfter,
+                UserInterestRepository.UserInterestSummary::getInterestId);
+    }
+
     @GetMapping("/{userId}")
     public List<UserInterest> getUserInterests(@PathVariable Long userId) {
         return repo.findByUser_UserId(userId);
@@ -27,11 +46,33 @@ public class UserInterestController {
 
     @PostMapping
     public UserInterest addInterest(@RequestBody UserInterest interest) {
-        return repo.save(interest);
+        UserInterest saved = repo.save(interest);
+        if (saved.getUser() != null) {
+            profileViewService.evict(saved.getUser().getUserId());
+        }
+        return saved;
+    }
+
+    // Replace the user's whole list in one batched transaction (see UserCollectionService)
+    @PutMapping("/user/{userId}")
+    public List<UserInterest> replaceUserInterests(@PathVariable Long userId, @RequestBody List<UserInterest> interests) {
+        try {
+            List<UserInterest> saved = collectionService.replaceInterests(userId, interests);
+            profileViewService.evict(userId);
+            return saved;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
     }
 
     @DeleteMapping("/{id}")
     public void deleteInterest(@PathVariable Long id) {
-        repo.deleteById(id);
+        // Looked up first so the owner's cached profile view can be dropped
+        repo.findById(id).ifPresent(existing -> {
+            repo.delete(existing);
+            profileViewService.evict(existing.getUser().getUserId());
+        });
     }
 }
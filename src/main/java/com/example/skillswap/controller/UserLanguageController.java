@@ -1,18 +1,29 @@
 package com.example.skillswap.controller;
 
+import com.example.skillswap.dto.KeysetPage;
 import com.example.skillswap.model.UserLanguage;
 import com.example.skillswap.repository.UserLanguageRepository;
+import com.example.skillswap.service.ProfileViewService;
+import com.example.skillswap.service.UserCollectionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 @RestController
 @RequestMapping("/api/languages")
 public class UserLanguageController {
 
     private final UserLanguageRepository repo;
+    private final ProfileViewService profileViewService;
+    private final UserCollectionService collectionService;
 
-    public UserLanguageController(UserLanguageRepository repo) {
+    public UserLanguageController(UserLanguageRepository repo, ProfileViewService profileViewService,
+            UserCollectionService collectionService) {
         this.repo = repo;
+        this.profileViewService = profileViewService;
+        this.collectionService = collectionService;
     }
 
     @GetMapping
@@ -20,6 +31,14 @@ public class UserLanguageController {
         return repo.findAll();
     }
 
+    // Keyset-paged slim rows, e.g. /api/languages/page?after=0&size=20 (pass nextAfter back as after)
+    @GetMapping("/page")
+    public KeysetPage<UserLanguageRepository.UserLanguageSummary> getLanguagePage(@RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "20") int size) {
+        return KeysetPage.fetch(after, size, repo::findSummariesAfter,
+                UserLanguageRepository.UserLanguageSummary::getLanguageId);
+    }
+
     @GetMapping("/user/{userId}")
     public List<UserLanguage> getUserLanguages(@PathVariable Long userId) {
         return repo.findByUser_UserId(userId);
@@ -27,12 +46,34 @@ public class UserLanguageController {
 
     @PostMapping
     public UserLanguage addLanguage(@RequestBody UserLanguage language) {
-        return repo.save(language);
+        UserLanguage saved = repo.save(language);
+        if (saved.getUser() != null) {
+            profileViewService.evict(saved.getUser().getUserId());
+        }
+        return saved;
+    }
+
+    // Replace the user's whole list in one batched transaction (see UserCollectionService)
+    @PutMapping("/user/{userId}")
+    public List<UserLanguage> replaceUserLanguages(@PathVariable Long userId, @RequestBody List<UserLanguage> languages) {
+        try {
+            List<UserLanguage> saved = collectionService.replaceLanguages(userId, languages);
+            profileViewService.evict(userId);
+            return saved;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
     }
 
     @DeleteMapping("/{id}")
     public void deleteLanguage(@PathVariable Long id) {
-        repo.deleteById(id);
+        // Looked up first so the owner's cached profile view can be dropped
+        repo.findById(id).ifPresent(existing -> {
+            repo.delete(existing);
+            profileViewService.evict(existing.getUser().getUserId());
+        });
     }
 }
 
@@ -1,18 +1,29 @@
 package com.example.skillswap.controller;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import java.util.List;
+import java.util.NoSuchElementException;
+import com.example.skillswap.dto.KeysetPage;
 import com.example.skillswap.model.UserOrganization;
 import com.example.skillswap.repository.UserOrganizationRepository;
+import com.example.skillswap.service.ProfileViewService;
+import com.example.skillswap.service.UserCollectionService;
 
 @RestController
 @RequestMapping("/api/organizations")
 public class UserOrganizationController {
 
     private final UserOrganizationRepository repo;
+    private final ProfileViewService profileViewService;
+    private final UserCollectionService collectionService;
 
-    public UserOrganizationController(UserOrganizationRepository repo) {
+    public UserOrganizationController(UserOrganizationRepository repo, ProfileViewService profileViewService,
+            UserCollectionService collectionService) {
         this.repo = repo;
+        this.profileViewService = profileViewService;
+        this.collectionService = collectionService;
     }
 
     @GetMapping
@@ -20,13 +31,48 @@ public class UserOrganizationController {
         return repo.findAll();
     }
 
+    // Keyset-paged slim rows, e.g. /api/organizations/page?after=0&size=20 (pass nextAfter back as after)
+    @GetMapping("/page")
+    public KeysetPage<UserOrganizationRepository.UserOrganizationSummary> getOrganizationPage(@RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "20") int size) {
+        return KeysetPage.fetch(after, size, repo::findSummariesAfter,
+                UserOrganizationRepository.UserOrganizationSummary::getOrgId);
+    }
+
+    @GetMapping("/user/{userId}")
+    public List<UserOrganization> getUserOrganizations(@PathVariable Long userId) {
+        return repo.findByUser_UserId(userId);
+    }
+
     @PostMapping
     public UserOrganization addOrganization(@RequestBody UserOrganization organization) {
-        return repo.save(organization);
+        UserOrganization saved = repo.save(organization);
+        if (saved.getUser() != null) {
+            profileViewService.evict(saved.getUser().getUserId());
+        }
+        return saved;
+    }
+
+    // Replace the user's whole list in one batched transaction (see UserCollectionService)
+    @PutMapping("/user/{userId}")
+    public List<UserOrganization> replaceUserOrganizations(@PathVariable Long userId, @RequestBody List<UserOrganization> organizations) {
+        try {
+            List<UserOrganization> saved = collectionService.replaceOrganizations(userId, organizations);
+            profileViewService.evict(userId);
+            return saved;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
     }
 
     @DeleteMapping("/{id}")
     public void deleteOrganization(@PathVariable Long id) {
-        repo.deleteById(id);
+        // Looked up first so the owner's cached profile view can be dropped
+        repo.findById(id).ifPresent(existing -> {
+            repo.delete(existing);
+            profileViewService.evict(existing.getUser().getUserId());
+        });
     }
 }
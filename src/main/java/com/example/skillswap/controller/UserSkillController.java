@@ -1,19 +1,38 @@
 package com.example.skillswap.controller;
 
+import com.example.skillswap.dto.KeysetPage;
 import com.example.skillswap.model.UserSkill;
 import com.example.skillswap.repository.UserSkillRepository;
+import com.example.skillswap.service.ContentVersionService;
+import com.example.skillswap.service.ProfileViewService;
+import com.example.skillswap.service.SkillCanonicalizer;
+import com.example.skillswap.service.UserCollectionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 @RestController
 @RequestMapping("/api/user-skills")
 public class UserSkillController {
 
     private final UserSkillRepository repo;
+    private final ProfileViewService profileViewService;
+    private final UserCollectionService collectionService;
+    private final ContentVersionService contentVersionService;
+    private final SkillCanonicalizer skillCanonicalizer;
 
-    public UserSkillController(UserSkillRepository repo) {
+    public UserSkillController(UserSkillRepository repo, ProfileViewService profileViewService,
+            UserCollectionService collectionService, ContentVersionService contentVersionService,
+            SkillCanonicalizer skillCanonicalizer) {
         this.repo = repo;
+        this.profileViewService = profileViewService;
+        this.collectionService = collectionService;
+        this.contentVersionService = contentVersionService;
+        this.skillCanonicalizer = skillCanonicalizer;
     }
 
     @GetMapping
@@ -21,23 +40,56 @@ public class UserSkillController {
         return repo.findAll();
     }
 
+    // Keyset-paged slim rows, e.g. /api/user-skills/page?after=0&size=20 (pass nextAfter back as after)
+    @GetMapping("/page")
+    public KeysetPage<UserSkillRepository.UserSkillSummary> getUserSkillPage(@RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "20") int size) {
+        return KeysetPage.fetch(after, size, repo::findSummariesAfter,
+                UserSkillRepository.UserSkillSummary::getSkillId);
+    }
+
+    // 304 when the user's content version still matches If-None-Match
     @GetMapping("/{userId}")
-    public List<UserSkill> getUserSkills(@PathVariable Long userId) {
+    public List<UserSkill> getUserSkills(@PathVariable Long userId, WebRequest request) {
+        if (ContentVersionService.notModified(request, contentVersionService.forUser(userId))) {
+            return null;
+        }
         return repo.findByUserUserId(userId);
     }
 
     @PostMapping
     public UserSkill addUserSkill(@RequestBody UserSkill userSkill) {
-        return repo.save(userSkill);
+        skillCanonicalizer.canonicalize(userSkill);
+        UserSkill saved = repo.save(userSkill);
+        if (saved.getUser() != null) {
+            profileViewService.evict(saved.getUser().getUserId());
+        }
+        return saved;
+    }
+
+    // Replace the user's whole list in one batched transaction: entries with an ID are updated,
+    // entries without one are added, and entries left out are deleted
+    @PutMapping("/user/{userId}")
+    public List<UserSkill> replaceUserSkills(@PathVariable Long userId, @RequestBody List<UserSkill> skills) {
+        try {
+            List<UserSkill> saved = collectionService.replaceSkills(userId, skills);
+            profileViewService.evict(userId);
+            return saved;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUserSkill(@PathVariable Long id) {
-        if (repo.existsById(id)) {
-            repo.deleteById(id);
-            return ResponseEntity.noContent().build();
-        } else {
-            return ResponseEntity.notFound().build();
-        }
+        return repo.findById(id)
+                .map(existing -> {
+                    repo.delete(existing);
+                    profileViewService.evict(existing.getUser().getUserId());
+                    return ResponseEntity.noContent().<Void>build();
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 }
@@ -0,0 +1,81 @@
+package com.example.skillswap.dto;
+
+/**
+ * Hit/miss counters for one cache region since startup.
+ */
+public class CacheRegionStatsDto {
+    private String region;
+    private String kind;
+    private long hits;
+    private long misses;
+    private long puts;
+    private long size;
+
+    public CacheRegionStatsDto() {}
+
+    public CacheRegionStatsDto(String region, String kind, long hits, long misses, long puts, long size) {
+        this.region = region;
+        this.kind = kind;
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+        this.size = size;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    /** "hibernate" for second-level/query cache regions, "spring" for Spring caches. */
+    public String getKind() {
+        return kind;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    /** Entries stored, or -1 when the region does not count them. */
+    public long getPuts() {
+        return puts;
+    }
+
+    public void setPuts(long puts) {
+        this.puts = puts;
+    }
+
+    /** Entries held in memory, or -1 when the region does not report it. */
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    /** Hits over lookups, or null before the first lookup. */
+    public Double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? null : (double) hits / lookups;
+    }
+}
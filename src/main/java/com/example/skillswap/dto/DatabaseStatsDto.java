@@ -0,0 +1,72 @@
+package com.example.skillswap.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Connection pool usage and read-replica routing state, as reported by GET /api/db/stats.
+ */
+public class DatabaseStatsDto {
+    private boolean replicaEnabled;
+    private boolean replicaInUse;
+    private double replicaLagSeconds = -1;
+    private List<Pool> pools = new ArrayList<>();
+
+    public boolean isReplicaEnabled() { return replicaEnabled; }
+    public void setReplicaEnabled(boolean replicaEnabled) { this.replicaEnabled = replicaEnabled; }
+
+    /** False while the replica is lagging or unreachable: reads then go to the primary. */
+    public boolean isReplicaInUse() { return replicaInUse; }
+    public void setReplicaInUse(boolean replicaInUse) { this.replicaInUse = replicaInUse; }
+
+    /** Lag at the last check, or -1 when unknown. */
+    public double getReplicaLagSeconds() { return replicaLagSeconds; }
+    public void setReplicaLagSeconds(double replicaLagSeconds) { this.replicaLagSeconds = replicaLagSeconds; }
+
+    public List<Pool> getPools() { return pools; }
+    public void setPools(List<Pool> pools) { this.pools = pools; }
+
+    public static class Pool {
+        private String name;
+        private int active;
+        private int idle;
+        private int total;
+        private int maximumSize;
+        private int threadsAwaiting;
+
+        public Pool() {}
+
+        public Pool(String name, int active, int idle, int total, int maximumSize, int threadsAwaiting) {
+            this.name = name;
+            this.active = active;
+            this.idle = idle;
+            this.total = total;
+            this.maximumSize = maximumSize;
+            this.threadsAwaiting = threadsAwaiting;
+        }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public int getActive() { return active; }
+        public void setActive(int active) { this.active = active; }
+
+        public int getIdle() { return idle; }
+        public void setIdle(int idle) { this.idle = idle; }
+
+        public int getTotal() { return total; }
+        public void setTotal(int total) { this.total = total; }
+
+        public int getMaximumSize() { return maximumSize; }
+        public void setMaximumSize(int maximumSize) { this.maximumSize = maximumSize; }
+
+        /** Requests blocked waiting for a connection; above zero the pool is saturated. */
+        public int getThreadsAwaiting() { return threadsAwaiting; }
+        public void setThreadsAwaiting(int threadsAwaiting) { this.threadsAwaiting = threadsAwaiting; }
+
+        /** Share of the pool's maximum size that is checked out. */
+        public double getUtilization() {
+            return maximumSize == 0 ? 0.0 : (double) active / maximumSize;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.skillswap.dto;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * One page of a list ordered by ID. Pass {@code nextAfter} back as {@code after} to get the next page;
+ * it is null on the last page. Unlike offset paging, every page costs the same index range scan.
+ *
+ * The /page endpoints read through each repository's findSummariesAfter: slim projection rows with
+ * {@code id > after}, ordered by the primary key, so no entity graph is loaded.
+ */
+public class KeysetPage<T> {
+
+    public static final int MAX_SIZE = 100;
+
+    private List<T> items;
+    private Long nextAfter;
+
+    public KeysetPage() {}
+
+    public KeysetPage(List<T> items, Long nextAfter) {
+        this.items = items;
+        this.nextAfter = nextAfter;
+    }
+
+    /**
+     * Clamp a requested page size to 1..MAX_SIZE.
+     */
+    public static int clampSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_SIZE));
+    }
+
+    /**
+     * Fetch the page after {@code after}, asking the query for one row more than the clamped size.
+     */
+    public static <T> KeysetPage<T> fetch(long after, int requestedSize, BiFunction<Long, Pageable, List<T>> query,
+                                          Function<T, Long> idOf) {
+        int size = clampSize(requestedSize);
+        return of(query.apply(after, PageRequest.of(0, size + 1)), size, idOf);
+    }
+
+    /**
+     * Build a page from rows fetched with a limit of {@code size + 1}; the extra row only signals that more exist.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, Long> idOf) {
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new KeysetPage<>(items, idOf.apply(items.get(size - 1)));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public Long getNextAfter() {
+        return nextAfter;
+    }
+
+    public void setNextAfter(Long nextAfter) {
+        this.nextAfter = nextAfter;
+    }
+}
@@ -1,12 +1,13 @@
 package com.example.skillswap.dto;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Lightweight response DTO for match recommendations.
  */
-public class MatchRecommendationDto {
+public class MatchRecommendationDto implements Serializable {
     private Long userId;
     private String fullName;
     private String university;
@@ -0,0 +1,75 @@
+package com.example.skillswap.dto;
+
+/**
+ * One server-sent notification for a user: a new match ("match") or a message from a match
+ * ("message"; messageId set). fromUserId is the other side of the match, or the sender.
+ */
+public class NotificationDto {
+
+    public static final String MATCH = "match";
+    public static final String MESSAGE = "message";
+
+    private String type;
+    private Long userId;
+    private Long matchId;
+    private Long messageId;
+    private Long fromUserId;
+
+    public NotificationDto() {}
+
+    public NotificationDto(String type, Long userId, Long matchId, Long messageId, Long fromUserId) {
+        this.type = type;
+        this.userId = userId;
+        this.matchId = matchId;
+        this.messageId = messageId;
+        this.fromUserId = fromUserId;
+    }
+
+    public static NotificationDto match(Long userId, Long matchId, Long otherUserId) {
+        return new NotificationDto(MATCH, userId, matchId, null, otherUserId);
+    }
+
+    public static NotificationDto message(Long userId, Long matchId, Long messageId, Long senderId) {
+        return new NotificationDto(MESSAGE, userId, matchId, messageId, senderId);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public void setMatchId(Long matchId) {
+        this.matchId = matchId;
+    }
+
+    public Long getMessageId() {
+        return messageId;
+    }
+
+    public void setMessageId(Long messageId) {
+        this.messageId = messageId;
+    }
+
+    public Long getFromUserId() {
+        return fromUserId;
+    }
+
+    public void setFromUserId(Long fromUserId) {
+        this.fromUserId = fromUserId;
+    }
+}
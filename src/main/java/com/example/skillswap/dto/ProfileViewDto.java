@@ -0,0 +1,279 @@
+package com.example.skillswap.dto;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything the profile pages show for one user, assembled in a single response.
+ * Item fields keep the names of the per-resource endpoints, so the pages render them unchanged.
+ * Serializable so the view can be shared through the Redis cache tier.
+ */
+public class ProfileViewDto implements Serializable {
+    private UserPart user;
+    private ProfilePart profile;
+    private List<Skill> skills = new ArrayList<>();
+    private List<Interest> interests = new ArrayList<>();
+    private List<Language> languages = new ArrayList<>();
+    private List<Organization> organizations = new ArrayList<>();
+    private List<Photo> photos = new ArrayList<>();
+
+    public UserPart getUser() { return user; }
+    public void setUser(UserPart user) { this.user = user; }
+
+    /** Null when the user has not created a profile yet. */
+    public ProfilePart getProfile() { return profile; }
+    public void setProfile(ProfilePart profile) { this.profile = profile; }
+
+    public List<Skill> getSkills() { return skills; }
+    public void setSkills(List<Skill> skills) { this.skills = skills; }
+
+    public List<Interest> getInterests() { return interests; }
+    public void setInterests(List<Interest> interests) { this.interests = interests; }
+
+    public List<Language> getLanguages() { return languages; }
+    public void setLanguages(List<Language> languages) { this.languages = languages; }
+
+    public List<Organization> getOrganizations() { return organizations; }
+    public void setOrganizations(List<Organization> organizations) { this.organizations = organizations; }
+
+    public List<Photo> getPhotos() { return photos; }
+    public void setPhotos(List<Photo> photos) { this.photos = photos; }
+
+    public static class UserPart implements Serializable {
+        private Long userId;
+        private String email;
+        private String firstName;
+        private String lastName;
+        private String university;
+        private Double latitude;
+        private Double longitude;
+        private Boolean showLocation;
+
+        public Long getUserId() { return userId; }
+        public void setUserId(Long userId) { this.userId = userId; }
+
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+
+        public String getFirstName() { return firstName; }
+        public void setFirstName(String firstName) { this.firstName = firstName; }
+
+        public String getLastName() { return lastName; }
+        public void setLastName(String lastName) { this.lastName = lastName; }
+
+        public String getUniversity() { return university; }
+        public void setUniversity(String university) { this.university = university; }
+
+        public Double getLatitude() { return latitude; }
+        public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+        public Double getLongitude() { return longitude; }
+        public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+        public Boolean getShowLocation() { return showLocation; }
+        public void setShowLocation(Boolean showLocation) { this.showLocation = showLocation; }
+    }
+
+    public static class ProfilePart implements Serializable {
+        private Long profileId;
+        private String bio;
+        private String location;
+        private Double latitude;
+        private Double longitude;
+        private Boolean showLocation;
+        private String major;
+        private String year;
+        private String careerGoals;
+        private String availability;
+        private String linkedin;
+        private String github;
+        private String portfolio;
+        private String career;
+        private String careerExperience;
+        private String researchPublications;
+        private String awards;
+
+        public Long getProfileId() { return profileId; }
+        public void setProfileId(Long profileId) { this.profileId = profileId; }
+
+        public String getBio() { return bio; }
+        public void setBio(String bio) { this.bio = bio; }
+
+        public String getLocation() { return location; }
+        public void setLocation(String location) { this.location = location; }
+
+        public Double getLatitude() { return latitude; }
+        public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+        public Double getLongitude() { return longitude; }
+        public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+        public Boolean getShowLocation() { return showLocation; }
+        public void setShowLocation(Boolean showLocation) { this.showLocation = showLocation; }
+
+        public String getMajor() { return major; }
+        public void setMajor(String major) { this.major = major; }
+
+        public String getYear() { return year; }
+        public void setYear(String year) { this.year = year; }
+
+        public String getCareerGoals() { return careerGoals; }
+        public void setCareerGoals(String careerGoals) { this.careerGoals = careerGoals; }
+
+        public String getAvailability() { return availability; }
+        public void setAvailability(String availability) { this.availability = availability; }
+
+        public String getLinkedin() { return linkedin; }
+        public void setLinkedin(String linkedin) { this.linkedin = linkedin; }
+
+        public String getGithub() { return github; }
+        public void setGithub(String github) { this.github = github; }
+
+        public String getPortfolio() { return portfolio; }
+        public void setPortfolio(String portfolio) { this.portfolio = portfolio; }
+
+        public String getCareer() { return career; }
+        public void setCareer(String career) { this.career = career; }
+
+        public String getCareerExperience() { return careerExperience; }
+        public void setCareerExperience(String careerExperience) { this.careerExperience = careerExperience; }
+
+        public String getResearchPublications() { return researchPublications; }
+        public void setResearchPublications(String researchPublications) { this.researchPublications = researchPublications; }
+
+        public String getAwards() { return awards; }
+        public void setAwards(String awards) { this.awards = awards; }
+    }
+
+    public static class Skill implements Serializable {
+        private Long skillId;
+        private String skillName;
+        private String skillLevel;
+        private Boolean offering;
+        private Boolean seeking;
+
+        public Skill() {}
+
+        public Skill(Long skillId, String skillName, String skillLevel, Boolean offering, Boolean seeking) {
+            this.skillId = skillId;
+            this.skillName = skillName;
+            this.skillLevel = skillLevel;
+            this.offering = offering;
+            this.seeking = seeking;
+        }
+
+        public Long getSkillId() { return skillId; }
+        public void setSkillId(Long skillId) { this.skillId = skillId; }
+
+        public String getSkillName() { return skillName; }
+        public void setSkillName(String skillName) { this.skillName = skillName; }
+
+        public String getSkillLevel() { return skillLevel; }
+        public void setSkillLevel(String skillLevel) { this.skillLevel = skillLevel; }
+
+        public Boolean getOffering() { return offering; }
+        public void setOffering(Boolean offering) { this.offering = offering; }
+
+        public Boolean getSeeking() { return seeking; }
+        public void setSeeking(Boolean seeking) { this.seeking = seeking; }
+    }
+
+    public static class Interest implements Serializable {
+        private Long interestId;
+        private String interestName;
+        private String category;
+
+        public Interest() {}
+
+        public Interest(Long interestId, String interestName, String category) {
+            this.interestId = interestId;
+            this.interestName = interestName;
+            this.category = category;
+        }
+
+        public Long getInterestId() { return interestId; }
+        public void setInterestId(Long interestId) { this.interestId = interestId; }
+
+        public String getInterestName() { return interestName; }
+        public void setInterestName(String interestName) { this.interestName = interestName; }
+
+        public String getCategory() { return category; }
+        public void setCategory(String category) { this.category = category; }
+    }
+
+    public static class Language implements Serializable {
+        private Long languageId;
+        private String languageName;
+        private String proficiencyLevel;
+
+        public Language() {}
+
+        public Language(Long languageId, String languageName, String proficiencyLevel) {
+            this.languageId = languageId;
+            this.languageName = languageName;
+            this.proficiencyLevel = proficiencyLevel;
+        }
+
+        public Long getLanguageId() { return languageId; }
+        public void setLanguageId(Long languageId) { this.languageId = languageId; }
+
+        public String getLanguageName() { return languageName; }
+        public void setLanguageName(String languageName) { this.languageName = languageName; }
+
+        public String getProficiencyLevel() { return proficiencyLevel; }
+        public void setProficiencyLevel(String proficiencyLevel) { this.proficiencyLevel = proficiencyLevel; }
+    }
+
+    public static class Organization implements Serializable {
+        private Long orgId;
+        private String organizationName;
+        private String role;
+
+        public Organization() {}
+
+        public Organization(Long orgId, String organizationName, String role) {
+            this.orgId = orgId;
+            this.organizationName = organizationName;
+            this.role = role;
+        }
+
+        public Long getOrgId() { return orgId; }
+        public void setOrgId(Long orgId) { this.orgId = orgId; }
+
+        public String getOrganizationName() { return organizationName; }
+        public void setOrganizationName(String organizationName) { this.organizationName = organizationName; }
+
+        public String getRole() { return role; }
+        public void setRole(String role) { this.role = role; }
+    }
+
+    public static class Photo implements Serializable {
+        private Long photoId;
+        private String photoUrl;
+        private Boolean isPrimary;
+        private LocalDateTime uploadedAt;
+
+        public Photo() {}
+
+        public Photo(Long photoId, String photoUrl, Boolean isPrimary, LocalDateTime uploadedAt) {
+            this.photoId = photoId;
+            this.photoUrl = photoUrl;
+            this.isPrimary = isPrimary;
+            this.uploadedAt = uploadedAt;
+        }
+
+        public Long getPhotoId() { return photoId; }
+        public void setPhotoId(Long photoId) { this.photoId = photoId; }
+
+        public String getPhotoUrl() { return photoUrl; }
+        public void setPhotoUrl(String photoUrl) { this.photoUrl = photoUrl; }
+
+        public Boolean getIsPrimary() { return isPrimary; }
+        public void setIsPrimary(Boolean isPrimary) { this.isPrimary = isPrimary; }
+
+        public LocalDateTime getUploadedAt() { return uploadedAt; }
+        public void setUploadedAt(LocalDateTime uploadedAt) { this.uploadedAt = uploadedAt; }
+    }
+}
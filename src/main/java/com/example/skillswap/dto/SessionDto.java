@@ -0,0 +1,62 @@
+package com.example.skillswap.dto;
+
+/**
+ * What the browser keeps after logging in (stored as currentUser in localStorage).
+ */
+public class SessionDto {
+    private Long userId;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private String university;
+
+    public SessionDto() {}
+
+    public SessionDto(Long userId, String email, String firstName, String lastName, String university) {
+        this.userId = userId;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.university = university;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getUniversity() {
+        return university;
+    }
+
+    public void setUniversity(String university) {
+        this.university = university;
+    }
+}
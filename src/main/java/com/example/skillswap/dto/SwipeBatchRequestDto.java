@@ -0,0 +1,56 @@
+package com.example.skillswap.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A group of swipe decisions made by one user, flushed together by the client.
+ */
+public class SwipeBatchRequestDto {
+    private Long swiperId;
+    private List<Decision> swipes = new ArrayList<>();
+
+    public Long getSwiperId() {
+        return swiperId;
+    }
+
+    public void setSwiperId(Long swiperId) {
+        this.swiperId = swiperId;
+    }
+
+    public List<Decision> getSwipes() {
+        return swipes;
+    }
+
+    public void setSwipes(List<Decision> swipes) {
+        this.swipes = swipes;
+    }
+
+    public static class Decision {
+        private Long swipeeId;
+        private Boolean isLike;
+
+        public Decision() {}
+
+        public Decision(Long swipeeId, Boolean isLike) {
+            this.swipeeId = swipeeId;
+            this.isLike = isLike;
+        }
+
+        public Long getSwipeeId() {
+            return swipeeId;
+        }
+
+        public void setSwipeeId(Long swipeeId) {
+            this.swipeeId = swipeeId;
+        }
+
+        public Boolean getIsLike() {
+            return isLike;
+        }
+
+        public void setIsLike(Boolean isLike) {
+            this.isLike = isLike;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.skillswap.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a batch of swipes: how many were stored and the matches the batch created.
+ */
+public class SwipeBatchResultDto {
+    private int swipesRecorded;
+    private List<NewMatch> newMatches = new ArrayList<>();
+
+    public SwipeBatchResultDto() {}
+
+    public SwipeBatchResultDto(int swipesRecorded, List<NewMatch> newMatches) {
+        this.swipesRecorded = swipesRecorded;
+        this.newMatches = newMatches;
+    }
+
+    public int getSwipesRecorded() {
+        return swipesRecorded;
+    }
+
+    public void setSwipesRecorded(int swipesRecorded) {
+        this.swipesRecorded = swipesRecorded;
+    }
+
+    public List<NewMatch> getNewMatches() {
+        return newMatches;
+    }
+
+    public void setNewMatches(List<NewMatch> newMatches) {
+        this.newMatches = newMatches;
+    }
+
+    public static class NewMatch {
+        private Long matchId;
+        private Long userId;
+
+        public NewMatch() {}
+
+        public NewMatch(Long matchId, Long userId) {
+            this.matchId = matchId;
+            this.userId = userId;
+        }
+
+        public Long getMatchId() {
+            return matchId;
+        }
+
+        public void setMatchId(Long matchId) {
+            this.matchId = matchId;
+        }
+
+        /** The other user in the match (the swipee). */
+        public Long getUserId() {
+            return userId;
+        }
+
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.skillswap.dto;
+
+/**
+ * Outcome of recording a swipe: the stored swipe and, when it completed a mutual like, the match.
+ */
+public class SwipeResultDto {
+    private Long swipeId;
+    private Long swiperId;
+    private Long swipeeId;
+    private boolean isLike;
+    private Long matchId;
+    private boolean matchCreated;
+
+    public SwipeResultDto() {}
+
+    public SwipeResultDto(Long swipeId, Long swiperId, Long swipeeId, boolean isLike, Long matchId, boolean matchCreated) {
+        this.swipeId = swipeId;
+        this.swiperId = swiperId;
+        this.swipeeId = swipeeId;
+        this.isLike = isLike;
+        this.matchId = matchId;
+        this.matchCreated = matchCreated;
+    }
+
+    public Long getSwipeId() {
+        return swipeId;
+    }
+
+    public void setSwipeId(Long swipeId) {
+        this.swipeId = swipeId;
+    }
+
+    public Long getSwiperId() {
+        return swiperId;
+    }
+
+    public void setSwiperId(Long swiperId) {
+        this.swiperId = swiperId;
+    }
+
+    public Long getSwipeeId() {
+        return swipeeId;
+    }
+
+    public void setSwipeeId(Long swipeeId) {
+        this.swipeeId = swipeeId;
+    }
+
+    public boolean getIsLike() {
+        return isLike;
+    }
+
+    public void setIsLike(boolean isLike) {
+        this.isLike = isLike;
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public void setMatchId(Long matchId) {
+        this.matchId = matchId;
+    }
+
+    /**
+     * True only for the swipe that created the match, not for repeated likes of an existing match.
+     */
+    public boolean isMatchCreated() {
+        return matchCreated;
+    }
+
+    public void setMatchCreated(boolean matchCreated) {
+        this.matchCreated = matchCreated;
+    }
+}
@@ -1,30 +1,36 @@
 package com.example.skillswap.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonView;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "match")
+@Table(name = "match", uniqueConstraints = @UniqueConstraint(name = "unique_match", columnNames = {"user1_id", "user2_id"}))
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Match {
 
+    @JsonView(Views.Reference.class)
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "match_id")
     private Long matchId;
 
+    @JsonView(Views.Reference.class)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user1_id", referencedColumnName = "user_id")
     private User user1;
 
+    @JsonView(Views.Reference.class)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user2_id", referencedColumnName = "user_id")
     private User user2;
 
+    @JsonView(Views.Reference.class)
     @Column(name = "matched_at")
     private LocalDateTime matchedAt = LocalDateTime.now();
 
+    @JsonView(Views.Reference.class)
     @Column(name = "is_active")
     private Boolean isActive = true;
 
@@ -2,30 +2,37 @@ package com.example.skillswap.model;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import com.fasterxml.jackson.annotation.JsonView;
 
 @Entity
 @Table(name = "message")
 public class Message {
 
+    @JsonView(Views.Reference.class)
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "message_id")
     private Long messageId;
 
+    @JsonView(Views.Reference.class)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "match_id", referencedColumnName = "match_id")
     private Match match;
 
+    @JsonView(Views.Reference.class)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sender_id", referencedColumnName = "user_id")
     private User sender;
 
+    @JsonView(Views.Reference.class)
     @Column(name = "message_content", nullable = false)
     private String messageContent;
 
+    @JsonView(Views.Reference.class)
     @Column(name = "is_read")
     private Boolean isRead;
 
+    @JsonView(Views.Reference.class)
     @Column(name = "sent_at")
     private LocalDateTime sentAt;
 
@@ -1,53 +1,76 @@
 package com.example.skillswap.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonView;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "profiles")
 @Table(name = "profile")
 public class Profile {
 
+    @JsonView(Views.Reference.class)
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "profile_id")
     private Long profileId;
 
+    @JsonView(Views.Summary.class)
     @OneToOne
     @JoinColumn(name = "user_id", referencedColumnName = "user_id")
     private User user;
 
+    @JsonView(Views.Summary.class)
     @Column(name = "bio")
     private String bio;
 
+    @JsonView(Views.Summary.class)
     @Column(name = "location")
     private String location;
 
+    @JsonView(Views.Summary.class)
     @Column(name = "latitude")
     private Double latitude;
 
+    @JsonView(Views.Summary.class)
     @Column(name = "longitude")
     private Double longitude;
 
+    @JsonView(Views.Summary.class)
     @Column(name = "show_location")
     private Boolean showLocation = false;
 
+    @JsonView(Views.Summary.class)
     @Column(name = "major")
     private String major;
 
+    @JsonView(Views.Summary.class)
     @Column(name = "year")
     private String year;
 
+    @JsonView(Views.Summary.class)
     @Column(name = "career_goals")
     private String careerGoals;
 
+    @JsonView(Views.Summary.class)
     @Column(name = "availability")
     private String availability;
 
+    @JsonView(Views.Summary.class)
     @Column(name = "linkedin")
     private String linkedin;
 
+    @JsonView(Views.Summary.class)
     @Column(name = "github")
     private String github;
 
+    @JsonView(Views.Summary.class)
     @Column(name = "portfolio")
     private String portfolio;
 
@@ -63,6 +86,18 @@ public class Profile {
     @Column(name = "awards")
     private String awards;
 
+    // Version stamp behind the profile's ETags. Advanced in SQL by ContentVersionService, so saves of
+    // this entity never overwrite it and the (possibly cached) values here are not served
+    @JsonIgnore
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "updated_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(name = "content_version", nullable = false, insertable = false, updatable = false)
+    private Long contentVersion;
+
     // Getters and Setters
     public Long getProfileId() { return profileId; }
     public void setProfileId(Long profileId) { this.profileId = profileId; }
@@ -117,4 +152,8 @@ public class Profile {
 
     public String getAwards() { return awards; }
     public void setAwards(String awards) { this.awards = awards; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public Long getContentVersion() { return contentVersion; }
 }
@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "profile_photo")
+@Table(name = "profile_photo", indexes = {
+        @Index(name = "idx_profile_photo_primary", columnList = "profile_id, is_primary")
+})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class ProfilePhoto {
 
@@ -1,8 +1,12 @@
 package com.example.skillswap.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "skills")
 @Table(name = "skills")
 public class Skill {
     @Id
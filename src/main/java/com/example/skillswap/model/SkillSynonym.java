@@ -0,0 +1,32 @@
+package com.example.skillswap.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Another way of writing a catalogue skill (e.g. "k8s" for Kubernetes), used when resolving free-text
+ * user skills. Points at the skill by name, so it only takes effect once the catalogue has that skill.
+ */
+@Entity
+@Table(name = "skill_synonym")
+public class SkillSynonym {
+
+    @Id
+    @Column(name = "synonym", length = 100)
+    private String synonym;
+
+    @Column(name = "skill_name", nullable = false, length = 100)
+    private String skillName;
+
+    public SkillSynonym() {}
+
+    public SkillSynonym(String synonym, String skillName) {
+        this.synonym = synonym;
+        this.skillName = skillName;
+    }
+
+    public String getSynonym() { return synonym; }
+    public void setSynonym(String synonym) { this.synonym = synonym; }
+
+    public String getSkillName() { return skillName; }
+    public void setSkillName(String skillName) { this.skillName = skillName; }
+}
@@ -2,27 +2,33 @@ package com.example.skillswap.model;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import com.fasterxml.jackson.annotation.JsonView;
 
 @Entity
-@Table(name = "swipe")
+@Table(name = "swipe", uniqueConstraints = @UniqueConstraint(name = "unique_swipe", columnNames = {"swiper_id", "swipee_id"}))
 public class Swipe {
 
+    @JsonView(Views.Reference.class)
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "swipe_id")
     private Long swipeId;
 
+    @JsonView(Views.Reference.class)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "swiper_id", referencedColumnName = "user_id")
     private User swiper;
 
+    @JsonView(Views.Reference.class)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "swipee_id", referencedColumnName = "user_id")
     private User swipee;
 
+    @JsonView(Views.Reference.class)
     @Column(name = "is_like")
     private Boolean isLike;
 
+    @JsonView(Views.Reference.class)
     @Column(name = "swiped_at")
     private LocalDateTime swipedAt = LocalDateTime.now();
 
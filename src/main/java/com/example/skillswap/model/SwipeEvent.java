@@ -0,0 +1,73 @@
+package com.example.skillswap.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One entry in the append-only swipe log. The decision itself is never updated; the swipe and match
+ * tables are projections built from the log by SwipeEventConsumer, which moves each event from
+ * PENDING to APPLIED, or to FAILED once it has failed max-attempts times.
+ */
+@Entity
+@Table(name = "swipe_event")
+public class SwipeEvent {
+
+    public static final String PENDING = "PENDING";
+    public static final String APPLIED = "APPLIED";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "swiper_id", referencedColumnName = "user_id", nullable = false)
+    private User swiper;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "swipee_id", referencedColumnName = "user_id", nullable = false)
+    private User swipee;
+
+    @Column(name = "is_like", nullable = false)
+    private Boolean isLike;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "status", nullable = false, length = 10)
+    private String status = PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    public SwipeEvent() {}
+
+    // Getters & Setters
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+
+    public User getSwiper() { return swiper; }
+    public void setSwiper(User swiper) { this.swiper = swiper; }
+
+    public User getSwipee() { return swipee; }
+    public void setSwipee(User swipee) { this.swipee = swipee; }
+
+    public Boolean getIsLike() { return isLike; }
+    public void setIsLike(Boolean isLike) { this.isLike = isLike; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Integer getAttempts() { return attempts; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
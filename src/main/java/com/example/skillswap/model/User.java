@@ -1,17 +1,24 @@
 package com.example.skillswap.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonView;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Table(name = "users")
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 
 public class User {
 
+    @JsonView(Views.Reference.class)
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "user_id")
@@ -19,18 +26,24 @@ public class User {
 
     private String email;
 
+    // Accepted on registration but never serialized back out
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(name = "password_hash")
     private String passwordHash;
 
+    @JsonView(Views.Reference.class)
     @Column(name = "first_name")
     private String firstName;
 
+    @JsonView(Views.Reference.class)
     @Column(name = "last_name")
     private String lastName;
 
+    @JsonView(Views.Summary.class)
     @Column(name = "date_of_birth")
     private LocalDate dateOfBirth;
 
+    @JsonView(Views.Summary.class)
     private String university;
 
     @Column(name = "email_verified")
@@ -42,12 +55,15 @@ public class User {
     @Column(name = "last_login")
     private LocalDateTime lastLogin;
 
+    @JsonView(Views.Summary.class)
     @Column(name = "latitude")
     private Double latitude;
 
+    @JsonView(Views.Summary.class)
     @Column(name = "longitude")
     private Double longitude;
 
+    @JsonView(Views.Summary.class)
     @Column(name = "show_location")
     private Boolean showLocation = false;
 
@@ -9,7 +9,8 @@ import jakarta.persistence.*;
 public class UserInterest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_interest_seq")
+    @SequenceGenerator(name = "user_interest_seq", sequenceName = "user_interest_interest_id_seq", allocationSize = 50)
     @Column(name = "interest_id")
     private Long interestId;
 
@@ -9,7 +9,8 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 public class UserLanguage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_language_seq")
+    @SequenceGenerator(name = "user_language_seq", sequenceName = "user_language_language_id_seq", allocationSize = 50)
     @Column(name = "language_id")
     private Long languageId;
 
@@ -9,7 +9,8 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 public class UserOrganization {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_organization_seq")
+    @SequenceGenerator(name = "user_organization_seq", sequenceName = "user_organization_org_id_seq", allocationSize = 50)
     @Column(name = "org_id")
     private Long orgId;
 
@@ -9,7 +9,9 @@ import jakarta.persistence.*;
 public class UserSkill {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence IDs (pre-allocated 50 at a time) let Hibernate batch the inserts; IDENTITY cannot
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_skill_seq")
+    @SequenceGenerator(name = "user_skill_seq", sequenceName = "user_skill_skill_id_seq", allocationSize = 50)
     @Column(name = "skill_id")
     private Long skillId;
 
@@ -20,6 +22,10 @@ public class UserSkill {
     @Column(name = "skill_name", nullable = false)
     private String skillName;
 
+    // Catalogue skill the name resolves to, set by SkillCanonicalizer on every write; null if none matches
+    @Column(name = "canonical_skill_id")
+    private Long canonicalSkillId;
+
     @Column(name = "skill_level")
     private String skillLevel;
 
@@ -50,6 +56,9 @@ public class UserSkill {
     public String getSkillName() { return skillName; }
     public void setSkillName(String skillName) { this.skillName = skillName; }
 
+    public Long getCanonicalSkillId() { return canonicalSkillId; }
+    public void setCanonicalSkillId(Long canonicalSkillId) { this.canonicalSkillId = canonicalSkillId; }
+
     public String getSkillLevel() { return skillLevel; }
     public void setSkillLevel(String skillLevel) { this.skillLevel = skillLevel; }
 
@@ -0,0 +1,25 @@
+package com.example.skillswap.model;
+
+/**
+ * {@code @JsonView}s for list endpoints. Without a view (single-entity GETs and writes) every field is
+ * serialized as before; with one, only the fields tagged with that view or a view it extends.
+ */
+public final class Views {
+
+    private Views() {
+    }
+
+    /**
+     * Ids and names only for users and profiles. Used for match, swipe and message lists, so each row carries
+     * "who" without a whole User per side.
+     */
+    public interface Reference {
+    }
+
+    /**
+     * User and profile list rows: what the discover and matches pages read, without email, login timestamps
+     * or the long profile texts (those come from /api/profiles/user/{userId}/full).
+     */
+    public interface Summary extends Reference {
+    }
+}
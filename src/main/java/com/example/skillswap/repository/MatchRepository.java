@@ -1,9 +1,12 @@
 package com.example.skillswap.repository;
 
 import com.example.skillswap.model.Match;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface MatchRepository extends JpaRepository<Match, Long> {
@@ -12,4 +15,33 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
            "(m.user1.userId = :u1 AND m.user2.userId = :u2) OR " +
            "(m.user1.userId = :u2 AND m.user2.userId = :u1)")
     Optional<Match> findExistingMatch(@Param("u1") Long user1, @Param("u2") Long user2);
+
+    @Query("SELECT m.matchId AS matchId, m.user1.userId AS user1Id, m.user2.userId AS user2Id, " +
+           "m.matchedAt AS matchedAt, m.isActive AS isActive " +
+           "FROM Match m WHERE m.matchId > :after ORDER BY m.matchId")
+    List<MatchSummary> findSummariesAfter(@Param("after") Long after, Pageable pageable);
+
+    // The matches after an ID with both users, in ID order: the chunks ListStreamer reads every match in
+    @Query("SELECT m FROM Match m LEFT JOIN FETCH m.user1 LEFT JOIN FETCH m.user2 " +
+           "WHERE m.matchId > :after ORDER BY m.matchId")
+    List<Match> findAllAfter(@Param("after") Long after, Pageable pageable);
+
+    // A user's matches after a match ID, oldest first (notification replay after a reconnect)
+    @Query("SELECT m.matchId AS matchId, m.user1.userId AS user1Id, m.user2.userId AS user2Id, " +
+           "m.matchedAt AS matchedAt, m.isActive AS isActive " +
+           "FROM Match m WHERE (m.user1.userId = :userId OR m.user2.userId = :userId) AND m.matchId > :after " +
+           "ORDER BY m.matchId")
+    List<MatchSummary> findSummariesForUserAfter(@Param("userId") Long userId, @Param("after") Long after,
+                                                Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(m.matchId), 0) FROM Match m")
+    long findMaxMatchId();
+
+    interface MatchSummary {
+        Long getMatchId();
+        Long getUser1Id();
+        Long getUser2Id();
+        LocalDateTime getMatchedAt();
+        Boolean getIsActive();
+    }
 }
@@ -1,14 +1,36 @@
 package com.example.skillswap.repository;
 
 import com.example.skillswap.model.Message;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
 
+    // Conversation with match, both users and senders in one query (they are all serialized)
+    @EntityGraph(attributePaths = {"match", "match.user1", "match.user2", "sender"})
     List<Message> findByMatchMatchIdOrderBySentAtAsc(Long matchId);
 
     // New: find the most recent message for a match
     Message findTop1ByMatchMatchIdOrderBySentAtDesc(Long matchId);
+
+    // Messages sent to a user after a message ID, oldest first (notification replay after a reconnect)
+    @Query("SELECT msg.messageId AS messageId, msg.match.matchId AS matchId, msg.sender.userId AS senderId " +
+           "FROM Message msg WHERE (msg.match.user1.userId = :userId OR msg.match.user2.userId = :userId) " +
+           "AND msg.sender.userId <> :userId AND msg.messageId > :after ORDER BY msg.messageId")
+    List<MessageNotice> findNoticesForUserAfter(@Param("userId") Long userId, @Param("after") Long after,
+                                               Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(msg.messageId), 0) FROM Message msg")
+    long findMaxMessageId();
+
+    interface MessageNotice {
+        Long getMessageId();
+        Long getMatchId();
+        Long getSenderId();
+    }
 }
\ No newline at end of file
@@ -1,9 +1,38 @@
 package com.example.skillswap.repository;
 
 import com.example.skillswap.model.ProfilePhoto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ProfilePhotoRepository extends JpaRepository<ProfilePhoto, Long> {
     List<ProfilePhoto> findByProfile_ProfileId(Long profileId);
+
+    // Primary photos for many profiles in one query (served by idx_profile_photo_primary), newest first
+    @Query("SELECT p.profile.profileId AS profileId, p.photoUrl AS photoUrl FROM ProfilePhoto p " +
+           "WHERE p.profile.profileId IN :profileIds AND p.isPrimary = true " +
+           "ORDER BY p.uploadedAt DESC")
+    List<PrimaryPhotoView> findPrimaryPhotos(@Param("profileIds") Collection<Long> profileIds);
+
+    interface PrimaryPhotoView {
+        Long getProfileId();
+        String getPhotoUrl();
+    }
+
+    @Query("SELECT p.photoId AS photoId, p.profile.profileId AS profileId, p.photoUrl AS photoUrl, " +
+           "p.isPrimary AS isPrimary, p.uploadedAt AS uploadedAt " +
+           "FROM ProfilePhoto p WHERE p.photoId > :after ORDER BY p.photoId")
+    List<PhotoSummary> findSummariesAfter(@Param("after") Long after, Pageable pageable);
+
+    interface PhotoSummary {
+        Long getPhotoId();
+        Long getProfileId();
+        String getPhotoUrl();
+        Boolean getIsPrimary();
+        LocalDateTime getUploadedAt();
+    }
 }
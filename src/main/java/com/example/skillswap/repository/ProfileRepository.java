@@ -1,9 +1,13 @@
 package com.example.skillswap.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.example.skillswap.model.Profile;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
     
@@ -13,4 +17,36 @@ public interface ProfileRepository extends JpaRepository<Profile, Long> {
     
     // Find profile by user ID
     Profile findByUserUserId(Long userId);
+
+    @Query("SELECT p.profileId AS profileId, p.user.userId AS userId, p.major AS major, " +
+           "p.year AS year, p.location AS location " +
+           "FROM Profile p WHERE p.profileId > :after ORDER BY p.profileId")
+    List<ProfileSummary> findSummariesAfter(@Param("after") Long after, Pageable pageable);
+
+    // The profiles after an ID with their users, in ID order: the chunks ListStreamer reads every profile in
+    @Query("SELECT p FROM Profile p LEFT JOIN FETCH p.user WHERE p.profileId > :after ORDER BY p.profileId")
+    List<Profile> findAllAfter(@Param("after") Long after, Pageable pageable);
+
+    // Version stamp for conditional GETs, read without loading the profile (see ContentVersionService)
+    @Query("SELECT p.profileId AS profileId, p.contentVersion AS contentVersion, p.updatedAt AS updatedAt " +
+           "FROM Profile p WHERE p.profileId = :profileId")
+    Optional<ContentStamp> findContentStampByProfileId(@Param("profileId") Long profileId);
+
+    @Query("SELECT p.profileId AS profileId, p.contentVersion AS contentVersion, p.updatedAt AS updatedAt " +
+           "FROM Profile p WHERE p.user.userId = :userId")
+    Optional<ContentStamp> findContentStampByUserId(@Param("userId") Long userId);
+
+    interface ContentStamp {
+        Long getProfileId();
+        Long getContentVersion();
+        LocalDateTime getUpdatedAt();
+    }
+
+    interface ProfileSummary {
+        Long getProfileId();
+        Long getUserId();
+        String getMajor();
+        String getYear();
+        String getLocation();
+    }
 }
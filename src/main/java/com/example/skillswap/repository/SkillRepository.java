@@ -1,7 +1,21 @@
 package com.example.skillswap.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import com.example.skillswap.model.Skill;
 
+import java.util.List;
+
 public interface SkillRepository extends JpaRepository<Skill, Long> {
+
+    String CATALOG_REGION = "skillCatalog";
+
+    // Served from the query cache until the skills table changes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CATALOG_REGION)
+    })
+    List<Skill> findAllByOrderBySkillNameAsc();
 }
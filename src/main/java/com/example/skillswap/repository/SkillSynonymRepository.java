@@ -0,0 +1,7 @@
+package com.example.skillswap.repository;
+
+import com.example.skillswap.model.SkillSynonym;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SkillSynonymRepository extends JpaRepository<SkillSynonym, String> {
+}
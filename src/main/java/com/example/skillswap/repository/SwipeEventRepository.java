@@ -0,0 +1,40 @@
+package com.example.skillswap.repository;
+
+import com.example.skillswap.model.SwipeEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface SwipeEventRepository extends JpaRepository<SwipeEvent, Long> {
+
+    // Oldest pending events, locked (FOR UPDATE SKIP LOCKED): events another consumer holds are skipped
+    // rather than waited for, and events still in an uncommitted append are simply not visible yet
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM SwipeEvent e WHERE e.status = 'PENDING' ORDER BY e.eventId ASC")
+    List<SwipeEvent> lockPending(Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM SwipeEvent e WHERE e.eventId = :eventId AND e.status = 'PENDING'")
+    Optional<SwipeEvent> lockPending(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query("UPDATE SwipeEvent e SET e.status = 'APPLIED' WHERE e.eventId IN :eventIds")
+    int markApplied(@Param("eventIds") Collection<Long> eventIds);
+
+    @Modifying
+    @Query("UPDATE SwipeEvent e SET e.status = 'PENDING', e.attempts = 0, e.lastError = NULL WHERE e.eventId >= :fromEventId")
+    int markPendingFrom(@Param("fromEventId") Long fromEventId);
+
+    long countByStatus(String status);
+}
@@ -1,11 +1,42 @@
 package com.example.skillswap.repository;
 
 import com.example.skillswap.model.Swipe;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface SwipeRepository extends JpaRepository<Swipe, Long> {
+    @EntityGraph(attributePaths = {"swiper", "swipee"})
     List<Swipe> findBySwiperUserId(Long swiperId);
     Optional<Swipe> findBySwiperUserIdAndSwipeeUserId(Long swiperId, Long swipeeId);
+    boolean existsBySwiperUserIdAndSwipeeUserIdAndIsLikeTrue(Long swiperId, Long swipeeId);
+
+    // Everyone the user has swiped on or matched with, in one round trip (excluded from recommendations)
+    @Query("SELECT s.swipee.userId FROM Swipe s WHERE s.swiper.userId = :userId " +
+           "UNION SELECT m.user2.userId FROM Match m WHERE m.user1.userId = :userId " +
+           "UNION SELECT m.user1.userId FROM Match m WHERE m.user2.userId = :userId")
+    List<Long> findSwipedOrMatchedUserIds(@Param("userId") Long userId);
+
+    @Query("SELECT s.swipeId AS swipeId, s.swiper.userId AS swiperId, s.swipee.userId AS swipeeId, " +
+           "s.isLike AS isLike, s.swipedAt AS swipedAt " +
+           "FROM Swipe s WHERE s.swipeId > :after ORDER BY s.swipeId")
+    List<SwipeSummary> findSummariesAfter(@Param("after") Long after, Pageable pageable);
+
+    // The swipes after an ID with both users, in ID order: the chunks ListStreamer reads every swipe in
+    @Query("SELECT s FROM Swipe s LEFT JOIN FETCH s.swiper LEFT JOIN FETCH s.swipee " +
+           "WHERE s.swipeId > :after ORDER BY s.swipeId")
+    List<Swipe> findAllAfter(@Param("after") Long after, Pageable pageable);
+
+    interface SwipeSummary {
+        Long getSwipeId();
+        Long getSwiperId();
+        Long getSwipeeId();
+        Boolean getIsLike();
+        LocalDateTime getSwipedAt();
+    }
 }
@@ -1,9 +1,24 @@
 package com.example.skillswap.repository;
 
 import com.example.skillswap.model.UserInterest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface UserInterestRepository extends JpaRepository<UserInterest, Long> {
     List<UserInterest> findByUser_UserId(Long userId);
+
+    @Query("SELECT i.interestId AS interestId, i.user.userId AS userId, i.interestName AS interestName, " +
+           "i.category AS category " +
+           "FROM UserInterest i WHERE i.interestId > :after ORDER BY i.interestId")
+    List<UserInterestSummary> findSummariesAfter(@Param("after") Long after, Pageable pageable);
+
+    interface UserInterestSummary {
+        Long getInterestId();
+        Long getUserId();
+        String getInterestName();
+        String getCategory();
+    }
 }
@@ -1,7 +1,10 @@
 package com.example.skillswap.repository;
 
 import com.example.skillswap.model.UserLanguage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,5 +12,16 @@ import java.util.List;
 @Repository
 public interface UserLanguageRepository extends JpaRepository<UserLanguage, Long> {
     List<UserLanguage> findByUser_UserId(Long userId);
-}
 
+    @Query("SELECT l.languageId AS languageId, l.user.userId AS userId, l.languageName AS languageName, " +
+           "l.proficiencyLevel AS proficiencyLevel " +
+           "FROM UserLanguage l WHERE l.languageId > :after ORDER BY l.languageId")
+    List<UserLanguageSummary> findSummariesAfter(@Param("after") Long after, Pageable pageable);
+
+    interface UserLanguageSummary {
+        Long getLanguageId();
+        Long getUserId();
+        String getLanguageName();
+        String getProficiencyLevel();
+    }
+}
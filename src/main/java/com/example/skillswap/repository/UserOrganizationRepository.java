@@ -1,7 +1,24 @@
 package com.example.skillswap.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.example.skillswap.model.UserOrganization;
+import java.util.List;
 
 public interface UserOrganizationRepository extends JpaRepository<UserOrganization, Long> {
+    List<UserOrganization> findByUser_UserId(Long userId);
+
+    @Query("SELECT o.orgId AS orgId, o.user.userId AS userId, o.organizationName AS organizationName, " +
+           "o.role AS role " +
+           "FROM UserOrganization o WHERE o.orgId > :after ORDER BY o.orgId")
+    List<UserOrganizationSummary> findSummariesAfter(@Param("after") Long after, Pageable pageable);
+
+    interface UserOrganizationSummary {
+        Long getOrgId();
+        Long getUserId();
+        String getOrganizationName();
+        String getRole();
+    }
 }
@@ -1,9 +1,39 @@
 package com.example.skillswap.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.example.skillswap.model.User;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    // Matches the functional unique index idx_users_email_lower (lower(email)); pass a lower-cased email
+    @Query("SELECT u FROM User u WHERE lower(u.email) = :email")
+    Optional<User> findByEmailIgnoreCase(@Param("email") String email);
+
+    @Query("SELECT COUNT(u) > 0 FROM User u WHERE lower(u.email) = :email")
+    boolean existsByEmailIgnoreCase(@Param("email") String email);
+
+    @Query("SELECT COUNT(u) > 0 FROM User u WHERE lower(u.email) = :email AND u.userId <> :userId")
+    boolean existsByEmailIgnoreCaseAndUserIdNot(@Param("email") String email, @Param("userId") Long userId);
+
+    @Query("SELECT u.userId AS userId, u.firstName AS firstName, u.lastName AS lastName, " +
+           "u.university AS university " +
+           "FROM User u WHERE u.userId > :after ORDER BY u.userId")
+    List<UserSummary> findSummariesAfter(@Param("after") Long after, Pageable pageable);
+
+    // The users after an ID, in ID order: the chunks ListStreamer reads every user in
+    @Query("SELECT u FROM User u WHERE u.userId > :after ORDER BY u.userId")
+    List<User> findAllAfter(@Param("after") Long after, Pageable pageable);
+
+    interface UserSummary {
+        Long getUserId();
+        String getFirstName();
+        String getLastName();
+        String getUniversity();
+    }
 }
@@ -1,9 +1,26 @@
 package com.example.skillswap.repository;
 
 import com.example.skillswap.model.UserSkill;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface UserSkillRepository extends JpaRepository<UserSkill, Long> {
     List<UserSkill> findByUserUserId(Long userId);
+
+    @Query("SELECT s.skillId AS skillId, s.user.userId AS userId, s.skillName AS skillName, " +
+           "s.skillLevel AS skillLevel, s.offering AS offering, s.seeking AS seeking " +
+           "FROM UserSkill s WHERE s.skillId > :after ORDER BY s.skillId")
+    List<UserSkillSummary> findSummariesAfter(@Param("after") Long after, Pageable pageable);
+
+    interface UserSkillSummary {
+        Long getSkillId();
+        Long getUserId();
+        String getSkillName();
+        String getSkillLevel();
+        Boolean getOffering();
+        Boolean getSeeking();
+    }
 }
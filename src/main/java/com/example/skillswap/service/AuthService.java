@@ -0,0 +1,47 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.dto.SessionDto;
+import com.example.skillswap.model.User;
+import com.example.skillswap.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Locale;
+import java.util.Optional;
+
+@Service
+public class AuthService {
+
+    private final UserRepository userRepository;
+
+    public AuthService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Check credentials with a single lookup on the lower(email) index.
+     * Returns empty for an unknown email or a wrong password, without saying which.
+     */
+    @Transactional(readOnly = true)
+    public Optional<SessionDto> login(String email, String password) {
+        if (email == null || email.isBlank() || password == null) {
+            return Optional.empty();
+        }
+        return userRepository.findByEmailIgnoreCase(normalizeEmail(email))
+                .filter(user -> passwordMatches(password, user.getPasswordHash()))
+                .map(user -> new SessionDto(user.getUserId(), user.getEmail(),
+                        user.getFirstName(), user.getLastName(), user.getUniversity()));
+    }
+
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Passwords are currently stored as registered (see register.html); compare in constant time
+    private static boolean passwordMatches(String password, String stored) {
+        return stored != null && MessageDigest.isEqual(
+                password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.model.Skill;
+import com.example.skillswap.repository.ProfileRepository;
+import com.example.skillswap.repository.SkillRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Version stamps for conditional GETs on read-mostly resources. A user's profile, skills, interests,
+ * languages, organizations and photos share one stamp, profile.content_version plus profile.updated_at,
+ * which {@link #bump(Long)} advances on every write (through ProfileViewService.evict). The skill
+ * catalogue's stamp is a digest of the catalogue. Stamps are cached, so a request whose If-None-Match
+ * still matches is answered 304 without loading any entity.
+ */
+@Service
+public class ContentVersionService {
+
+    public static final String CACHE_NAME = "contentVersions";
+
+    private static final String CATALOGUE_KEY = "skills";
+
+    private static final String BUMP_SQL =
+            "UPDATE profile SET content_version = content_version + 1, updated_at = CURRENT_TIMESTAMP WHERE user_id = ?";
+    private static final String PROFILE_IDS_SQL = "SELECT profile_id FROM profile WHERE user_id = ?";
+
+    private final ProfileRepository profileRepository;
+    private final SkillRepository skillRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache cache;
+    // Bumps seen by this node; a stamp loaded while one ran may be the old one and is not cached
+    private final AtomicLong bumps = new AtomicLong();
+
+    public ContentVersionService(ProfileRepository profileRepository, SkillRepository skillRepository,
+                                 JdbcTemplate jdbcTemplate, CacheManager cacheManager) {
+        this.profileRepository = profileRepository;
+        this.skillRepository = skillRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CACHE_NAME), "Missing cache " + CACHE_NAME);
+    }
+
+    /**
+     * ETag and Last-Modified (epoch millis, or -1 when there is none) of a resource.
+     */
+    public record Stamp(String etag, long lastModified) implements Serializable {
+    }
+
+    /**
+     * Stamp for everything owned by the profile's user, or null if there is no such profile (not cached).
+     */
+    public Stamp forProfile(Long profileId) {
+        return cached("profile:" + profileId, () -> profileRepository.findContentStampByProfileId(profileId)
+                .map(ContentVersionService::toStamp).orElse(null));
+    }
+
+    /**
+     * Same stamp looked up by user ID, or null if the user has no profile (not cached).
+     */
+    public Stamp forUser(Long userId) {
+        return cached("user:" + userId, () -> profileRepository.findContentStampByUserId(userId)
+                .map(ContentVersionService::toStamp).orElse(null));
+    }
+
+    public Stamp forSkillCatalogue() {
+        return cached(CATALOGUE_KEY, () -> {
+            StringBuilder content = new StringBuilder();
+            for (Skill skill : skillRepository.findAllByOrderBySkillNameAsc()) {
+                content.append(skill.getSkillId()).append('\u0000')
+                        .append(skill.getSkillName()).append('\u0000')
+                        .append(skill.getSkillCategory()).append('\u0000')
+                        .append(skill.getDescription()).append('\n');
+            }
+            String digest = DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+            return new Stamp("W/\"skills-" + digest + "\"", -1);
+        });
+    }
+
+    /**
+     * Advances the user's stamp. Call after the change is committed, so nobody can pair the new stamp
+     * with the old content.
+     */
+    public void bump(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        jdbcTemplate.update(BUMP_SQL, userId);
+        bumps.incrementAndGet();
+        for (Long profileId : jdbcTemplate.queryForList(PROFILE_IDS_SQL, Long.class, userId)) {
+            cache.evict("profile:" + profileId);
+        }
+        cache.evict("user:" + userId);
+    }
+
+    public void evictSkillCatalogue() {
+        bumps.incrementAndGet();
+        cache.evict(CATALOGUE_KEY);
+    }
+
+    /**
+     * Checks If-None-Match / If-Modified-Since against the stamp. True means the 304 has been set up
+     * and the handler should return null; otherwise the stamp's headers go on the 200. No stamp, no
+     * validators: the response is served as before.
+     */
+    public static boolean notModified(WebRequest request, Stamp stamp) {
+        if (stamp == null) {
+            return false;
+        }
+        // Always revalidate rather than let the browser reuse a copy on heuristic freshness
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL,
+                    CacheControl.noCache().getHeaderValue());
+        }
+        return stamp.lastModified() > 0
+                ? request.checkNotModified(stamp.etag(), stamp.lastModified())
+                : request.checkNotModified(stamp.etag());
+    }
+
+    private Stamp cached(String key, Supplier<Stamp> loader) {
+        Cache.ValueWrapper hit = cache.get(key);
+        if (hit != null) {
+            return (Stamp) hit.get();
+        }
+        long bumpsBefore = bumps.get();
+        Stamp stamp = loader.get();
+        if (stamp != null && bumps.get() == bumpsBefore) {
+            cache.put(key, stamp);
+        }
+        return stamp;
+    }
+
+    private static Stamp toStamp(ProfileRepository.ContentStamp row) {
+        long lastModified = row.getUpdatedAt() == null ? -1
+                : row.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new Stamp("W/\"p" + row.getProfileId() + "-" + row.getContentVersion() + "\"", lastModified);
+    }
+}
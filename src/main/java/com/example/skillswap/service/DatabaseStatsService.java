@@ -0,0 +1,68 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.config.ReplicaRoutingDataSource;
+import com.example.skillswap.dto.DatabaseStatsDto;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reports connection pool usage for every Hikari pool in the context (one, or primary and replica
+ * when read/write routing is on) and whether reads are currently going to the replica.
+ */
+@Service
+public class DatabaseStatsService {
+
+    private final List<DataSource> dataSources;
+    private final ObjectProvider<ReplicaRoutingDataSource> routingDataSource;
+
+    public DatabaseStatsService(List<DataSource> dataSources, ObjectProvider<ReplicaRoutingDataSource> routingDataSource) {
+        this.dataSources = dataSources;
+        this.routingDataSource = routingDataSource;
+    }
+
+    public DatabaseStatsDto stats() {
+        DatabaseStatsDto stats = new DatabaseStatsDto();
+        ReplicaRoutingDataSource routing = routingDataSource.getIfAvailable();
+        if (routing != null) {
+            stats.setReplicaEnabled(true);
+            stats.setReplicaInUse(routing.isReplicaUsable());
+            stats.setReplicaLagSeconds(routing.getReplicaLagSeconds());
+        }
+        // The "dataSource" bean is a statement-monitoring proxy; the routing one unwraps to a pool already listed
+        Set<HikariDataSource> pools = new LinkedHashSet<>();
+        for (DataSource dataSource : dataSources) {
+            HikariDataSource pool = unwrapPool(dataSource);
+            if (pool != null) {
+                pools.add(pool);
+            }
+        }
+        pools.forEach(pool -> stats.getPools().add(toPool(pool)));
+        return stats;
+    }
+
+    private static HikariDataSource unwrapPool(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private DatabaseStatsDto.Pool toPool(HikariDataSource pool) {
+        // Null until the pool has handed out its first connection
+        HikariPoolMXBean mx = pool.getHikariPoolMXBean();
+        if (mx == null) {
+            return new DatabaseStatsDto.Pool(pool.getPoolName(), 0, 0, 0, pool.getMaximumPoolSize(), 0);
+        }
+        return new DatabaseStatsDto.Pool(pool.getPoolName(), mx.getActiveConnections(), mx.getIdleConnections(),
+                mx.getTotalConnections(), pool.getMaximumPoolSize(), mx.getThreadsAwaitingConnection());
+    }
+}
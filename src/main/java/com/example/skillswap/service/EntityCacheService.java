@@ -0,0 +1,140 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.dto.CacheRegionStatsDto;
+import com.example.skillswap.model.Skill;
+import com.example.skillswap.repository.SkillRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Eviction and statistics for the Hibernate second-level cache (Skill, User, Profile and the skill
+ * catalogue query) and the Spring caches. Writes through JPA keep the second-level cache in step on
+ * their own; eviction here covers the catalogue and rows changed outside the app (e.g. psql imports).
+ * Each region's hit ratio is also published as the skillswap.cache.hit.ratio gauge (tags cache, layer).
+ */
+@Service
+public class EntityCacheService implements MeterBinder {
+
+    private final SessionFactory sessionFactory;
+    private final CacheManager cacheManager;
+
+    public EntityCacheService(EntityManagerFactory entityManagerFactory, CacheManager cacheManager) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Drops a skill and the cached catalogue query after the skill was added, changed or deleted.
+     */
+    public void evictSkill(Long skillId) {
+        org.hibernate.Cache cache = sessionFactory.getCache();
+        if (skillId != null) {
+            cache.evictEntityData(Skill.class, skillId);
+        }
+        cache.evictQueryRegion(SkillRepository.CATALOG_REGION);
+    }
+
+    /**
+     * Empties every second-level, query and Spring cache region.
+     */
+    public void evictAll() {
+        org.hibernate.Cache cache = sessionFactory.getCache();
+        cache.evictAllRegions();
+        cache.evictQueryRegions();
+        cache.evictDefaultQueryRegion();
+        for (String name : cacheManager.getCacheNames()) {
+            org.springframework.cache.Cache springCache = cacheManager.getCache(name);
+            if (springCache != null) {
+                springCache.clear();
+            }
+        }
+    }
+
+    /**
+     * Per-region hit/miss/put counters; hit ratios come out of {@link CacheRegionStatsDto#getHitRatio()}.
+     */
+    public List<CacheRegionStatsDto> regionStats() {
+        List<CacheRegionStatsDto> result = new ArrayList<>();
+
+        Statistics statistics = sessionFactory.getStatistics();
+        if (statistics.isStatisticsEnabled()) {
+            String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+            Arrays.sort(regionNames);
+            for (String region : regionNames) {
+                CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+                if (stats != null) {
+                    long size = stats.getElementCountInMemory();
+                    result.add(new CacheRegionStatsDto(region, "hibernate", stats.getHitCount(), stats.getMissCount(),
+                            stats.getPutCount(), size == CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN ? -1 : size));
+                }
+            }
+        }
+
+        for (String name : cacheManager.getCacheNames()) {
+            org.springframework.cache.Cache springCache = cacheManager.getCache(name);
+            if (springCache != null
+                    && springCache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                // Counters stay at zero unless the spec has recordStats; Caffeine does not count plain puts
+                var stats = caffeine.stats();
+                result.add(new CacheRegionStatsDto(name, "spring", stats.hitCount(), stats.missCount(),
+                        -1, caffeine.estimatedSize()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = sessionFactory.getStatistics();
+        if (statistics.isStatisticsEnabled()) {
+            // Query regions are created on first use, so the catalogue region may not be listed yet
+            Set<String> regions = new TreeSet<>(Arrays.asList(statistics.getSecondLevelCacheRegionNames()));
+            regions.add(SkillRepository.CATALOG_REGION);
+            for (String region : regions) {
+                Gauge.builder("skillswap.cache.hit.ratio", statistics, s -> hibernateHitRatio(s, region))
+                        .description("Share of cache lookups that were hits (NaN before the first lookup)")
+                        .tags("cache", region, "layer", "hibernate")
+                        .register(registry);
+            }
+        }
+        for (String name : cacheManager.getCacheNames()) {
+            Gauge.builder("skillswap.cache.hit.ratio", cacheManager, manager -> springHitRatio(manager, name))
+                    .description("Share of cache lookups that were hits (NaN before the first lookup)")
+                    .tags("cache", name, "layer", "spring")
+                    .register(registry);
+        }
+    }
+
+    private static double hibernateHitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+        return stats == null ? Double.NaN : ratio(stats.getHitCount(), stats.getMissCount());
+    }
+
+    private static double springHitRatio(CacheManager cacheManager, String name) {
+        org.springframework.cache.Cache springCache = cacheManager.getCache(name);
+        if (springCache != null
+                && springCache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            var stats = caffeine.stats();
+            return ratio(stats.hitCount(), stats.missCount());
+        }
+        return Double.NaN;
+    }
+
+    private static double ratio(long hits, long misses) {
+        long lookups = hits + misses;
+        return lookups == 0 ? Double.NaN : (double) hits / lookups;
+    }
+}
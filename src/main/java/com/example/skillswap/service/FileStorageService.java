@@ -1,29 +1,57 @@
 package com.example.skillswap.service;
 
+import com.example.skillswap.service.storage.StorageBackend;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
 
 @Service
 public class FileStorageService {
 
-    private final Path uploadDir;
+    // Stored names are "<sha-256 hex><.ext>", so the name alone identifies the bytes
+    private static final Pattern CONTENT_HASHED_NAME = Pattern.compile("^[0-9a-f]{64}(\\.[a-z0-9]{1,10})?$");
 
-    public FileStorageService(@Value("${skillswap.upload.dir:uploads}") String uploadDir) throws IOException {
-        this.uploadDir = Paths.get(uploadDir).toAbsolutePath().normalize();
-        Files.createDirectories(this.uploadDir);
+    private final Path stagingDir;
+    private final StorageBackend backend;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary uploadSize;
+
+    public FileStorageService(@Value("${skillswap.upload.dir:uploads}") String uploadDir,
+                              StorageBackend backend,
+                              MeterRegistry meterRegistry) throws IOException {
+        this.stagingDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.backend = backend;
+        this.meterRegistry = meterRegistry;
+        this.uploadSize = DistributionSummary.builder("skillswap.uploads.size")
+                .baseUnit("bytes")
+                .maximumExpectedValue(20.0 * 1024 * 1024)
+                .register(meterRegistry);
+        Files.createDirectories(this.stagingDir);
     }
 
     /**
-     * Store a file on the local filesystem and return the public URL path.
+     * Store a file in the configured storage backend and return the public URL path.
+     * The file is named after the SHA-256 of its content, so the URL is immutable
+     * and identical uploads share one object.
      */
     public String store(MultipartFile file) throws IOException {
         if (file == null || file.isEmpty()) {
@@ -34,14 +62,77 @@ public class FileStorageService {
         String extension = "";
         int dot = originalName.lastIndexOf('.');
         if (dot > -1 && dot < originalName.length() - 1) {
-            extension = originalName.substring(dot);
+            extension = originalName.substring(dot).toLowerCase(Locale.ROOT);
         }
 
-        String storedName = UUID.randomUUID().toString() + extension;
-        Path target = uploadDir.resolve(storedName);
-        Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
+        // Timed as skillswap.uploads.store{outcome=stored|deduplicated|error}
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+
+        // Stage locally first: the key is only known once the whole body has been hashed
+        Path temp = Files.createTempFile(stagingDir, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String storedName = hash + extension;
+            if (!CONTENT_HASHED_NAME.matcher(storedName).matches()) {
+                // Odd extensions would break the immutable-URL contract; keep the bare hash
+                storedName = hash;
+            }
+
+            if (!backend.exists(storedName)) {
+                backend.put(storedName, temp, file.getContentType());
+                outcome = "stored";
+            } else {
+                outcome = "deduplicated";
+            }
+            uploadSize.record(file.getSize());
+
+            // Exposed via UploadController (/uploads/**)
+            return "/uploads/" + storedName;
+        } finally {
+            Files.deleteIfExists(temp);
+            sample.stop(Timer.builder("skillswap.uploads.store")
+                    .description("Hashing and writing an upload to the storage backend")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Resolve a stored file name to a readable file on this node, when the backend keeps files locally.
+     * Returns null for names that escape the upload directory or do not exist.
+     */
+    public Path resolve(String storedName) {
+        return backend.localFile(storedName).orElse(null);
+    }
 
-        // Exposed via /uploads/** mapping
-        return "/uploads/" + storedName;
+    /**
+     * A direct, time-limited download URL for backends that serve objects themselves (e.g. S3).
+     */
+    public Optional<URI> presignedUrl(String storedName) {
+        if (!isContentHashed(storedName)) {
+            return Optional.empty();
+        }
+        return backend.presignedUrl(storedName);
+    }
+
+    /**
+     * True when the name was produced by {@link #store}, i.e. its content can never change.
+     */
+    public boolean isContentHashed(String storedName) {
+        return storedName != null && CONTENT_HASHED_NAME.matcher(storedName).matches();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -1,10 +1,16 @@
 package com.example.skillswap.service;
 
+import com.example.skillswap.config.Bulkhead;
+import com.example.skillswap.config.BulkheadFullException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.RestClientException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,21 +23,29 @@ import java.util.List;
 public class GeolocationService {
 
     private static final Logger logger = LoggerFactory.getLogger(GeolocationService.class);
+    public static final String GEOCODE_CACHE = "geocodes";
     private static final String NOMINATIM_BASE_URL = "https://nominatim.openstreetmap.org/search";
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Bulkhead bulkhead;
 
-    public GeolocationService() {
+    public GeolocationService(MeterRegistry meterRegistry, @Qualifier("geocoderBulkhead") Bulkhead bulkhead) {
         this.restTemplate = new RestTemplate();
         this.objectMapper = new ObjectMapper();
+        this.meterRegistry = meterRegistry;
+        this.bulkhead = bulkhead;
     }
 
     /**
      * Geocode a city name or address to latitude and longitude coordinates
      * Handles "City, State" format for better accuracy
+     * Successful lookups are cached by normalized name, so repeated cities skip Nominatim
      * @param cityName The city name or address to geocode (e.g., "Atlanta, GA" or "New York, NY")
      * @return Map containing "latitude" and "longitude" keys, or null if geocoding fails
      */
+    @Cacheable(cacheNames = GEOCODE_CACHE, key = "#cityName.trim().toLowerCase()",
+            condition = "#cityName != null && !#cityName.isBlank()", unless = "#result == null")
     public Map<String, Double> geocodeCity(String cityName) {
         if (cityName == null || cityName.trim().isEmpty()) {
             return null;
@@ -60,6 +74,10 @@ public class GeolocationService {
             logger.warn("All geocoding attempts failed for: {}", trimmedCity);
             return null;
 
+        } catch (BulkheadFullException e) {
+            // Too many lookups in flight already; skip the remaining query formats too
+            logger.warn("Geocoding skipped for '{}': {}", trimmedCity, e.getMessage());
+            return null;
         } catch (Exception e) {
             logger.error("Unexpected error geocoding city: {}", trimmedCity, e);
             return null;
@@ -77,13 +95,7 @@ public class GeolocationService {
             String url = String.format("%s?q=%s&format=json&limit=5&addressdetails=1&countrycodes=us", 
                 NOMINATIM_BASE_URL, encodedQuery);
 
-            // Add User-Agent header (required by Nominatim)
-            org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
-            headers.set("User-Agent", "SkillSwap/1.0");
-            org.springframework.http.HttpEntity<String> entity = new org.springframework.http.HttpEntity<>(headers);
-
-            // Make the request
-            String response = restTemplate.exchange(url, org.springframework.http.HttpMethod.GET, entity, String.class).getBody();
+            String response = callNominatim(url, "search");
 
             if (response == null || response.trim().isEmpty() || response.equals("[]")) {
                 return null;
@@ -113,17 +125,48 @@ public class GeolocationService {
         } catch (RestClientException e) {
             logger.debug("Geocoding attempt failed for query '{}': {}", query, e.getMessage());
             return null;
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             logger.debug("Error in geocoding attempt for query '{}': {}", query, e.getMessage());
             return null;
         }
     }
 
+    /**
+     * GET a Nominatim URL, timed as skillswap.geocoding.requests{operation, outcome}.
+     * Concurrent calls are capped by the geocoder bulkhead (Nominatim's usage policy is strict).
+     */
+    private String callNominatim(String url, String operation) {
+        return bulkhead.call(() -> exchange(url, operation));
+    }
+
+    private String exchange(String url, String operation) {
+        // Add User-Agent header (required by Nominatim)
+        org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
+        headers.set("User-Agent", "SkillSwap/1.0");
+        org.springframework.http.HttpEntity<String> entity = new org.springframework.http.HttpEntity<>(headers);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            String response = restTemplate.exchange(url, org.springframework.http.HttpMethod.GET, entity, String.class).getBody();
+            outcome = response == null || response.isBlank() || response.trim().equals("[]") ? "empty" : "success";
+            return response;
+        } finally {
+            sample.stop(Timer.builder("skillswap.geocoding.requests")
+                    .description("Remote Nominatim calls")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
     /**
      * Find the best matching result from geocoding results
      * Prioritizes city matches and US locations
      */
-    private JsonNode findBestMatch(JsonNode results, String originalCity) {
+    JsonNode findBestMatch(JsonNode results, String originalCity) {
         if (!results.isArray() || results.size() == 0) {
             return null;
         }
@@ -259,13 +302,7 @@ public class GeolocationService {
             String url = String.format("%s?q=%s&format=json&limit=8&addressdetails=1&countrycodes=us&featuretype=city,town", 
                 NOMINATIM_BASE_URL, encodedQuery);
 
-            // Add User-Agent header (required by Nominatim)
-            org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
-            headers.set("User-Agent", "SkillSwap/1.0");
-            org.springframework.http.HttpEntity<String> entity = new org.springframework.http.HttpEntity<>(headers);
-
-            // Make the request
-            String response = restTemplate.exchange(url, org.springframework.http.HttpMethod.GET, entity, String.class).getBody();
+            String response = callNominatim(url, "suggest");
 
             if (response == null || response.trim().isEmpty() || response.equals("[]")) {
                 return suggestions;
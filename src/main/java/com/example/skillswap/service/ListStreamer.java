@@ -0,0 +1,112 @@
+package com.example.skillswap.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Writes "list everything" responses row by row instead of building the whole List and then the whole
+ * JSON document in memory. Rows are read in keyset chunks (id > the last one written), each in its own
+ * short read-only transaction, and serialized through a {@code @JsonView} once it has committed: a slow
+ * client holds no connection or JDBC bulkhead permit while the response is written, and memory stays
+ * flat however large the table is. Answers in CBOR when the client asks for application/cbor, JSON
+ * otherwise.
+ */
+@Service
+public class ListStreamer {
+
+    private static final int CHUNK = 500;
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ListStreamer(ObjectMapper objectMapper, MappingJackson2CborHttpMessageConverter cborConverter,
+                        PlatformTransactionManager transactionManager, EntityManagerFactory entityManagerFactory) {
+        this.jsonMapper = objectMapper;
+        this.cborMapper = cborConverter.getObjectMapper();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Streams every row the query returns, where query(after, chunk) is a keyset query over the rows with
+     * an ID above after, in ID order, and idOf reads that ID back. The rows must be complete once
+     * detached: associations the view writes have to be fetched by the query.
+     */
+    public <T> ResponseEntity<StreamingResponseBody> stream(String accept, Class<?> view, Function<T, Long> idOf,
+                                                            BiFunction<Long, Pageable, List<T>> query) {
+        boolean cbor = wantsCbor(accept);
+        ObjectWriter writer = (cbor ? cborMapper : jsonMapper).writerWithView(view)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        StreamingResponseBody body = out -> {
+            // The request's open-in-view entity manager would hold its connection from the first chunk to
+            // the end of the response; with it set aside, each chunk gets its own and releases it
+            Object requestEntityManager =
+                    TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+            try (SequenceWriter array = writer.writeValuesAsArray(out)) {
+                Pageable chunk = PageRequest.of(0, CHUNK);
+                long after = 0;
+                List<T> rows;
+                do {
+                    long from = after;
+                    rows = readOnlyTransaction.execute(status -> query.apply(from, chunk));
+                    for (T row : rows) {
+                        array.write(row);
+                    }
+                    if (!rows.isEmpty()) {
+                        after = idOf.apply(rows.get(rows.size() - 1));
+                    }
+                } while (rows.size() == CHUNK);
+            } finally {
+                if (requestEntityManager != null) {
+                    TransactionSynchronizationManager.bindResource(entityManagerFactory, requestEntityManager);
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(cbor ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    // CBOR only when application/cbor is listed before application/json; */* and browsers keep getting JSON
+    private static boolean wantsCbor(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        List<MediaType> types;
+        try {
+            types = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        for (MediaType type : types) {
+            if (type.equalsTypeAndSubtype(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+            if (type.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
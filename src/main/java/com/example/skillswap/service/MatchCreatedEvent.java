@@ -0,0 +1,32 @@
+package com.example.skillswap.service;
+
+/**
+ * Published by SwipeService whenever a swipe completes a mutual like.
+ * It may be published inside a transaction, so listeners that notify users should use
+ * {@code @TransactionalEventListener(fallbackExecution = true)} to run only after commit.
+ */
+public class MatchCreatedEvent {
+
+    private final Long matchId;
+    private final Long user1Id;
+    private final Long user2Id;
+
+    public MatchCreatedEvent(Long matchId, Long user1Id, Long user2Id) {
+        this.matchId = matchId;
+        this.user1Id = user1Id;
+        this.user2Id = user2Id;
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    /** The user whose like completed the match. */
+    public Long getUser1Id() {
+        return user1Id;
+    }
+
+    public Long getUser2Id() {
+        return user2Id;
+    }
+}
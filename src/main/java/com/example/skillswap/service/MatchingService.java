@@ -1,16 +1,22 @@
 package com.example.skillswap.service;
 
+import com.example.skillswap.config.ReplicaRoutingDataSource;
 import com.example.skillswap.dto.MatchRecommendationDto;
 import com.example.skillswap.model.Profile;
 import com.example.skillswap.model.User;
 import com.example.skillswap.model.UserInterest;
 import com.example.skillswap.model.UserSkill;
-import com.example.skillswap.repository.MatchRepository;
 import com.example.skillswap.repository.ProfileRepository;
 import com.example.skillswap.repository.SwipeRepository;
 import com.example.skillswap.repository.UserInterestRepository;
 import com.example.skillswap.repository.UserRepository;
 import com.example.skillswap.repository.UserSkillRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,42 +26,123 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
 public class MatchingService {
 
+    public static final String RECOMMENDATIONS_CACHE = "recommendations";
+
+    // Ranked list kept per user; requests take a prefix of it
+    private static final int MAX_RECOMMENDATIONS = 50;
+
     private final UserRepository userRepository;
-    private final MatchRepository matchRepository;
     private final SwipeRepository swipeRepository;
     private final ProfileRepository profileRepository;
     private final UserSkillRepository userSkillRepository;
     private final UserInterestRepository userInterestRepository;
+    private final Cache recommendationCache;
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRouting;
+
+    // skillswap.recommendations{cache=hit|miss}, and per phase of a miss
+    private final Timer cacheHitTimer;
+    private final Timer cacheMissTimer;
+    private final Timer fetchTimer;
+    private final Timer exclusionTimer;
+    private final Timer scoringTimer;
+    private final Timer sortingTimer;
+    private final DistributionSummary candidateCount;
 
     public MatchingService(UserRepository userRepository,
-                           MatchRepository matchRepository,
                            SwipeRepository swipeRepository,
                            ProfileRepository profileRepository,
                            UserSkillRepository userSkillRepository,
-                           UserInterestRepository userInterestRepository) {
+                           UserInterestRepository userInterestRepository,
+                           CacheManager cacheManager,
+                           ObjectProvider<ReplicaRoutingDataSource> replicaRouting,
+                           MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
-        this.matchRepository = matchRepository;
         this.swipeRepository = swipeRepository;
         this.profileRepository = profileRepository;
         this.userSkillRepository = userSkillRepository;
         this.userInterestRepository = userInterestRepository;
+        this.recommendationCache = Objects.requireNonNull(cacheManager.getCache(RECOMMENDATIONS_CACHE),
+                "Missing cache " + RECOMMENDATIONS_CACHE);
+        this.replicaRouting = replicaRouting;
+
+        this.cacheHitTimer = recommendationTimer(meterRegistry, "hit");
+        this.cacheMissTimer = recommendationTimer(meterRegistry, "miss");
+        this.fetchTimer = phaseTimer(meterRegistry, "fetch");
+        this.exclusionTimer = phaseTimer(meterRegistry, "exclusion");
+        this.scoringTimer = phaseTimer(meterRegistry, "scoring");
+        this.sortingTimer = phaseTimer(meterRegistry, "sorting");
+        this.candidateCount = DistributionSummary.builder("skillswap.recommendations.candidates")
+                .description("Candidates scored per ranking, after exclusions")
+                .maximumExpectedValue(2_000_000.0)
+                .register(meterRegistry);
+    }
+
+    private static Timer recommendationTimer(MeterRegistry registry, String cache) {
+        return Timer.builder("skillswap.recommendations")
+                .description("recommendMatches calls, by whether the ranking came from cache")
+                .tag("cache", cache)
+                .register(registry);
+    }
+
+    private static Timer phaseTimer(MeterRegistry registry, String phase) {
+        return Timer.builder("skillswap.recommendations.phase")
+                .description("Time spent in each phase of ranking a user's candidates")
+                .tag("phase", phase)
+                .register(registry);
     }
 
     /**
      * Recommend users for a given user, sorted by compatibility score.
+     * The ranking is cached per user until they swipe or edit their profile (or the entry expires).
+     * Right after the user's own write it is ranked from the primary, as the replica could still be
+     * missing that write; otherwise from the replica.
      */
     @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
     public List<MatchRecommendationDto> recommendMatches(Long userId, int limit) {
-        User currentUser = userRepository.findById(userId)
+        long started = System.nanoTime();
+        List<MatchRecommendationDto> ranked;
+        Cache.ValueWrapper cached = recommendationCache.get(userId);
+        if (cached != null) {
+            ranked = (List<MatchRecommendationDto>) cached.get();
+            cacheHitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        } else {
+            ReplicaRoutingDataSource routing = replicaRouting.getIfAvailable();
+            ranked = routing != null
+                    ? routing.readPinned(userId, () -> rankCandidates(userId))
+                    : rankCandidates(userId);
+            recommendationCache.put(userId, ranked);
+            cacheMissTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        int size = Math.min(Math.max(limit, 1), MAX_RECOMMENDATIONS);
+        return new ArrayList<>(ranked.subList(0, Math.min(size, ranked.size())));
+    }
+
+    public void evictRecommendations(Long userId) {
+        if (userId != null) {
+            recommendationCache.evict(userId);
+            replicaRouting.ifAvailable(routing -> routing.pinToPrimary(userId));
+        }
+    }
+
+    private List<MatchRecommendationDto> rankCandidates(Long userId) {
+        Timer.Sample fetch = Timer.start();
+        // Users go first so each profile's eager user resolves from the persistence context; with the
+        // exclusion query that keeps a ranking at five queries however many users there are
+        List<User> candidates = userRepository.findAll();
+        User currentUser = candidates.stream()
+                .filter(u -> userId.equals(u.getUserId()))
+                .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
-        Profile currentProfile = profileRepository.findByUserUserId(userId);
 
         Map<Long, Profile> profilesByUser = profileRepository.findAll().stream()
                 .filter(p -> p.getUser() != null && p.getUser().getUserId() != null)
@@ -68,14 +155,34 @@ public class MatchingService {
         Map<Long, List<UserInterest>> interestsByUser = userInterestRepository.findAll().stream()
                 .filter(i -> i.getUser() != null && i.getUser().getUserId() != null)
                 .collect(Collectors.groupingBy(i -> i.getUser().getUserId()));
+        fetch.stop(fetchTimer);
 
-        Set<Long> excluded = buildExcludedUserIds(userId);
+        Set<Long> excluded = exclusionTimer.record(() -> buildExcludedUserIds(userId));
 
+        return rankPopulation(currentUser, profilesByUser.get(userId), candidates, excluded,
+                profilesByUser, skillsByUser, interestsByUser);
+    }
+
+    /**
+     * Scores every candidate against the current user and keeps the best MAX_RECOMMENDATIONS.
+     * Pure in-memory work, separate from the loading above so benchmarks (src/perf) can drive it
+     * with synthetic populations.
+     */
+    List<MatchRecommendationDto> rankPopulation(User currentUser,
+                                                Profile currentProfile,
+                                                List<User> candidates,
+                                                Set<Long> excluded,
+                                                Map<Long, Profile> profilesByUser,
+                                                Map<Long, List<UserSkill>> skillsByUser,
+                                                Map<Long, List<UserInterest>> interestsByUser) {
+        Timer.Sample scoring = Timer.start();
         List<MatchRecommendationDto> results = new ArrayList<>();
-        for (User candidate : userRepository.findAll()) {
+        int scored = 0;
+        for (User candidate : candidates) {
             if (candidate.getUserId() == null || excluded.contains(candidate.getUserId())) {
                 continue;
             }
+            scored++;
 
             MatchRecommendationDto dto = buildRecommendation(
                     currentUser,
@@ -89,43 +196,27 @@ public class MatchingService {
                 results.add(dto);
             }
         }
+        scoring.stop(scoringTimer);
+        candidateCount.record(scored);
 
-        return results.stream()
+        return sortingTimer.record(() -> results.stream()
                 .sorted(Comparator.comparingDouble(MatchRecommendationDto::getCompatibilityScore).reversed())
-                .limit(Math.min(Math.max(limit, 1), 50))
-                .collect(Collectors.toList());
+                .limit(MAX_RECOMMENDATIONS)
+                .collect(Collectors.toList()));
     }
 
     private Set<Long> buildExcludedUserIds(Long userId) {
-        Set<Long> excluded = new HashSet<>();
+        Set<Long> excluded = new HashSet<>(swipeRepository.findSwipedOrMatchedUserIds(userId));
         excluded.add(userId);
-
-        swipeRepository.findBySwiperUserId(userId).forEach(swipe -> {
-            if (swipe.getSwipee() != null && swipe.getSwipee().getUserId() != null) {
-                excluded.add(swipe.getSwipee().getUserId());
-            }
-        });
-
-        matchRepository.findAll().forEach(match -> {
-            if (match.getUser1() != null && userId.equals(match.getUser1().getUserId())
-                    && match.getUser2() != null && match.getUser2().getUserId() != null) {
-                excluded.add(match.getUser2().getUserId());
-            }
-            if (match.getUser2() != null && userId.equals(match.getUser2().getUserId())
-                    && match.getUser1() != null && match.getUser1().getUserId() != null) {
-                excluded.add(match.getUser1().getUserId());
-            }
-        });
-
         return excluded;
     }
 
-    private MatchRecommendationDto buildRecommendation(User currentUser,
-                                                       Profile currentProfile,
-                                                       User candidate,
-                                                       Profile candidateProfile,
-                                                       Map<Long, List<UserSkill>> skillsByUser,
-                                                       Map<Long, List<UserInterest>> interestsByUser) {
+    MatchRecommendationDto buildRecommendation(User currentUser,
+                                               Profile currentProfile,
+                                               User candidate,
+                                               Profile candidateProfile,
+                                               Map<Long, List<UserSkill>> skillsByUser,
+                                               Map<Long, List<UserInterest>> interestsByUser) {
         List<String> sharedInterests = computeSharedInterests(
                 interestsByUser.get(currentUser.getUserId()),
                 interestsByUser.get(candidate.getUserId()));
@@ -190,7 +281,7 @@ public class MatchingService {
         return dto;
     }
 
-    private List<String> computeSharedInterests(List<UserInterest> current, List<UserInterest> candidate) {
+    List<String> computeSharedInterests(List<UserInterest> current, List<UserInterest> candidate) {
         if (current == null || candidate == null) {
             return List.of();
         }
@@ -209,24 +300,24 @@ public class MatchingService {
                 .collect(Collectors.toList());
     }
 
-    private List<String> computeComplementarySkills(List<UserSkill> current, List<UserSkill> candidate) {
+    List<String> computeComplementarySkills(List<UserSkill> current, List<UserSkill> candidate) {
         if (current == null || candidate == null) {
             return List.of();
         }
 
-        Map<String, Boolean> currentOffering = buildSkillMap(current, true);
-        Map<String, Boolean> currentSeeking = buildSkillMap(current, false);
-        Map<String, Boolean> candidateOffering = buildSkillMap(candidate, true);
-        Map<String, Boolean> candidateSeeking = buildSkillMap(candidate, false);
+        Map<Object, String> currentOffering = buildSkillMap(current, true);
+        Map<Object, String> currentSeeking = buildSkillMap(current, false);
+        Map<Object, String> candidateOffering = buildSkillMap(candidate, true);
+        Map<Object, String> candidateSeeking = buildSkillMap(candidate, false);
 
         Set<String> matches = new HashSet<>();
-        candidateOffering.forEach((skill, offers) -> {
-            if (offers && currentSeeking.getOrDefault(skill, false)) {
+        candidateOffering.forEach((key, skill) -> {
+            if (currentSeeking.containsKey(key)) {
                 matches.add(skill + " (they offer)");
             }
         });
-        candidateSeeking.forEach((skill, wants) -> {
-            if (wants && currentOffering.getOrDefault(skill, false)) {
+        candidateSeeking.forEach((key, skill) -> {
+            if (currentOffering.containsKey(key)) {
                 matches.add(skill + " (they need)");
             }
         });
@@ -234,15 +325,17 @@ public class MatchingService {
         return new ArrayList<>(matches);
     }
 
-    private Map<String, Boolean> buildSkillMap(List<UserSkill> skills, boolean offering) {
-        Map<String, Boolean> map = new HashMap<>();
+    // Lower-cased names keyed by catalogue skill ID, so "Java 17" meets "java"; by name when unresolved
+    private Map<Object, String> buildSkillMap(List<UserSkill> skills, boolean offering) {
+        Map<Object, String> map = new HashMap<>();
         for (UserSkill skill : skills) {
             if (!hasValue(skill.getSkillName())) {
                 continue;
             }
             boolean flag = offering ? Boolean.TRUE.equals(skill.getOffering()) : Boolean.TRUE.equals(skill.getSeeking());
             if (flag) {
-                map.put(skill.getSkillName().toLowerCase(), true);
+                String name = skill.getSkillName().toLowerCase();
+                map.putIfAbsent(skill.getCanonicalSkillId() != null ? skill.getCanonicalSkillId() : name, name);
             }
         }
         return map;
@@ -269,7 +362,7 @@ public class MatchingService {
         return null;
     }
 
-    private double calculateDistanceKm(double lat1, double lon1, double lat2, double lon2) {
+    double calculateDistanceKm(double lat1, double lon1, double lat2, double lon2) {
         final int EARTH_RADIUS_KM = 6371;
         double latDistance = Math.toRadians(lat2 - lat1);
         double lonDistance = Math.toRadians(lon2 - lon1);
@@ -0,0 +1,35 @@
+package com.example.skillswap.service;
+
+/**
+ * Published by MessageController after a message is saved; the recipient is the other user of the match.
+ */
+public class MessageSentEvent {
+
+    private final Long messageId;
+    private final Long matchId;
+    private final Long senderId;
+    private final Long recipientId;
+
+    public MessageSentEvent(Long messageId, Long matchId, Long senderId, Long recipientId) {
+        this.messageId = messageId;
+        this.matchId = matchId;
+        this.senderId = senderId;
+        this.recipientId = recipientId;
+    }
+
+    public Long getMessageId() {
+        return messageId;
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public Long getSenderId() {
+        return senderId;
+    }
+
+    public Long getRecipientId() {
+        return recipientId;
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.dto.NotificationDto;
+import com.example.skillswap.repository.MatchRepository;
+import com.example.skillswap.repository.MessageRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Per-user server-sent event streams for new matches and messages. An open stream is an async request
+ * with no thread behind it, so a node can hold thousands; a heartbeat comment keeps proxies from closing
+ * idle ones. Every event's id is the pair of cursors "lastMatchId.lastMessageId", which the browser sends
+ * back as Last-Event-ID when it reconnects; whatever the user missed in between is replayed from the
+ * database, so streams survive timeouts, restarts and moving to another node.
+ */
+@Service
+public class NotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+
+    private static final long RECONNECT_DELAY_MS = 3000;
+
+    private final MatchRepository matchRepository;
+    private final MessageRepository messageRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long timeoutMs;
+    private final int maxPerUser;
+    private final int replayLimit;
+    private final Map<Long, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+    // Hands notifications to the other nodes (RedisNotificationRelay); a no-op on a single node
+    private volatile Consumer<NotificationDto> relay = notification -> { };
+
+    public NotificationService(MatchRepository matchRepository,
+                               MessageRepository messageRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${skillswap.notifications.timeout:30m}") Duration timeout,
+                               @Value("${skillswap.notifications.max-per-user:5}") int maxPerUser,
+                               @Value("${skillswap.notifications.replay-limit:100}") int replayLimit) {
+        this.matchRepository = matchRepository;
+        this.messageRepository = messageRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.timeoutMs = timeout.toMillis();
+        this.maxPerUser = maxPerUser;
+        this.replayLimit = replayLimit;
+        Gauge.builder("skillswap.notifications.streams", openStreams, AtomicInteger::get)
+                .description("Open notification streams on this node")
+                .register(meterRegistry);
+    }
+
+    public void setRelay(Consumer<NotificationDto> relay) {
+        this.relay = relay;
+    }
+
+    /**
+     * Opens a stream for the user. Without a Last-Event-ID it starts from now ("ready"); with one, matches
+     * and messages after its cursors are sent first, or "resync" if more than replay-limit were missed.
+     * The lookups share one short transaction, so the open stream holds no connection.
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        Subscription subscription = new Subscription(userId, new SseEmitter(timeoutMs));
+        SseEmitter emitter = subscription.emitter;
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(subscription));
+
+        // Live notifications for this subscription wait on its lock until the replay has been sent. A
+        // ReentrantLock rather than synchronized, so a virtual thread blocked on the queries or on the
+        // lock does not pin its carrier thread
+        subscription.lock.lock();
+        try {
+            add(subscription);
+            long[] cursors = parseCursors(lastEventId);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                if (cursors == null) {
+                    subscription.matchCursor = matchRepository.findMaxMatchId();
+                    subscription.messageCursor = messageRepository.findMaxMessageId();
+                    send(subscription, SseEmitter.event().name("ready").id(subscription.eventId())
+                            .reconnectTime(RECONNECT_DELAY_MS).data("{}"));
+                } else {
+                    subscription.matchCursor = cursors[0];
+                    subscription.messageCursor = cursors[1];
+                    replay(subscription);
+                }
+            });
+            subscription.matchFloor = subscription.matchCursor;
+            subscription.messageFloor = subscription.messageCursor;
+        } finally {
+            subscription.lock.unlock();
+        }
+        return emitter;
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMatchCreated(MatchCreatedEvent event) {
+        publish(NotificationDto.match(event.getUser1Id(), event.getMatchId(), event.getUser2Id()));
+        publish(NotificationDto.match(event.getUser2Id(), event.getMatchId(), event.getUser1Id()));
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageSent(MessageSentEvent event) {
+        publish(NotificationDto.message(event.getRecipientId(), event.getMatchId(), event.getMessageId(),
+                event.getSenderId()));
+    }
+
+    /**
+     * Sends the notification to the user's streams on this node. Called for local events and for
+     * notifications relayed from other nodes.
+     */
+    public void deliver(NotificationDto notification) {
+        List<Subscription> userSubscriptions = subscriptions.get(notification.getUserId());
+        if (userSubscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : userSubscriptions) {
+            subscription.lock.lock();
+            try {
+                sendNotification(subscription, notification);
+            } finally {
+                subscription.lock.unlock();
+            }
+        }
+    }
+
+    // Comment lines are ignored by EventSource but keep proxies and load balancers from timing out idle streams
+    @Scheduled(fixedDelayString = "${skillswap.notifications.heartbeat-interval-ms:20000}",
+            initialDelayString = "${skillswap.notifications.heartbeat-interval-ms:20000}")
+    public void heartbeat() {
+        for (List<Subscription> userSubscriptions : subscriptions.values()) {
+            for (Subscription subscription : userSubscriptions) {
+                send(subscription, SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    public int openStreams() {
+        return openStreams.get();
+    }
+
+    private void publish(NotificationDto notification) {
+        deliver(notification);
+        try {
+            relay.accept(notification);
+        } catch (RuntimeException e) {
+            logger.warn("Could not relay {} notification for user {}: {}",
+                    notification.getType(), notification.getUserId(), e.getMessage());
+        }
+    }
+
+    private void replay(Subscription subscription) {
+        Long userId = subscription.userId;
+        PageRequest limit = PageRequest.of(0, replayLimit);
+        List<MatchRepository.MatchSummary> matches =
+                matchRepository.findSummariesForUserAfter(userId, subscription.matchCursor, limit);
+        List<MessageRepository.MessageNotice> messages =
+                messageRepository.findNoticesForUserAfter(userId, subscription.messageCursor, limit);
+        for (MatchRepository.MatchSummary match : matches) {
+            Long otherUserId = userId.equals(match.getUser1Id()) ? match.getUser2Id() : match.getUser1Id();
+            sendNotification(subscription, NotificationDto.match(userId, match.getMatchId(), otherUserId));
+        }
+        for (MessageRepository.MessageNotice message : messages) {
+            sendNotification(subscription, NotificationDto.message(userId, message.getMatchId(),
+                    message.getMessageId(), message.getSenderId()));
+        }
+        if (matches.size() == replayLimit || messages.size() == replayLimit) {
+            // Away too long to catch up event by event: tell the page to reload its lists instead
+            subscription.matchCursor = matchRepository.findMaxMatchId();
+            subscription.messageCursor = messageRepository.findMaxMessageId();
+            send(subscription, SseEmitter.event().name("resync").id(subscription.eventId()).data("{}"));
+        }
+    }
+
+    // Caller holds the subscription's lock. Anything at or below the floors went out before the stream
+    // went live (replay); above them, notifications may arrive out of ID order, so the cursors that make
+    // up the event ID only ever move forward
+    private void sendNotification(Subscription subscription, NotificationDto notification) {
+        if (NotificationDto.MESSAGE.equals(notification.getType())) {
+            if (notification.getMessageId() <= subscription.messageFloor) {
+                return;
+            }
+            subscription.messageCursor = Math.max(subscription.messageCursor, notification.getMessageId());
+        } else {
+            if (notification.getMatchId() <= subscription.matchFloor) {
+                return;
+            }
+            subscription.matchCursor = Math.max(subscription.matchCursor, notification.getMatchId());
+        }
+        send(subscription, SseEmitter.event().name(notification.getType()).id(subscription.eventId())
+                .data(notification));
+    }
+
+    private void send(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        try {
+            subscription.emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away (the emitter completes itself) or the stream is already closed
+            remove(subscription);
+        }
+    }
+
+    private void add(Subscription subscription) {
+        List<Subscription> userSubscriptions =
+                subscriptions.computeIfAbsent(subscription.userId, id -> new CopyOnWriteArrayList<>());
+        userSubscriptions.add(subscription);
+        openStreams.incrementAndGet();
+        // Tabs that were never closed cleanly: drop the oldest streams beyond the cap
+        while (userSubscriptions.size() > maxPerUser) {
+            Subscription oldest = userSubscriptions.get(0);
+            remove(oldest);
+            oldest.emitter.complete();
+        }
+    }
+
+    private void remove(Subscription subscription) {
+        List<Subscription> userSubscriptions = subscriptions.get(subscription.userId);
+        if (userSubscriptions != null && userSubscriptions.remove(subscription)) {
+            openStreams.decrementAndGet();
+            subscriptions.computeIfPresent(subscription.userId, (id, list) -> list.isEmpty() ? null : list);
+        }
+    }
+
+    // "matchCursor.messageCursor"; null when absent or not one of ours
+    private static long[] parseCursors(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        String[] parts = lastEventId.trim().split("\\.");
+        if (parts.length != 2) {
+            return null;
+        }
+        try {
+            return new long[] {Long.parseLong(parts[0]), Long.parseLong(parts[1])};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static final class Subscription {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ReentrantLock lock = new ReentrantLock();
+        private long matchCursor;
+        private long messageCursor;
+        private long matchFloor = -1;
+        private long messageFloor = -1;
+
+        private Subscription(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private String eventId() {
+            return matchCursor + "." + messageCursor;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.repository.ProfilePhotoRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+public class PrimaryPhotoService {
+
+    public static final String CACHE_NAME = "primaryPhotos";
+
+    private final ProfilePhotoRepository photoRepository;
+    private final Cache cache;
+
+    public PrimaryPhotoService(ProfilePhotoRepository photoRepository, CacheManager cacheManager) {
+        this.photoRepository = photoRepository;
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CACHE_NAME), "Missing cache " + CACHE_NAME);
+    }
+
+    /**
+     * Primary photo URL per profile ID. Cached IDs are answered from memory and the rest are loaded
+     * in a single query; profiles without a primary photo are cached too, so they are left out of
+     * the result without hitting the database again.
+     */
+    public Map<Long, String> findPrimaryPhotoUrls(Collection<Long> profileIds) {
+        Map<Long, String> result = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+
+        for (Long profileId : new LinkedHashSet<>(profileIds)) {
+            if (profileId == null) {
+                continue;
+            }
+            Cache.ValueWrapper cached = cache.get(profileId);
+            if (cached == null) {
+                missing.add(profileId);
+            } else if (cached.get() != null) {
+                result.put(profileId, (String) cached.get());
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<Long, String> loaded = new LinkedHashMap<>();
+            // Rows come newest first, so the first URL per profile wins
+            photoRepository.findPrimaryPhotos(missing)
+                    .forEach(row -> loaded.putIfAbsent(row.getProfileId(), row.getPhotoUrl()));
+            for (Long profileId : missing) {
+                String url = loaded.get(profileId);
+                cache.put(profileId, url);
+                if (url != null) {
+                    result.put(profileId, url);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    public void evict(Long profileId) {
+        if (profileId != null) {
+            cache.evict(profileId);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.dto.ProfileSearchResultDto;
+import com.example.skillswap.service.search.ProfileSearchIndex;
+import com.example.skillswap.service.search.SearchDocument;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Profile search over bio, major, career, career goals, skills and interests, optionally limited to a
+ * university and to profiles that share their location within a radius.
+ *
+ * Searches run against an in-memory {@link ProfileSearchIndex}, built from the database at startup and
+ * rebuilt every rebuild-interval-ms (which also drops deleted profiles). Writes on this node reindex the
+ * user straight away through ProfileViewService.evict; writes on other nodes are picked up by polling
+ * profile.updated_at every refresh-interval-ms. Hits are then loaded by primary key for display.
+ */
+@Service
+public class ProfileSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileSearchService.class);
+
+    public static final int MAX_LIMIT = 50;
+    public static final int MAX_OFFSET = 1000;
+
+    private static final String DOCUMENT_SQL = "SELECT p.profile_id, p.user_id, u.university, p.latitude, "
+            + "p.longitude, p.show_location, p.bio, p.major, p.career, p.career_goals, "
+            + "(SELECT string_agg(us.skill_name, ' ') FROM user_skill us WHERE us.user_id = p.user_id) AS skills, "
+            + "(SELECT string_agg(ui.interest_name, ' ') FROM user_interest ui WHERE ui.user_id = p.user_id) AS interests "
+            + "FROM profile p JOIN users u ON u.user_id = p.user_id";
+
+    // year is a reserved word in H2
+    private static final String RESULT_SQL = "SELECT p.profile_id, p.user_id, u.first_name, u.last_name, "
+            + "u.university, p.major, p.\"year\", p.career, p.location "
+            + "FROM profile p JOIN users u ON u.user_id = p.user_id WHERE p.profile_id IN (:ids)";
+
+    private static final String CHANGED_SQL = "SELECT user_id FROM profile WHERE updated_at > ?";
+
+    // Polls go back a little before the previous one, for writes that committed late
+    private static final long REFRESH_OVERLAP_MS = 5000;
+    private static final int REINDEX_BATCH = 500;
+    private static final long MAX_STARTUP_RETRY_MS = 60_000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final JdbcTemplate loadTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ProfileSearchIndex index;
+    private final long startupWaitMs;
+    private final long startupRetryMs;
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
+    // Database clock, which is also what stamps profile.updated_at
+    private volatile Timestamp lastPolled;
+
+    public ProfileSearchService(NamedParameterJdbcTemplate jdbcTemplate,
+                                DataSource dataSource,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${skillswap.search.shards:8}") int shards,
+                                @Value("${skillswap.search.merge-threshold:1000}") int mergeThreshold,
+                                @Value("${skillswap.search.startup-wait-ms:2000}") long startupWaitMs,
+                                @Value("${skillswap.search.startup-retry-ms:1000}") long startupRetryMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        // The full load streams rows instead of materializing every profile at once
+        this.loadTemplate = new JdbcTemplate(dataSource);
+        this.loadTemplate.setFetchSize(1000);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.index = new ProfileSearchIndex(shards, mergeThreshold, ForkJoinPool.commonPool());
+        this.startupWaitMs = startupWaitMs;
+        this.startupRetryMs = startupRetryMs;
+        Gauge.builder("skillswap.search.documents", index, ProfileSearchIndex::size)
+                .description("Profiles in the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * What to search for. university and the location are optional; the location needs all of latitude,
+     * longitude and radiusKm.
+     */
+    public record Criteria(String text, String university, Double latitude, Double longitude, Double radiusKm,
+                           int limit, int offset) {
+    }
+
+    public List<ProfileSearchResultDto> search(Criteria criteria) {
+        awaitIndex();
+        int limit = Math.max(1, Math.min(criteria.limit(), MAX_LIMIT));
+        int offset = Math.max(0, Math.min(criteria.offset(), MAX_OFFSET));
+        List<ProfileSearchIndex.Hit> hits = index.search(new ProfileSearchIndex.Query(criteria.text(),
+                criteria.university(), criteria.latitude(), criteria.longitude(), criteria.radiusKm(),
+                offset + limit));
+        if (hits.size() <= offset) {
+            return List.of();
+        }
+        hits = hits.subList(offset, hits.size());
+
+        List<Long> profileIds = hits.stream().map(ProfileSearchIndex.Hit::profileId).toList();
+        Map<Long, ProfileSearchResultDto> rows = new HashMap<>();
+        jdbcTemplate.query(RESULT_SQL, new MapSqlParameterSource("ids", profileIds), rs -> {
+            ProfileSearchResultDto dto = new ProfileSearchResultDto();
+            dto.setProfileId(rs.getLong("profile_id"));
+            dto.setUserId(rs.getLong("user_id"));
+            dto.setFullName(fullName(rs.getString("first_name"), rs.getString("last_name")));
+            dto.setUniversity(rs.getString("university"));
+            dto.setMajor(rs.getString("major"));
+            dto.setYear(rs.getString("year"));
+            dto.setCareer(rs.getString("career"));
+            dto.setLocation(rs.getString("location"));
+            rows.put(dto.getProfileId(), dto);
+        });
+
+        // Index order; a profile deleted since the last rebuild has no row and is left out
+        List<ProfileSearchResultDto> results = new ArrayList<>(hits.size());
+        for (ProfileSearchIndex.Hit hit : hits) {
+            ProfileSearchResultDto dto = rows.get(hit.profileId());
+            if (dto != null) {
+                dto.setScore(Math.round(hit.score() * 1000) / 1000.0);
+                dto.setDistanceKm(hit.distanceKm() == null ? null : Math.round(hit.distanceKm() * 10) / 10.0);
+                results.add(dto);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Waits up to startup-wait-ms for the first build of the index; answered with 503 if it is not done.
+     */
+    public void awaitIndex() {
+        try {
+            ready.get(startupWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            throw new SearchIndexLoadingException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SearchIndexLoadingException();
+        }
+    }
+
+    /**
+     * The first build, retried with a doubling delay (startup-retry-ms up to a minute) until it succeeds;
+     * until then searches answer 503 and refresh() has nothing to poll from.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        long delayMs = startupRetryMs;
+        while (!rebuild() && !ready.isDone()) {
+            logger.warn("Retrying the search index build in {} ms", delayMs);
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            delayMs = Math.min(delayMs * 2, MAX_STARTUP_RETRY_MS);
+        }
+    }
+
+    /**
+     * Builds the index from scratch; false if the database could not be read (the old index stays).
+     */
+    @Scheduled(fixedDelayString = "${skillswap.search.rebuild-interval-ms:21600000}",
+            initialDelayString = "${skillswap.search.rebuild-interval-ms:21600000}")
+    public boolean rebuild() {
+        long started = System.nanoTime();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                // Taken before the load, so changes made while it runs are polled again afterwards
+                Timestamp loadStarted = databaseTime();
+                index.rebuild(sink -> loadTemplate.query(DOCUMENT_SQL + " ORDER BY p.profile_id",
+                        rs -> {
+                            sink.accept(toDocument(rs));
+                        }));
+                lastPolled = loadStarted;
+            });
+            ready.complete(null);
+            logger.info("Search index built: {} profiles in {} ms", index.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return true;
+        } catch (DataAccessException e) {
+            logger.error("Failed to build the search index: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Picks up profiles changed on other nodes since the last poll.
+     */
+    @Scheduled(fixedDelayString = "${skillswap.search.refresh-interval-ms:5000}",
+            initialDelayString = "${skillswap.search.refresh-interval-ms:5000}")
+    public void refresh() {
+        Timestamp since = lastPolled;
+        if (since == null) {
+            return;
+        }
+        try {
+            Timestamp now = databaseTime();
+            List<Long> userIds = jdbcTemplate.getJdbcTemplate().queryForList(CHANGED_SQL, Long.class,
+                    new Timestamp(since.getTime() - REFRESH_OVERLAP_MS));
+            reindexUsers(new LinkedHashSet<>(userIds));
+            lastPolled = now;
+        } catch (DataAccessException e) {
+            logger.warn("Search index refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Re-reads the users' profiles, skills and interests into the index; searchable once this returns.
+     */
+    public void reindexUsers(Collection<Long> userIds) {
+        List<Long> ids = new ArrayList<>(userIds);
+        for (int from = 0; from < ids.size(); from += REINDEX_BATCH) {
+            List<Long> batch = ids.subList(from, Math.min(from + REINDEX_BATCH, ids.size()));
+            jdbcTemplate.query(DOCUMENT_SQL + " WHERE p.user_id IN (:ids)", new MapSqlParameterSource("ids", batch),
+                    rs -> {
+                        index.put(toDocument(rs));
+                    });
+        }
+    }
+
+    private Timestamp databaseTime() {
+        return jdbcTemplate.getJdbcTemplate().queryForObject("SELECT LOCALTIMESTAMP", Timestamp.class);
+    }
+
+    private static SearchDocument toDocument(ResultSet rs) throws SQLException {
+        SearchDocument.Builder document = SearchDocument.builder(rs.getLong("profile_id"), rs.getLong("user_id"))
+                .university(rs.getString("university"))
+                .text(rs.getString("skills"), SearchDocument.SKILL_WEIGHT)
+                .text(rs.getString("major"), SearchDocument.MAJOR_WEIGHT)
+                .text(rs.getString("interests"), SearchDocument.INTEREST_WEIGHT)
+                .text(rs.getString("bio"), SearchDocument.TEXT_WEIGHT)
+                .text(rs.getString("career"), SearchDocument.TEXT_WEIGHT)
+                .text(rs.getString("career_goals"), SearchDocument.TEXT_WEIGHT);
+        if (rs.getBoolean("show_location")) {
+            double latitude = rs.getDouble("latitude");
+            boolean hasLatitude = !rs.wasNull();
+            double longitude = rs.getDouble("longitude");
+            if (hasLatitude && !rs.wasNull()) {
+                document.location(latitude, longitude);
+            }
+        }
+        return document.build();
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        String name = ((firstName == null ? "" : firstName) + " " + (lastName == null ? "" : lastName)).trim();
+        return name.isEmpty() ? null : name;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.config.ReplicaRoutingDataSource;
+import com.example.skillswap.dto.ProfileViewDto;
+import com.example.skillswap.model.Profile;
+import com.example.skillswap.model.User;
+import com.example.skillswap.repository.ProfilePhotoRepository;
+import com.example.skillswap.repository.ProfileRepository;
+import com.example.skillswap.repository.UserInterestRepository;
+import com.example.skillswap.repository.UserLanguageRepository;
+import com.example.skillswap.repository.UserOrganizationRepository;
+import com.example.skillswap.repository.UserRepository;
+import com.example.skillswap.repository.UserSkillRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Builds the combined profile view (user, profile, skills, interests, languages, organizations, photos).
+ * Each part is one lookup on an indexed user_id / profile_id column, so a view costs a fixed seven
+ * queries however much the user has filled in. Views are cached per user; every write path that
+ * touches one of the parts calls {@link #evict(Long)}.
+ */
+@Service
+public class ProfileViewService {
+
+    public static final String CACHE_NAME = "profileViews";
+
+    private final UserRepository userRepository;
+    private final ProfileRepository profileRepository;
+    private final UserSkillRepository skillRepository;
+    private final UserInterestRepository interestRepository;
+    private final UserLanguageRepository languageRepository;
+    private final UserOrganizationRepository organizationRepository;
+    private final ProfilePhotoRepository photoRepository;
+    private final ContentVersionService contentVersionService;
+    private final ProfileSearchService profileSearchService;
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRouting;
+
+    public ProfileViewService(UserRepository userRepository,
+                              ProfileRepository profileRepository,
+                              UserSkillRepository skillRepository,
+                              UserInterestRepository interestRepository,
+                              UserLanguageRepository languageRepository,
+                              UserOrganizationRepository organizationRepository,
+                              ProfilePhotoRepository photoRepository,
+                              ContentVersionService contentVersionService,
+                              ProfileSearchService profileSearchService,
+                              ObjectProvider<ReplicaRoutingDataSource> replicaRouting) {
+        this.userRepository = userRepository;
+        this.profileRepository = profileRepository;
+        this.skillRepository = skillRepository;
+        this.interestRepository = interestRepository;
+        this.languageRepository = languageRepository;
+        this.organizationRepository = organizationRepository;
+        this.photoRepository = photoRepository;
+        this.contentVersionService = contentVersionService;
+        this.profileSearchService = profileSearchService;
+        this.replicaRouting = replicaRouting;
+    }
+
+    /**
+     * The full view for a user, or null if the user does not exist (not cached). Read from the replica,
+     * except right after the user's own write, when it could still put back what {@link #evict(Long)} dropped.
+     */
+    @Cacheable(cacheNames = CACHE_NAME, key = "#userId", unless = "#result == null")
+    @Transactional(readOnly = true)
+    public ProfileViewDto getProfileView(Long userId) {
+        ReplicaRoutingDataSource routing = replicaRouting.getIfAvailable();
+        return routing != null ? routing.readPinned(userId, () -> buildView(userId)) : buildView(userId);
+    }
+
+    private ProfileViewDto buildView(Long userId) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) {
+            return null;
+        }
+
+        ProfileViewDto view = new ProfileViewDto();
+        view.setUser(toUserPart(user));
+
+        view.setSkills(skillRepository.findByUserUserId(userId).stream()
+                .map(s -> new ProfileViewDto.Skill(s.getSkillId(), s.getSkillName(), s.getSkillLevel(),
+                        s.getOffering(), s.getSeeking()))
+                .toList());
+        view.setInterests(interestRepository.findByUser_UserId(userId).stream()
+                .map(i -> new ProfileViewDto.Interest(i.getInterestId(), i.getInterestName(), i.getCategory()))
+                .toList());
+        view.setLanguages(languageRepository.findByUser_UserId(userId).stream()
+                .map(l -> new ProfileViewDto.Language(l.getLanguageId(), l.getLanguageName(), l.getProficiencyLevel()))
+                .toList());
+        view.setOrganizations(organizationRepository.findByUser_UserId(userId).stream()
+                .map(o -> new ProfileViewDto.Organization(o.getOrgId(), o.getOrganizationName(), o.getRole()))
+                .toList());
+
+        Profile profile = profileRepository.findByUserUserId(userId);
+        if (profile != null) {
+            view.setProfile(toProfilePart(profile));
+            view.setPhotos(photoRepository.findByProfile_ProfileId(profile.getProfileId()).stream()
+                    .map(p -> new ProfileViewDto.Photo(p.getPhotoId(), p.getPhotoUrl(), p.getIsPrimary(), p.getUploadedAt()))
+                    .toList());
+        }
+        return view;
+    }
+
+    /**
+     * Drops the user's cached view, and their recommendations, which are scored from the same data, then
+     * advances the user's content version so ETags handed out for the old data stop matching. The caches
+     * go first so the new version is never paired with a stale cached view. The user's reads are pinned
+     * to the primary for a moment, and their profile is reindexed for search last.
+     */
+    @CacheEvict(cacheNames = {CACHE_NAME, MatchingService.RECOMMENDATIONS_CACHE}, key = "#userId",
+            condition = "#userId != null", beforeInvocation = true)
+    public void evict(Long userId) {
+        contentVersionService.bump(userId);
+        if (userId != null) {
+            replicaRouting.ifAvailable(routing -> routing.pinToPrimary(userId));
+            profileSearchService.reindexUsers(List.of(userId));
+        }
+    }
+
+    private ProfileViewDto.UserPart toUserPart(User user) {
+        ProfileViewDto.UserPart part = new ProfileViewDto.UserPart();
+        part.setUserId(user.getUserId());
+        part.setEmail(user.getEmail());
+        part.setFirstName(user.getFirstName());
+        part.setLastName(user.getLastName());
+        part.setUniversity(user.getUniversity());
+        part.setLatitude(user.getLatitude());
+        part.setLongitude(user.getLongitude());
+        part.setShowLocation(user.getShowLocation());
+        return part;
+    }
+
+    private ProfileViewDto.ProfilePart toProfilePart(Profile profile) {
+        ProfileViewDto.ProfilePart part = new ProfileViewDto.ProfilePart();
+        part.setProfileId(profile.getProfileId());
+        part.setBio(profile.getBio());
+        part.setLocation(profile.getLocation());
+        part.setLatitude(profile.getLatitude());
+        part.setLongitude(profile.getLongitude());
+        part.setShowLocation(profile.getShowLocation());
+        part.setMajor(profile.getMajor());
+        part.setYear(profile.getYear());
+        part.setCareerGoals(profile.getCareerGoals());
+        part.setAvailability(profile.getAvailability());
+        part.setLinkedin(profile.getLinkedin());
+        part.setGithub(profile.getGithub());
+        part.setPortfolio(profile.getPortfolio());
+        part.setCareer(profile.getCareer());
+        part.setCareerExperience(profile.getCareerExperience());
+        part.setResearchPublications(profile.getResearchPublications());
+        part.setAwards(profile.getAwards());
+        return part;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.skillswap.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The search index has not finished its first build (or the build failed). Answered with 503 so
+ * clients retry; the index is usually ready within seconds of startup.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Search is starting up, try again shortly")
+public class SearchIndexLoadingException extends RuntimeException {
+
+    public SearchIndexLoadingException() {
+        super("Search index is not ready");
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.model.Skill;
+import com.example.skillswap.model.SkillSynonym;
+import com.example.skillswap.model.UserSkill;
+import com.example.skillswap.repository.SkillRepository;
+import com.example.skillswap.repository.SkillSynonymRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resolves the free-text names on user skills to catalogue skills (see {@link SkillNameIndex}), so that
+ * "Python 3", "PYTHON" and "Pyhton" are all stored with the Python skill's ID and matching compares IDs.
+ *
+ * The index is rebuilt whenever the catalogue stamp or the skill_synonym rows change (the latter have no
+ * API and are checked periodically), and resolved names are cached per build. User skills are linked as
+ * they are written; linkUnresolved catches up the rows written before a matching catalogue skill or
+ * synonym existed, and drops their users' cached views and recommendations.
+ */
+@Service
+public class SkillCanonicalizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkillCanonicalizer.class);
+
+    private static final String UNLINKED_NAMES_SQL =
+            "SELECT DISTINCT skill_name FROM user_skill WHERE canonical_skill_id IS NULL AND skill_name IS NOT NULL";
+    private static final String UNLINKED_USERS_SQL =
+            "SELECT DISTINCT user_id FROM user_skill WHERE canonical_skill_id IS NULL AND skill_name IN (";
+    private static final int LINK_BATCH = 200;
+
+    private final SkillRepository skillRepository;
+    private final SkillSynonymRepository synonymRepository;
+    private final ContentVersionService contentVersionService;
+    private final ProfileViewService profileViewService;
+    private final JdbcTemplate jdbcTemplate;
+    // One load at a time; not synchronized, which would pin a virtual thread's carrier while it queries
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile Loaded loaded;
+
+    // Built from this catalogue stamp and these synonyms; either changing means a rebuild
+    private record Loaded(String catalogueEtag, Map<String, String> synonyms, SkillNameIndex index,
+                          Cache<String, Optional<Long>> resolved) {
+    }
+
+    public SkillCanonicalizer(SkillRepository skillRepository, SkillSynonymRepository synonymRepository,
+                              ContentVersionService contentVersionService, ProfileViewService profileViewService,
+                              JdbcTemplate jdbcTemplate) {
+        this.skillRepository = skillRepository;
+        this.synonymRepository = synonymRepository;
+        this.contentVersionService = contentVersionService;
+        this.profileViewService = profileViewService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The ID of the catalogue skill the name stands for, or null if none matches.
+     */
+    public Long resolve(String skillName) {
+        if (skillName == null || skillName.isBlank()) {
+            return null;
+        }
+        Loaded current = current();
+        return current.resolved()
+                .get(skillName.trim().toLowerCase(Locale.ROOT), name -> Optional.ofNullable(current.index().resolve(name)))
+                .orElse(null);
+    }
+
+    public void canonicalize(UserSkill userSkill) {
+        userSkill.setCanonicalSkillId(resolve(userSkill.getSkillName()));
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void linkOnStartup() {
+        linkUnresolved();
+    }
+
+    /**
+     * Rebuilds the index and links what now resolves when the skill_synonym rows have been edited, which
+     * happens in SQL and leaves the catalogue stamp alone.
+     */
+    @Scheduled(fixedDelayString = "${skillswap.skills.synonym-check-interval-ms:60000}",
+            initialDelayString = "${skillswap.skills.synonym-check-interval-ms:60000}")
+    public void checkSynonyms() {
+        Loaded current = loaded;
+        try {
+            if (current == null || current.synonyms().equals(loadSynonyms())) {
+                return;
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Failed to check the skill synonyms: {}", e.getMessage());
+            return;
+        }
+        loadLock.lock();
+        try {
+            if (loaded == current) {
+                loaded = null;
+            }
+        } finally {
+            loadLock.unlock();
+        }
+        logger.info("Skill synonyms changed, rebuilding the skill name index");
+        linkUnresolved();
+    }
+
+    /**
+     * Sets canonical_skill_id on the user skills that have none and now resolve, e.g. after a skill is
+     * added to the catalogue. One UPDATE per batch of distinct names; the users whose skills were linked
+     * then have their cached views and recommendations evicted.
+     */
+    @Async
+    public void linkUnresolved() {
+        try {
+            List<String> names = jdbcTemplate.queryForList(UNLINKED_NAMES_SQL, String.class);
+            Map<String, Long> links = new HashMap<>();
+            for (String name : names) {
+                Long skillId = resolve(name);
+                if (skillId != null) {
+                    links.put(name, skillId);
+                }
+            }
+            List<Map.Entry<String, Long>> pending = new ArrayList<>(links.entrySet());
+            Set<Long> userIds = new LinkedHashSet<>();
+            int linked = 0;
+            for (int from = 0; from < pending.size(); from += LINK_BATCH) {
+                linked += link(pending.subList(from, Math.min(from + LINK_BATCH, pending.size())), userIds);
+            }
+            if (linked > 0) {
+                logger.info("Linked {} user skills ({} distinct names) to catalogue skills", linked, links.size());
+            }
+            userIds.forEach(profileViewService::evict);
+        } catch (DataAccessException e) {
+            logger.warn("Failed to link user skills to the catalogue: {}", e.getMessage());
+        }
+    }
+
+    private int link(List<Map.Entry<String, Long>> batch, Set<Long> userIds) {
+        String names = String.join(", ", Collections.nCopies(batch.size(), "?"));
+        Object[] nameArgs = batch.stream().map(Map.Entry::getKey).toArray();
+        userIds.addAll(jdbcTemplate.queryForList(UNLINKED_USERS_SQL + names + ")", Long.class, nameArgs));
+
+        // A CASE over the batch's names, so the table is scanned once per batch rather than once per name
+        StringBuilder sql = new StringBuilder("UPDATE user_skill SET canonical_skill_id = CASE skill_name");
+        List<Object> args = new ArrayList<>(batch.size() * 3);
+        for (Map.Entry<String, Long> link : batch) {
+            sql.append(" WHEN ? THEN ?");
+            args.add(link.getKey());
+            args.add(link.getValue());
+        }
+        sql.append(" END WHERE canonical_skill_id IS NULL AND skill_name IN (").append(names).append(")");
+        args.addAll(List.of(nameArgs));
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private Map<String, String> loadSynonyms() {
+        Map<String, String> synonyms = new HashMap<>();
+        for (SkillSynonym synonym : synonymRepository.findAll()) {
+            synonyms.put(synonym.getSynonym(), synonym.getSkillName());
+        }
+        return synonyms;
+    }
+
+    private Loaded current() {
+        String etag = contentVersionService.forSkillCatalogue().etag();
+        Loaded current = loaded;
+        if (current != null && current.catalogueEtag().equals(etag)) {
+            return current;
+        }
+        loadLock.lock();
+        try {
+            current = loaded;
+            if (current == null || !current.catalogueEtag().equals(etag)) {
+                Map<Long, String> skills = new HashMap<>();
+                for (Skill skill : skillRepository.findAllByOrderBySkillNameAsc()) {
+                    skills.put(skill.getSkillId(), skill.getSkillName());
+                }
+                Map<String, String> synonyms = loadSynonyms();
+                current = new Loaded(etag, synonyms, SkillNameIndex.build(skills, synonyms),
+                        Caffeine.newBuilder().maximumSize(10_000).build());
+                loaded = current;
+                logger.debug("Skill name index built: {} skills, {} synonyms", skills.size(), synonyms.size());
+            }
+            return current;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+}
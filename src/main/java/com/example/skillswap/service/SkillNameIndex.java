@@ -0,0 +1,209 @@
+package com.example.skillswap.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable lookup from free-text skill names to catalogue skill IDs. A name is tried, in order:
+ * normalized (lower case, punctuation, trailing version numbers and filler words such as "programming"
+ * dropped), then without spaces and dots ("java script", "Node JS"), then as a synonym, and finally
+ * fuzzily: catalogue names sharing a trigram with it are candidates, and the closest wins if it is
+ * within one typo (two for names over 8 letters) and no other skill is as close. Names under 5 letters
+ * only match exactly; one edit turns "Go" or "SQL" into a different word.
+ */
+final class SkillNameIndex {
+
+    private static final int MIN_FUZZY_LENGTH = 5;
+    private static final Pattern VERSION = Pattern.compile("v?\\d+(\\.\\d+)*(\\.x)?");
+    private static final Set<String> FILLER = Set.of(
+            "programming", "language", "development", "dev", "basics", "basic", "beginner", "intermediate",
+            "advanced", "expert", "skills", "skill");
+
+    private final Map<String, Long> exact;
+    private final String[] fuzzyNames;
+    private final long[] fuzzyIds;
+    private final Map<String, int[]> trigrams;
+
+    private SkillNameIndex(Map<String, Long> exact, String[] fuzzyNames, long[] fuzzyIds, Map<String, int[]> trigrams) {
+        this.exact = exact;
+        this.fuzzyNames = fuzzyNames;
+        this.fuzzyIds = fuzzyIds;
+        this.trigrams = trigrams;
+    }
+
+    /**
+     * @param skills   catalogue names by skill ID
+     * @param synonyms catalogue skill name by synonym; synonyms for names not in the catalogue are ignored
+     */
+    static SkillNameIndex build(Map<Long, String> skills, Map<String, String> synonyms) {
+        Map<String, Long> exact = new HashMap<>();
+        Map<String, Long> byName = new HashMap<>();
+        // Catalogue names first, so a synonym never shadows a real skill
+        skills.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(skill -> {
+            String name = normalize(skill.getValue());
+            if (!name.isEmpty()) {
+                byName.putIfAbsent(name, skill.getKey());
+                exact.putIfAbsent(name, skill.getKey());
+                exact.putIfAbsent(compact(name), skill.getKey());
+            }
+        });
+        synonyms.forEach((synonym, skillName) -> {
+            Long skillId = byName.get(normalize(skillName));
+            String name = normalize(synonym);
+            if (skillId != null && !name.isEmpty()) {
+                exact.putIfAbsent(name, skillId);
+                exact.putIfAbsent(compact(name), skillId);
+            }
+        });
+
+        Map<String, Long> fuzzy = new LinkedHashMap<>();
+        exact.forEach((name, skillId) -> {
+            String key = compact(name);
+            if (key.length() >= MIN_FUZZY_LENGTH) {
+                fuzzy.putIfAbsent(key, skillId);
+            }
+        });
+        String[] fuzzyNames = fuzzy.keySet().toArray(String[]::new);
+        long[] fuzzyIds = fuzzy.values().stream().mapToLong(Long::longValue).toArray();
+        Map<String, List<Integer>> postings = new HashMap<>();
+        for (int i = 0; i < fuzzyNames.length; i++) {
+            for (String trigram : trigrams(fuzzyNames[i])) {
+                postings.computeIfAbsent(trigram, t -> new ArrayList<>()).add(i);
+            }
+        }
+        Map<String, int[]> trigrams = new HashMap<>(postings.size());
+        postings.forEach((trigram, entries) ->
+                trigrams.put(trigram, entries.stream().mapToInt(Integer::intValue).toArray()));
+        return new SkillNameIndex(Map.copyOf(exact), fuzzyNames, fuzzyIds, trigrams);
+    }
+
+    /**
+     * The catalogue skill the text stands for, or null if there is none or it is ambiguous.
+     */
+    Long resolve(String text) {
+        String name = normalize(text);
+        if (name.isEmpty()) {
+            return null;
+        }
+        String key = compact(name);
+        Long skillId = exact.get(name);
+        if (skillId == null) {
+            skillId = exact.get(key);
+        }
+        if (skillId != null || key.length() < MIN_FUZZY_LENGTH) {
+            return skillId;
+        }
+
+        int maxEdits = key.length() > 8 ? 2 : 1;
+        Set<Integer> candidates = new HashSet<>();
+        for (String trigram : trigrams(key)) {
+            int[] entries = trigrams.get(trigram);
+            if (entries != null) {
+                for (int entry : entries) {
+                    candidates.add(entry);
+                }
+            }
+        }
+        int best = maxEdits + 1;
+        Long bestId = null;
+        boolean ambiguous = false;
+        for (int entry : candidates) {
+            int distance = editDistance(key, fuzzyNames[entry], maxEdits);
+            if (distance < best) {
+                best = distance;
+                bestId = fuzzyIds[entry];
+                ambiguous = false;
+            } else if (distance == best && bestId != null && bestId != fuzzyIds[entry]) {
+                ambiguous = true;
+            }
+        }
+        return ambiguous ? null : bestId;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder cleaned = new StringBuilder(text.length());
+        for (char c : text.toLowerCase(Locale.ROOT).toCharArray()) {
+            cleaned.append(Character.isLetterOrDigit(c) || c == '+' || c == '#' || c == '.' ? c : ' ');
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : cleaned.toString().trim().split("\\s+")) {
+            // A trailing dot is punctuation; a leading one is part of the name (".NET")
+            while (token.length() > 1 && token.endsWith(".")) {
+                token = token.substring(0, token.length() - 1);
+            }
+            if (!token.isEmpty() && !token.equals(".")) {
+                tokens.add(token);
+            }
+        }
+        while (tokens.size() > 1 && VERSION.matcher(tokens.get(tokens.size() - 1)).matches()) {
+            tokens.remove(tokens.size() - 1);
+        }
+        if (tokens.size() > 1) {
+            List<String> words = tokens.stream().filter(token -> !FILLER.contains(token)).toList();
+            if (!words.isEmpty()) {
+                tokens = words;
+            }
+        }
+        return String.join(" ", tokens);
+    }
+
+    private static String compact(String name) {
+        return name.replace(" ", "").replace(".", "");
+    }
+
+    private static Set<String> trigrams(String key) {
+        String padded = "  " + key + " ";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Edits (insert, delete, substitute, swap two adjacent letters) between a and b, or max + 1 once it is
+     * certain to exceed max.
+     */
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    distance = Math.min(distance, previous2[j - 2] + 1);
+                }
+                current[j] = distance;
+                rowMin = Math.min(rowMin, distance);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+}
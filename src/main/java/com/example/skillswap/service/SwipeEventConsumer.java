@@ -0,0 +1,132 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.model.SwipeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains the swipe log into the swipe and match tables when swipes are recorded asynchronously.
+ * Each drain locks a block of pending events (skipping ones other nodes hold), applies them and marks
+ * them applied in one transaction, so a crash simply leaves them pending. If the block fails, its events
+ * are retried one per transaction, and an event that fails max-attempts times is parked as FAILED
+ * instead of holding up the rest. New matches are announced through MatchCreatedEvent.
+ */
+@Component
+@ConditionalOnProperty(name = "skillswap.swipes.async.enabled", havingValue = "true")
+public class SwipeEventConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwipeEventConsumer.class);
+
+    private final SwipeEventLog eventLog;
+    private final SwipeService swipeService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    public SwipeEventConsumer(SwipeEventLog eventLog,
+                              SwipeService swipeService,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${skillswap.swipes.async.batch-size:500}") int batchSize,
+                              @Value("${skillswap.swipes.async.max-attempts:5}") int maxAttempts) {
+        this.eventLog = eventLog;
+        this.swipeService = swipeService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Scheduled(fixedDelayString = "${skillswap.swipes.async.poll-interval-ms:200}",
+            initialDelayString = "${skillswap.swipes.async.poll-interval-ms:200}")
+    public void poll() {
+        try {
+            // Keep going while there is a backlog, then wait for the next tick
+            while (drain() == batchSize) {
+                logger.debug("Swipe log backlog, draining another block");
+            }
+        } catch (RuntimeException e) {
+            // Nothing was marked; the events are still pending for the next tick
+            logger.error("Failed to read the swipe log: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Apply the next block of pending events and return how many were applied.
+     */
+    public int drain() {
+        List<Long> claimed = new ArrayList<>();
+        try {
+            Integer applied = transactionTemplate.execute(status -> {
+                List<SwipeEvent> events = eventLog.lockPending(batchSize);
+                events.forEach(event -> claimed.add(event.getEventId()));
+                if (events.isEmpty()) {
+                    return 0;
+                }
+                apply(events);
+                eventLog.markApplied(claimed);
+                return events.size();
+            });
+            return applied == null ? 0 : applied;
+        } catch (RuntimeException e) {
+            if (claimed.isEmpty()) {
+                throw e;
+            }
+            logger.warn("Swipe event block {}..{} failed ({}); applying its events one at a time",
+                    claimed.get(0), claimed.get(claimed.size() - 1), e.getMessage());
+            int applied = 0;
+            for (Long eventId : claimed) {
+                applied += applyOne(eventId) ? 1 : 0;
+            }
+            return applied;
+        }
+    }
+
+    private boolean applyOne(Long eventId) {
+        try {
+            Boolean applied = transactionTemplate.execute(status -> eventLog.lockPending(eventId)
+                    .map(event -> {
+                        apply(List.of(event));
+                        eventLog.markApplied(List.of(eventId));
+                        return true;
+                    })
+                    .orElse(false));
+            return Boolean.TRUE.equals(applied);
+        } catch (RuntimeException e) {
+            Boolean parked = transactionTemplate.execute(status -> eventLog.recordFailure(eventId, e.getMessage(), maxAttempts));
+            if (Boolean.TRUE.equals(parked)) {
+                logger.error("Swipe event {} failed {} times and is parked as FAILED: {}", eventId, maxAttempts,
+                        e.getMessage(), e);
+            } else {
+                logger.warn("Swipe event {} failed, will retry: {}", eventId, e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    // Consecutive events by the same swiper go through the batch path together; log order is kept
+    private void apply(List<SwipeEvent> events) {
+        Long swiperId = null;
+        Map<Long, Boolean> run = new LinkedHashMap<>();
+        for (SwipeEvent event : events) {
+            Long eventSwiperId = event.getSwiper().getUserId();
+            if (!eventSwiperId.equals(swiperId) && !run.isEmpty()) {
+                swipeService.applyDecisions(swiperId, run);
+                run = new LinkedHashMap<>();
+            }
+            swiperId = eventSwiperId;
+            Long swipeeId = event.getSwipee().getUserId();
+            run.remove(swipeeId);
+            run.put(swipeeId, Boolean.TRUE.equals(event.getIsLike()));
+        }
+        swipeService.applyDecisions(swiperId, run);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.model.SwipeEvent;
+import com.example.skillswap.repository.SwipeEventRepository;
+import com.example.skillswap.repository.UserRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Durable, append-only log of swipe decisions (the swipe_event table).
+ * Appending is a single insert; match detection happens later in SwipeEventConsumer, which claims
+ * pending events by row lock, and the log can be replayed to rebuild the swipe and match tables.
+ */
+@Service
+public class SwipeEventLog {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final SwipeEventRepository eventRepository;
+    private final UserRepository userRepository;
+
+    public SwipeEventLog(SwipeEventRepository eventRepository,
+                         UserRepository userRepository) {
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Append one decision and return its position in the log.
+     * Unknown users are rejected by the foreign keys, so a bad event never reaches the consumer.
+     */
+    @Transactional
+    public Long append(Long swiperId, Long swipeeId, boolean like) {
+        return eventRepository.saveAndFlush(newEvent(swiperId, swipeeId, like)).getEventId();
+    }
+
+    /**
+     * Append a group of decisions by one user, in order, in a single transaction.
+     */
+    @Transactional
+    public int appendAll(Long swiperId, Map<Long, Boolean> decisions) {
+        List<SwipeEvent> events = new ArrayList<>(decisions.size());
+        decisions.forEach((swipeeId, like) -> events.add(newEvent(swiperId, swipeeId, like)));
+        eventRepository.saveAllAndFlush(events);
+        return events.size();
+    }
+
+    /**
+     * Up to {@code limit} pending events, oldest first, locked until the caller's transaction ends.
+     * Events locked by another consumer, or not committed yet, are left for a later call.
+     */
+    @Transactional
+    public List<SwipeEvent> lockPending(int limit) {
+        return eventRepository.lockPending(PageRequest.of(0, limit));
+    }
+
+    /**
+     * The event, locked, if it is still pending and nobody else holds it.
+     */
+    @Transactional
+    public Optional<SwipeEvent> lockPending(Long eventId) {
+        return eventRepository.lockPending(eventId);
+    }
+
+    @Transactional
+    public void markApplied(Collection<Long> eventIds) {
+        eventRepository.markApplied(eventIds);
+    }
+
+    /**
+     * Count a failed attempt at the event and return true if that parks it as FAILED. Parked events are
+     * no longer read; replaying the log from them puts them back.
+     */
+    @Transactional
+    public boolean recordFailure(Long eventId, String error, int maxAttempts) {
+        SwipeEvent event = eventRepository.findById(eventId).orElse(null);
+        if (event == null || !SwipeEvent.PENDING.equals(event.getStatus())) {
+            return false;
+        }
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH));
+        if (event.getAttempts() >= maxAttempts) {
+            event.setStatus(SwipeEvent.FAILED);
+        }
+        return SwipeEvent.FAILED.equals(event.getStatus());
+    }
+
+    /**
+     * Mark the log from {@code fromEventId} on as pending again (parked events included), so the consumer
+     * re-applies it. The swipe and match projections are idempotent, so replaying applied events is safe.
+     */
+    @Transactional
+    public int rewind(long fromEventId) {
+        return eventRepository.markPendingFrom(fromEventId);
+    }
+
+    private SwipeEvent newEvent(Long swiperId, Long swipeeId, boolean like) {
+        SwipeEvent event = new SwipeEvent();
+        event.setSwiper(userRepository.getReferenceById(swiperId));
+        event.setSwipee(userRepository.getReferenceById(swipeeId));
+        event.setIsLike(like);
+        return event;
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.dto.SwipeBatchRequestDto;
+import com.example.skillswap.dto.SwipeBatchResultDto;
+import com.example.skillswap.dto.SwipeResultDto;
+import com.example.skillswap.model.Match;
+import com.example.skillswap.model.Swipe;
+import com.example.skillswap.model.User;
+import com.example.skillswap.repository.MatchRepository;
+import com.example.skillswap.repository.SwipeRepository;
+import com.example.skillswap.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+public class SwipeService {
+
+    // See record_swipe() in db/migration/V7__record_swipe_bigint_lock.sql: upsert swipe, reciprocal-like check and
+    // match insert in one call
+    private static final String RECORD_SWIPE_SQL =
+            "SELECT new_swipe_id, new_match_id, match_created FROM record_swipe(?, ?, ?)";
+
+    // Same per-pair advisory lock key as record_swipe(), taken in key order so concurrent batches cannot deadlock
+    private static final String LOCK_PAIRS_SQL =
+            "SELECT pg_advisory_xact_lock(p.lock_key) FROM (" +
+            "SELECT DISTINCT hashtextextended(LEAST(?::BIGINT, s) || ':' || GREATEST(?::BIGINT, s), 0) AS lock_key " +
+            "FROM unnest(?::BIGINT[]) AS s ORDER BY lock_key) p";
+
+    private static final String UPSERT_SWIPE_SQL =
+            "INSERT INTO swipe (swiper_id, swipee_id, is_like, swiped_at) VALUES (?, ?, ?, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (swiper_id, swipee_id) " +
+            "DO UPDATE SET is_like = EXCLUDED.is_like, swiped_at = EXCLUDED.swiped_at";
+
+    // One set-based pass: every like in the batch that has a reciprocal like and no match yet becomes a match
+    private static final String INSERT_MUTUAL_MATCHES_SQL =
+            "INSERT INTO match (user1_id, user2_id, matched_at, is_active) " +
+            "SELECT s.swiper_id, s.swipee_id, CURRENT_TIMESTAMP, TRUE " +
+            "FROM swipe s " +
+            "JOIN swipe r ON r.swiper_id = s.swipee_id AND r.swipee_id = s.swiper_id AND r.is_like " +
+            "WHERE s.swiper_id = ? AND s.swipee_id = ANY(?) AND s.is_like " +
+            "AND NOT EXISTS (SELECT 1 FROM match m WHERE m.user1_id = s.swipee_id AND m.user2_id = s.swiper_id) " +
+            "ON CONFLICT (user1_id, user2_id) DO NOTHING " +
+            "RETURNING match_id, user2_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SwipeRepository swipeRepository;
+    private final MatchRepository matchRepository;
+    private final UserRepository userRepository;
+    private final SwipeEventLog eventLog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MatchingService matchingService;
+    private final boolean useDatabaseFunction;
+    private final boolean async;
+    private final int batchMaxSize;
+    private final int jdbcBatchSize;
+
+    public SwipeService(JdbcTemplate jdbcTemplate,
+                        TransactionTemplate transactionTemplate,
+                        SwipeRepository swipeRepository,
+                        MatchRepository matchRepository,
+                        UserRepository userRepository,
+                        SwipeEventLog eventLog,
+                        ApplicationEventPublisher eventPublisher,
+                        MatchingService matchingService,
+                        @Value("${skillswap.swipes.use-db-function:true}") boolean useDatabaseFunction,
+                        @Value("${skillswap.swipes.async.enabled:false}") boolean async,
+                        @Value("${skillswap.swipes.batch-max-size:500}") int batchMaxSize,
+                        @Value("${skillswap.swipes.jdbc-batch-size:100}") int jdbcBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.swipeRepository = swipeRepository;
+        this.matchRepository = matchRepository;
+        this.userRepository = userRepository;
+        this.eventLog = eventLog;
+        this.eventPublisher = eventPublisher;
+        this.matchingService = matchingService;
+        this.useDatabaseFunction = useDatabaseFunction;
+        this.async = async;
+        this.batchMaxSize = batchMaxSize;
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    /**
+     * True when swipes are only appended to the swipe log here and applied later by SwipeEventConsumer.
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Record (or change) a swipe and create the match if it completes a mutual like.
+     * On PostgreSQL this is a single auto-committed call to record_swipe(), which locks the user
+     * pair so two simultaneous likes cannot both miss the match or both create one.
+     * In async mode the swipe is only appended to the log, and the result carries no swipe or match yet.
+     */
+    public SwipeResultDto recordSwipe(Long swiperId, Long swipeeId, boolean like) {
+        if (swiperId == null || swipeeId == null) {
+            throw new IllegalArgumentException("Swiper and swipee IDs are required");
+        }
+        if (swiperId.equals(swipeeId)) {
+            throw new IllegalArgumentException("Users cannot swipe on themselves");
+        }
+
+        // Unknown users are rejected by the foreign keys (DataIntegrityViolationException), not by lookups
+        if (async) {
+            eventLog.append(swiperId, swipeeId, like);
+            return new SwipeResultDto(null, swiperId, swipeeId, like, null, false);
+        }
+        SwipeResultDto result = useDatabaseFunction
+                ? recordWithFunction(swiperId, swipeeId, like)
+                : recordWithJpa(swiperId, swipeeId, like);
+        // Swiped users drop out of the swiper's recommendations
+        matchingService.evictRecommendations(swiperId);
+        if (result.isMatchCreated()) {
+            eventPublisher.publishEvent(new MatchCreatedEvent(result.getMatchId(), swiperId, swipeeId));
+        }
+        return result;
+    }
+
+    /**
+     * Record a group of swipes by one user in a single transaction and return the matches they created.
+     * If the same swipee appears more than once, the last decision wins.
+     */
+    public SwipeBatchResultDto recordSwipes(SwipeBatchRequestDto request) {
+        if (request == null || request.getSwiperId() == null) {
+            throw new IllegalArgumentException("Swiper ID is required");
+        }
+        List<SwipeBatchRequestDto.Decision> swipes = request.getSwipes() == null ? List.of() : request.getSwipes();
+        if (swipes.size() > batchMaxSize) {
+            throw new IllegalArgumentException("A batch may contain at most " + batchMaxSize + " swipes");
+        }
+
+        Long swiperId = request.getSwiperId();
+        Map<Long, Boolean> decisions = new LinkedHashMap<>();
+        for (SwipeBatchRequestDto.Decision swipe : swipes) {
+            if (swipe == null || swipe.getSwipeeId() == null) {
+                throw new IllegalArgumentException("Every swipe needs a swipee ID");
+            }
+            if (swiperId.equals(swipe.getSwipeeId())) {
+                throw new IllegalArgumentException("Users cannot swipe on themselves");
+            }
+            decisions.remove(swipe.getSwipeeId());
+            decisions.put(swipe.getSwipeeId(), Boolean.TRUE.equals(swipe.getIsLike()));
+        }
+        if (decisions.isEmpty()) {
+            return new SwipeBatchResultDto(0, new ArrayList<>());
+        }
+
+        if (async) {
+            return new SwipeBatchResultDto(eventLog.appendAll(swiperId, decisions), new ArrayList<>());
+        }
+        return applyDecisions(swiperId, decisions);
+    }
+
+    /**
+     * Apply already-validated decisions by one swiper to the swipe and match tables.
+     * Joins the caller's transaction if there is one (SwipeEventConsumer applies a block of the log at a time).
+     */
+    SwipeBatchResultDto applyDecisions(Long swiperId, Map<Long, Boolean> decisions) {
+        SwipeBatchResultDto result = useDatabaseFunction
+                ? recordBatchWithJdbc(swiperId, decisions)
+                : recordBatchWithJpa(swiperId, decisions);
+        matchingService.evictRecommendations(swiperId);
+        result.getNewMatches().forEach(match ->
+                eventPublisher.publishEvent(new MatchCreatedEvent(match.getMatchId(), swiperId, match.getUserId())));
+        return result;
+    }
+
+    private SwipeResultDto recordWithFunction(Long swiperId, Long swipeeId, boolean like) {
+        return jdbcTemplate.queryForObject(RECORD_SWIPE_SQL, (rs, rowNum) -> new SwipeResultDto(
+                rs.getLong("new_swipe_id"),
+                swiperId,
+                swipeeId,
+                like,
+                rs.getObject("new_match_id", Long.class),
+                rs.getBoolean("match_created")), swiperId, swipeeId, like);
+    }
+
+    private SwipeBatchResultDto recordBatchWithJdbc(Long swiperId, Map<Long, Boolean> decisions) {
+        Long[] swipeeIds = decisions.keySet().toArray(Long[]::new);
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.query(LOCK_PAIRS_SQL, ps -> {
+                ps.setLong(1, swiperId);
+                ps.setLong(2, swiperId);
+                ps.setArray(3, ps.getConnection().createArrayOf("bigint", swipeeIds));
+            }, rs -> { });
+
+            // Sent as JDBC batches (rewritten into multi-row inserts by the PostgreSQL driver)
+            jdbcTemplate.batchUpdate(UPSERT_SWIPE_SQL, decisions.entrySet(), jdbcBatchSize, (ps, decision) -> {
+                ps.setLong(1, swiperId);
+                ps.setLong(2, decision.getKey());
+                ps.setBoolean(3, decision.getValue());
+            });
+
+            List<SwipeBatchResultDto.NewMatch> newMatches = jdbcTemplate.query(INSERT_MUTUAL_MATCHES_SQL, ps -> {
+                ps.setLong(1, swiperId);
+                ps.setArray(2, ps.getConnection().createArrayOf("bigint", swipeeIds));
+            }, (rs, rowNum) -> new SwipeBatchResultDto.NewMatch(rs.getLong("match_id"), rs.getLong("user2_id")));
+
+            return new SwipeBatchResultDto(decisions.size(), newMatches);
+        });
+    }
+
+    private SwipeBatchResultDto recordBatchWithJpa(Long swiperId, Map<Long, Boolean> decisions) {
+        return transactionTemplate.execute(status -> {
+            List<SwipeBatchResultDto.NewMatch> newMatches = new ArrayList<>();
+            decisions.forEach((swipeeId, like) -> {
+                SwipeResultDto result = applyWithJpa(swiperId, swipeeId, like);
+                if (result.isMatchCreated()) {
+                    newMatches.add(new SwipeBatchResultDto.NewMatch(result.getMatchId(), swipeeId));
+                }
+            });
+            return new SwipeBatchResultDto(decisions.size(), newMatches);
+        });
+    }
+
+    /**
+     * Portable path for databases without record_swipe() (e.g. the H2 test profile).
+     * Atomic within one transaction, but without the per-pair lock.
+     */
+    private SwipeResultDto recordWithJpa(Long swiperId, Long swipeeId, boolean like) {
+        return transactionTemplate.execute(status -> applyWithJpa(swiperId, swipeeId, like));
+    }
+
+    private SwipeResultDto applyWithJpa(Long swiperId, Long swipeeId, boolean like) {
+        User swiper = userRepository.getReferenceById(swiperId);
+        User swipee = userRepository.getReferenceById(swipeeId);
+
+        Swipe swipe = swipeRepository.findBySwiperUserIdAndSwipeeUserId(swiperId, swipeeId).orElseGet(Swipe::new);
+        swipe.setSwiper(swiper);
+        swipe.setSwipee(swipee);
+        swipe.setIsLike(like);
+        swipe.setSwipedAt(LocalDateTime.now());
+        swipe = swipeRepository.saveAndFlush(swipe);
+
+        Long matchId = null;
+        boolean created = false;
+        if (like && swipeRepository.existsBySwiperUserIdAndSwipeeUserIdAndIsLikeTrue(swipeeId, swiperId)) {
+            Optional<Match> existing = matchRepository.findExistingMatch(swiperId, swipeeId);
+            if (existing.isPresent()) {
+                matchId = existing.get().getMatchId();
+            } else {
+                Match match = new Match();
+                match.setUser1(swiper);
+                match.setUser2(swipee);
+                matchId = matchRepository.save(match).getMatchId();
+                created = true;
+            }
+        }
+
+        return new SwipeResultDto(swipe.getSwipeId(), swiperId, swipeeId, like, matchId, created);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.model.User;
+import com.example.skillswap.model.UserInterest;
+import com.example.skillswap.model.UserLanguage;
+import com.example.skillswap.model.UserOrganization;
+import com.example.skillswap.model.UserSkill;
+import com.example.skillswap.repository.UserInterestRepository;
+import com.example.skillswap.repository.UserLanguageRepository;
+import com.example.skillswap.repository.UserOrganizationRepository;
+import com.example.skillswap.repository.UserRepository;
+import com.example.skillswap.repository.UserSkillRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Replaces a user's skills, interests, languages or organizations with the list the profile page sends.
+ * Items whose ID already belongs to the user are updated in place, items without one (or with someone
+ * else's ID) are inserted, and the user's items missing from the list are deleted. Everything happens in
+ * one transaction, and since these entities take pooled sequence IDs the inserts and updates are sent as
+ * JDBC batches at commit (hibernate.jdbc.batch_size).
+ * Callers drop the user's cached profile view once the call returns, i.e. after the commit.
+ */
+@Service
+public class UserCollectionService {
+
+    private final UserRepository userRepository;
+    private final UserSkillRepository skillRepository;
+    private final UserInterestRepository interestRepository;
+    private final UserLanguageRepository languageRepository;
+    private final UserOrganizationRepository organizationRepository;
+    private final SkillCanonicalizer skillCanonicalizer;
+
+    public UserCollectionService(UserRepository userRepository,
+                                 UserSkillRepository skillRepository,
+                                 UserInterestRepository interestRepository,
+                                 UserLanguageRepository languageRepository,
+                                 UserOrganizationRepository organizationRepository,
+                                 SkillCanonicalizer skillCanonicalizer) {
+        this.userRepository = userRepository;
+        this.skillRepository = skillRepository;
+        this.interestRepository = interestRepository;
+        this.languageRepository = languageRepository;
+        this.organizationRepository = organizationRepository;
+        this.skillCanonicalizer = skillCanonicalizer;
+    }
+
+    @Transactional
+    public List<UserSkill> replaceSkills(Long userId, List<UserSkill> skills) {
+        requireNames(skills, UserSkill::getSkillName, "skill");
+        return replace(userId, skills, skillRepository, skillRepository::findByUserUserId,
+                UserSkill::getSkillId, UserSkill::setSkillId, UserSkill::setUser,
+                (target, source) -> {
+                    target.setSkillName(source.getSkillName());
+                    target.setCanonicalSkillId(skillCanonicalizer.resolve(source.getSkillName()));
+                    target.setSkillLevel(source.getSkillLevel());
+                    target.setOffering(Boolean.TRUE.equals(source.getOffering()));
+                    target.setSeeking(Boolean.TRUE.equals(source.getSeeking()));
+                });
+    }
+
+    @Transactional
+    public List<UserInterest> replaceInterests(Long userId, List<UserInterest> interests) {
+        requireNames(interests, UserInterest::getInterestName, "interest");
+        return replace(userId, interests, interestRepository, interestRepository::findByUser_UserId,
+                UserInterest::getInterestId, UserInterest::setInterestId, UserInterest::setUser,
+                (target, source) -> {
+                    target.setInterestName(source.getInterestName());
+                    target.setCategory(source.getCategory());
+                });
+    }
+
+    @Transactional
+    public List<UserLanguage> replaceLanguages(Long userId, List<UserLanguage> languages) {
+        requireNames(languages, UserLanguage::getLanguageName, "language");
+        return replace(userId, languages, languageRepository, languageRepository::findByUser_UserId,
+                UserLanguage::getLanguageId, UserLanguage::setLanguageId, UserLanguage::setUser,
+                (target, source) -> {
+                    target.setLanguageName(source.getLanguageName());
+                    target.setProficiencyLevel(source.getProficiencyLevel());
+                });
+    }
+
+    @Transactional
+    public List<UserOrganization> replaceOrganizations(Long userId, List<UserOrganization> organizations) {
+        requireNames(organizations, UserOrganization::getOrganizationName, "organization");
+        return replace(userId, organizations, organizationRepository, organizationRepository::findByUser_UserId,
+                UserOrganization::getOrgId, UserOrganization::setOrgId, UserOrganization::setUser,
+                (target, source) -> {
+                    target.setOrganizationName(source.getOrganizationName());
+                    target.setRole(source.getRole());
+                });
+    }
+
+    private <T> List<T> replace(Long userId, List<T> incoming, JpaRepository<T, Long> repository,
+                                Function<Long, List<T>> currentItems,
+                                Function<T, Long> getId, BiConsumer<T, Long> setId,
+                                BiConsumer<T, User> setUser, BiConsumer<T, T> copyFields) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new NoSuchElementException("User not found: " + userId));
+
+        Map<Long, T> existing = new LinkedHashMap<>();
+        for (T item : currentItems.apply(userId)) {
+            existing.put(getId.apply(item), item);
+        }
+
+        List<T> result = new ArrayList<>();
+        List<T> inserts = new ArrayList<>();
+        for (T item : incoming) {
+            T current = getId.apply(item) != null ? existing.remove(getId.apply(item)) : null;
+            if (current != null) {
+                // Managed entity: the change is flushed as a batched UPDATE
+                copyFields.accept(current, item);
+                result.add(current);
+            } else {
+                setId.accept(item, null);
+                setUser.accept(item, user);
+                inserts.add(item);
+                result.add(item);
+            }
+        }
+
+        // Whatever was not sent back has been removed on the page
+        if (!existing.isEmpty()) {
+            repository.deleteAllInBatch(existing.values());
+        }
+        repository.saveAll(inserts);
+        return result;
+    }
+
+    private static <T> void requireNames(List<T> items, Function<T, String> getName, String kind) {
+        if (items == null) {
+            throw new IllegalArgumentException("A list of " + kind + " entries is required");
+        }
+        for (T item : items) {
+            if (item == null || getName.apply(item) == null || getName.apply(item).isBlank()) {
+                throw new IllegalArgumentException("Every " + kind + " needs a name");
+            }
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.example.skillswap.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable inverted index over one shard's profiles. Documents are numbered in profile ID order, and
+ * each term's postings list those numbers in ascending order with the term's weight in the document,
+ * so conjunctive queries walk the lists side by side. A document replaced or removed later is only
+ * flagged stale here; the next merge leaves it out.
+ */
+final class IndexSegment {
+
+    static final IndexSegment EMPTY = new Builder(id -> -1).build();
+
+    private final long[] profileIds;
+    private final int[] universityIds;
+    private final float[] latitudes;
+    private final float[] longitudes;
+    private final int[] lengths;
+    private final long totalLength;
+    private final Map<String, Postings> postings;
+    private final AtomicLongArray stale;
+    private final AtomicInteger staleCount = new AtomicInteger();
+
+    private IndexSegment(long[] profileIds, int[] universityIds, float[] latitudes, float[] longitudes,
+                         int[] lengths, Map<String, Postings> postings) {
+        this.profileIds = profileIds;
+        this.universityIds = universityIds;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.lengths = lengths;
+        this.totalLength = Arrays.stream(lengths).asLongStream().sum();
+        this.postings = postings;
+        this.stale = new AtomicLongArray((profileIds.length + 63) / 64);
+    }
+
+    record Postings(int[] docs, short[] weights) {
+
+        int size() {
+            return docs.length;
+        }
+    }
+
+    int docCount() {
+        return profileIds.length;
+    }
+
+    int liveCount() {
+        return profileIds.length - staleCount.get();
+    }
+
+    long totalLength() {
+        return totalLength;
+    }
+
+    Postings postings(String term) {
+        return postings.get(term);
+    }
+
+    long profileId(int doc) {
+        return profileIds[doc];
+    }
+
+    int universityId(int doc) {
+        return universityIds[doc];
+    }
+
+    float latitude(int doc) {
+        return latitudes[doc];
+    }
+
+    float longitude(int doc) {
+        return longitudes[doc];
+    }
+
+    int length(int doc) {
+        return lengths[doc];
+    }
+
+    boolean isStale(int doc) {
+        return (stale.get(doc >>> 6) & (1L << doc)) != 0;
+    }
+
+    /**
+     * Flags the profile's document, if this segment has one, as superseded.
+     */
+    void markStale(long profileId) {
+        int doc = Arrays.binarySearch(profileIds, profileId);
+        if (doc < 0) {
+            return;
+        }
+        long bit = 1L << doc;
+        long previous = stale.getAndAccumulate(doc >>> 6, bit, (current, mask) -> current | mask);
+        if ((previous & bit) == 0) {
+            staleCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * A new segment with this one's live documents plus the updates (which replace documents with the same
+     * profile ID) and without the removed profiles. Postings are remapped list by list rather than rebuilt
+     * from documents, so a segment never needs to keep its documents around.
+     */
+    IndexSegment merge(Collection<SearchDocument> updates, Collection<Long> removed,
+                       ToIntFunction<String> universityLookup) {
+        List<SearchDocument> added = new ArrayList<>(updates);
+        added.sort(Comparator.comparingLong(SearchDocument::profileId));
+        long[] replaced = new long[added.size() + removed.size()];
+        int r = 0;
+        for (SearchDocument doc : added) {
+            replaced[r++] = doc.profileId();
+        }
+        for (Long profileId : removed) {
+            replaced[r++] = profileId;
+        }
+        Arrays.sort(replaced);
+
+        // New document numbers: surviving old documents and added ones, interleaved in profile ID order
+        int total = 0;
+        int[] oldToNew = new int[profileIds.length];
+        int[] addedToNew = new int[added.size()];
+        long[] newProfileIds = new long[profileIds.length + added.size()];
+        int[] newUniversities = new int[newProfileIds.length];
+        float[] newLatitudes = new float[newProfileIds.length];
+        float[] newLongitudes = new float[newProfileIds.length];
+        int[] newLengths = new int[newProfileIds.length];
+        int a = 0;
+        for (int doc = 0; doc <= profileIds.length; doc++) {
+            long nextOld = doc < profileIds.length ? profileIds[doc] : Long.MAX_VALUE;
+            while (a < added.size() && (added.get(a).profileId() < nextOld || doc == profileIds.length)) {
+                SearchDocument document = added.get(a);
+                addedToNew[a++] = total;
+                newProfileIds[total] = document.profileId();
+                newUniversities[total] = universityId(document, universityLookup);
+                newLatitudes[total] = coordinate(document.latitude());
+                newLongitudes[total] = coordinate(document.longitude());
+                newLengths[total] = document.length();
+                total++;
+            }
+            if (doc == profileIds.length) {
+                break;
+            }
+            if (isStale(doc) || Arrays.binarySearch(replaced, profileIds[doc]) >= 0) {
+                oldToNew[doc] = -1;
+                continue;
+            }
+            oldToNew[doc] = total;
+            newProfileIds[total] = profileIds[doc];
+            newUniversities[total] = universityIds[doc];
+            newLatitudes[total] = latitudes[doc];
+            newLongitudes[total] = longitudes[doc];
+            newLengths[total] = lengths[doc];
+            total++;
+        }
+
+        Map<String, GrowablePostings> addedPostings = new HashMap<>();
+        for (int i = 0; i < added.size(); i++) {
+            int doc = addedToNew[i];
+            added.get(i).termWeights().forEach((term, weight) ->
+                    addedPostings.computeIfAbsent(term, t -> new GrowablePostings()).add(doc, weight));
+        }
+
+        Map<String, Postings> merged = new HashMap<>(postings.size() + addedPostings.size());
+        for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+            GrowablePostings list = new GrowablePostings();
+            GrowablePostings extra = addedPostings.remove(entry.getKey());
+            Postings old = entry.getValue();
+            int e = 0;
+            for (int i = 0; i < old.size(); i++) {
+                int doc = oldToNew[old.docs()[i]];
+                if (doc < 0) {
+                    continue;
+                }
+                while (extra != null && e < extra.size && extra.docs[e] < doc) {
+                    list.add(extra.docs[e], extra.weights[e]);
+                    e++;
+                }
+                list.add(doc, old.weights()[i]);
+            }
+            while (extra != null && e < extra.size) {
+                list.add(extra.docs[e], extra.weights[e]);
+                e++;
+            }
+            if (list.size > 0) {
+                merged.put(entry.getKey(), list.toPostings());
+            }
+        }
+        addedPostings.forEach((term, list) -> merged.put(term, list.toPostings()));
+
+        return new IndexSegment(Arrays.copyOf(newProfileIds, total), Arrays.copyOf(newUniversities, total),
+                Arrays.copyOf(newLatitudes, total), Arrays.copyOf(newLongitudes, total),
+                Arrays.copyOf(newLengths, total), merged);
+    }
+
+    private static int universityId(SearchDocument document, ToIntFunction<String> universityLookup) {
+        return document.university() == null ? -1 : universityLookup.applyAsInt(document.university());
+    }
+
+    private static float coordinate(Double value) {
+        return value == null ? Float.NaN : value.floatValue();
+    }
+
+    /**
+     * Builds a segment from documents added in ascending profile ID order, straight into postings lists.
+     */
+    static final class Builder {
+
+        private final ToIntFunction<String> universityLookup;
+        private final GrowableLongs profileIds = new GrowableLongs();
+        private final GrowableInts universities = new GrowableInts();
+        private final GrowableFloats latitudes = new GrowableFloats();
+        private final GrowableFloats longitudes = new GrowableFloats();
+        private final GrowableInts lengths = new GrowableInts();
+        private final Map<String, GrowablePostings> postings = new HashMap<>();
+
+        Builder(ToIntFunction<String> universityLookup) {
+            this.universityLookup = universityLookup;
+        }
+
+        Builder add(SearchDocument document) {
+            int doc = profileIds.size;
+            if (doc > 0 && document.profileId() <= profileIds.values[doc - 1]) {
+                throw new IllegalArgumentException("Documents must be added in ascending profile ID order");
+            }
+            profileIds.add(document.profileId());
+            universities.add(universityId(document, universityLookup));
+            latitudes.add(coordinate(document.latitude()));
+            longitudes.add(coordinate(document.longitude()));
+            lengths.add(document.length());
+            document.termWeights().forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new GrowablePostings()).add(doc, weight));
+            return this;
+        }
+
+        IndexSegment build() {
+            int size = profileIds.size;
+            Map<String, Postings> built = new HashMap<>(postings.size());
+            postings.forEach((term, list) -> built.put(term, list.toPostings()));
+            return new IndexSegment(Arrays.copyOf(profileIds.values, size), Arrays.copyOf(universities.values, size),
+                    Arrays.copyOf(latitudes.values, size), Arrays.copyOf(longitudes.values, size),
+                    Arrays.copyOf(lengths.values, size), built);
+        }
+    }
+
+    private static final class GrowablePostings {
+
+        private int[] docs = new int[4];
+        private short[] weights = new short[4];
+        private int size;
+
+        void add(int doc, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = (short) Math.min(weight, Short.MAX_VALUE);
+            size++;
+        }
+
+        Postings toPostings() {
+            return new Postings(Arrays.copyOf(docs, size), Arrays.copyOf(weights, size));
+        }
+    }
+
+    private static final class GrowableLongs {
+
+        private long[] values = new long[16];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    private static final class GrowableInts {
+
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    private static final class GrowableFloats {
+
+        private float[] values = new float[16];
+        private int size;
+
+        void add(float value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
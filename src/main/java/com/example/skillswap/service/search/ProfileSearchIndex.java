@@ -0,0 +1,485 @@
+package com.example.skillswap.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index over profiles, ranked with BM25.
+ *
+ * Profiles are spread over shards by profile ID. Each shard has an immutable {@link IndexSegment} plus
+ * a small map of pending changes: an update lands in the map straight away (and flags the segment's
+ * old copy stale), and once a shard has mergeThreshold pending changes they are merged into a new
+ * segment on the merge executor, shards independently of each other. Pending documents are scored by
+ * brute force until then, so a change is searchable as soon as {@link #put} returns.
+ *
+ * A query's terms must all match (AND); the optional university and radius filters are checked per
+ * candidate. Shards are searched in parallel.
+ */
+public class ProfileSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE_LATITUDE = 111.045;
+
+    // Pending marker for a removed profile
+    private static final SearchDocument REMOVED = new SearchDocument(-1, -1, null, null, null, Map.of(), 0);
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparingLong(Hit::profileId);
+
+    private final Shard[] shards;
+    private final int mergeThreshold;
+    private final Executor mergeExecutor;
+    private final Map<String, Integer> universityIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextUniversityId = new AtomicInteger();
+    // Not a monitor: the loader reads the database while it is held, which would pin a virtual thread
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile boolean rebuilding;
+
+    public ProfileSearchIndex(int shardCount, int mergeThreshold, Executor mergeExecutor) {
+        if (shardCount < 1 || mergeThreshold < 1) {
+            throw new IllegalArgumentException("shardCount and mergeThreshold must be positive");
+        }
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+        this.mergeThreshold = mergeThreshold;
+        this.mergeExecutor = mergeExecutor;
+    }
+
+    /**
+     * What to search for: the text is analyzed like documents are. The radius filter needs all three of
+     * latitude, longitude and radiusKm; limit is how many of the best hits to return.
+     */
+    public record Query(String text, String university, Double latitude, Double longitude, Double radiusKm,
+                        int limit) {
+
+        boolean near() {
+            return latitude != null && longitude != null && radiusKm != null;
+        }
+    }
+
+    /**
+     * distanceKm is only set for queries with a radius.
+     */
+    public record Hit(long profileId, double score, Double distanceKm) {
+    }
+
+    /**
+     * Adds the profile's document or replaces the one indexed for it.
+     */
+    public void put(SearchDocument document) {
+        if (document.university() != null) {
+            universityId(document.university());
+        }
+        stage(document.profileId(), document);
+    }
+
+    public void remove(long profileId) {
+        stage(profileId, REMOVED);
+    }
+
+    private void stage(long profileId, SearchDocument value) {
+        Shard shard = shardFor(profileId);
+        int pending;
+        synchronized (shard) {
+            shard.pending.put(profileId, value);
+            shard.segment.markStale(profileId);
+            pending = shard.pending.size();
+        }
+        if (pending >= mergeThreshold) {
+            scheduleMerge(shard);
+        }
+    }
+
+    /**
+     * Replaces the whole index with the documents the loader passes on, which must come in ascending
+     * profile ID order. Changes put while the loader runs are kept on top of the new segments.
+     */
+    public void rebuild(Consumer<Consumer<SearchDocument>> loader) {
+        rebuildLock.lock();
+        try {
+            rebuilding = true;
+            try {
+                // Everything pending now is older than what the loader reads, so the rebuild supersedes it
+                List<Map<Long, SearchDocument>> superseded = new ArrayList<>(shards.length);
+                IndexSegment.Builder[] builders = new IndexSegment.Builder[shards.length];
+                for (int i = 0; i < shards.length; i++) {
+                    superseded.add(new HashMap<>(shards[i].pending));
+                    builders[i] = new IndexSegment.Builder(this::universityId);
+                }
+                loader.accept(document -> builders[shardIndex(document.profileId())].add(document));
+                for (int i = 0; i < shards.length; i++) {
+                    install(shards[i], builders[i].build(), superseded.get(i));
+                }
+            } finally {
+                rebuilding = false;
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+        for (Shard shard : shards) {
+            if (shard.pending.size() >= mergeThreshold) {
+                scheduleMerge(shard);
+            }
+        }
+    }
+
+    /**
+     * Merges every shard's pending changes now, on the calling thread.
+     */
+    public void flush() {
+        for (Shard shard : shards) {
+            if (shard.merging.compareAndSet(false, true)) {
+                merge(shard);
+            }
+        }
+    }
+
+    /**
+     * Number of profiles indexed, pending changes included.
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.segment.liveCount();
+                for (SearchDocument document : shard.pending.values()) {
+                    if (document != REMOVED) {
+                        size++;
+                    }
+                }
+            }
+        }
+        return size;
+    }
+
+    public List<Hit> search(Query query) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.terms(query.text())));
+        if (terms.isEmpty() || query.limit() < 1) {
+            return List.of();
+        }
+        int universityId = -1;
+        if (query.university() != null && !query.university().isBlank()) {
+            Integer id = universityIds.get(universityKey(query.university()));
+            if (id == null) {
+                return List.of();
+            }
+            universityId = id;
+        }
+
+        Snapshot[] snapshots = new Snapshot[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            Shard shard = shards[i];
+            synchronized (shard) {
+                snapshots[i] = new Snapshot(shard.segment, List.copyOf(shard.pending.values()));
+            }
+        }
+        Scorer scorer = new Scorer(terms, snapshots, universityId, query);
+        return Arrays.stream(snapshots).parallel()
+                .flatMap(snapshot -> scorer.topHits(snapshot).stream())
+                .sorted(RANKING)
+                .limit(query.limit())
+                .toList();
+    }
+
+    private void scheduleMerge(Shard shard) {
+        if (!rebuilding && shard.merging.compareAndSet(false, true)) {
+            mergeExecutor.execute(() -> merge(shard));
+        }
+    }
+
+    // Runs with shard.merging held
+    private void merge(Shard shard) {
+        try {
+            Map<Long, SearchDocument> merged;
+            IndexSegment base;
+            synchronized (shard) {
+                merged = new HashMap<>(shard.pending);
+                base = shard.segment;
+            }
+            if (merged.isEmpty()) {
+                return;
+            }
+            List<SearchDocument> updates = new ArrayList<>();
+            List<Long> removed = new ArrayList<>();
+            merged.forEach((profileId, document) -> {
+                if (document == REMOVED) {
+                    removed.add(profileId);
+                } else {
+                    updates.add(document);
+                }
+            });
+            IndexSegment segment = base.merge(updates, removed, this::universityId);
+            synchronized (shard) {
+                // A rebuild finished in the meantime and already covers these changes
+                if (shard.segment != base) {
+                    return;
+                }
+                install(shard, segment, merged);
+            }
+        } finally {
+            shard.merging.set(false);
+        }
+        if (shard.pending.size() >= mergeThreshold) {
+            scheduleMerge(shard);
+        }
+    }
+
+    private static void install(Shard shard, IndexSegment segment, Map<Long, SearchDocument> covered) {
+        synchronized (shard) {
+            shard.segment = segment;
+            covered.forEach(shard.pending::remove);
+            // Whatever is still pending changed after the segment was read
+            for (Long profileId : shard.pending.keySet()) {
+                segment.markStale(profileId);
+            }
+        }
+    }
+
+    private int universityId(String university) {
+        return universityIds.computeIfAbsent(universityKey(university), key -> nextUniversityId.getAndIncrement());
+    }
+
+    private static String universityKey(String university) {
+        return university.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Shard shardFor(long profileId) {
+        return shards[shardIndex(profileId)];
+    }
+
+    private int shardIndex(long profileId) {
+        return (int) Math.floorMod(profileId, (long) shards.length);
+    }
+
+    private static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLng / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+
+    private static final class Shard {
+
+        private volatile IndexSegment segment = IndexSegment.EMPTY;
+        private final Map<Long, SearchDocument> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean merging = new AtomicBoolean();
+    }
+
+    private record Snapshot(IndexSegment segment, List<SearchDocument> pending) {
+    }
+
+    /**
+     * One query's BM25 statistics and filters. Document frequencies and lengths are summed over all
+     * shards so scores from different shards compare; copies flagged stale still count, which only
+     * shifts the statistics slightly until the next merge.
+     */
+    private final class Scorer {
+
+        private final String[] terms;
+        private final double[] idf;
+        private final double averageLength;
+        private final int universityId;
+        private final Query query;
+        private final double minLat;
+        private final double maxLat;
+        private final double minLng;
+        private final double maxLng;
+
+        Scorer(List<String> terms, Snapshot[] snapshots, int universityId, Query query) {
+            this.terms = terms.toArray(String[]::new);
+            this.universityId = universityId;
+            this.query = query;
+
+            long documents = 0;
+            long totalLength = 0;
+            long[] frequencies = new long[this.terms.length];
+            for (Snapshot snapshot : snapshots) {
+                documents += snapshot.segment().docCount();
+                totalLength += snapshot.segment().totalLength();
+                for (int t = 0; t < this.terms.length; t++) {
+                    IndexSegment.Postings postings = snapshot.segment().postings(this.terms[t]);
+                    frequencies[t] += postings == null ? 0 : postings.size();
+                }
+                for (SearchDocument document : snapshot.pending()) {
+                    if (document == REMOVED) {
+                        continue;
+                    }
+                    documents++;
+                    totalLength += document.length();
+                    for (int t = 0; t < this.terms.length; t++) {
+                        if (document.termWeights().containsKey(this.terms[t])) {
+                            frequencies[t]++;
+                        }
+                    }
+                }
+            }
+            this.averageLength = documents == 0 ? 1 : Math.max(1.0, (double) totalLength / documents);
+            this.idf = new double[this.terms.length];
+            for (int t = 0; t < this.terms.length; t++) {
+                idf[t] = Math.log(1 + (documents - frequencies[t] + 0.5) / (frequencies[t] + 0.5));
+            }
+
+            if (query.near()) {
+                double latDelta = query.radiusKm() / KM_PER_DEGREE_LATITUDE;
+                double lngDelta = query.radiusKm()
+                        / (KM_PER_DEGREE_LATITUDE * Math.max(0.01, Math.cos(Math.toRadians(query.latitude()))));
+                minLat = query.latitude() - latDelta;
+                maxLat = query.latitude() + latDelta;
+                minLng = query.longitude() - lngDelta;
+                maxLng = query.longitude() + lngDelta;
+            } else {
+                minLat = maxLat = minLng = maxLng = Double.NaN;
+            }
+        }
+
+        List<Hit> topHits(Snapshot snapshot) {
+            PriorityQueue<Hit> top = new PriorityQueue<>(query.limit() + 1, RANKING.reversed());
+            searchSegment(snapshot.segment(), top);
+            for (SearchDocument document : snapshot.pending()) {
+                if (document != REMOVED) {
+                    scorePending(document, top);
+                }
+            }
+            return new ArrayList<>(top);
+        }
+
+        // Walks the postings side by side, driven by the shortest list
+        private void searchSegment(IndexSegment segment, PriorityQueue<Hit> top) {
+            IndexSegment.Postings[] lists = new IndexSegment.Postings[terms.length];
+            Integer[] order = new Integer[terms.length];
+            for (int t = 0; t < terms.length; t++) {
+                lists[t] = segment.postings(terms[t]);
+                if (lists[t] == null) {
+                    return;
+                }
+                order[t] = t;
+            }
+            Arrays.sort(order, Comparator.comparingInt(t -> lists[t].size()));
+            int[] cursors = new int[terms.length];
+            int[] weights = new int[terms.length];
+            IndexSegment.Postings lead = lists[order[0]];
+
+            candidates:
+            for (int i = 0; i < lead.size(); i++) {
+                int doc = lead.docs()[i];
+                weights[order[0]] = lead.weights()[i];
+                for (int o = 1; o < order.length; o++) {
+                    int t = order[o];
+                    int[] docs = lists[t].docs();
+                    int cursor = advance(docs, cursors[t], doc);
+                    cursors[t] = cursor;
+                    if (cursor == docs.length) {
+                        return;
+                    }
+                    if (docs[cursor] != doc) {
+                        continue candidates;
+                    }
+                    weights[t] = lists[t].weights()[cursor];
+                }
+                if (segment.isStale(doc)
+                        || (universityId >= 0 && segment.universityId(doc) != universityId)) {
+                    continue;
+                }
+                Double distance = null;
+                if (query.near()) {
+                    distance = distance(segment.latitude(doc), segment.longitude(doc));
+                    if (distance == null) {
+                        continue;
+                    }
+                }
+                offer(top, new Hit(segment.profileId(doc), score(weights, segment.length(doc)), distance));
+            }
+        }
+
+        private void scorePending(SearchDocument document, PriorityQueue<Hit> top) {
+            int[] weights = new int[terms.length];
+            for (int t = 0; t < terms.length; t++) {
+                Integer weight = document.termWeights().get(terms[t]);
+                if (weight == null) {
+                    return;
+                }
+                weights[t] = weight;
+            }
+            if (universityId >= 0
+                    && (document.university() == null || universityId(document.university()) != universityId)) {
+                return;
+            }
+            Double distance = null;
+            if (query.near()) {
+                if (document.latitude() == null) {
+                    return;
+                }
+                distance = distance(document.latitude(), document.longitude());
+                if (distance == null) {
+                    return;
+                }
+            }
+            offer(top, new Hit(document.profileId(), score(weights, document.length()), distance));
+        }
+
+        private double score(int[] weights, int length) {
+            double norm = K1 * (1 - B + B * length / averageLength);
+            double score = 0;
+            for (int t = 0; t < terms.length; t++) {
+                double tf = (double) weights[t] / SearchDocument.TEXT_WEIGHT;
+                score += idf[t] * tf * (K1 + 1) / (tf + norm);
+            }
+            return score;
+        }
+
+        // Null when outside the radius (or the document has no location)
+        private Double distance(double latitude, double longitude) {
+            if (Double.isNaN(latitude) || latitude < minLat || latitude > maxLat
+                    || longitude < minLng || longitude > maxLng) {
+                return null;
+            }
+            double distance = distanceKm(query.latitude(), query.longitude(), latitude, longitude);
+            return distance <= query.radiusKm() ? distance : null;
+        }
+
+        private void offer(PriorityQueue<Hit> top, Hit hit) {
+            if (top.size() < query.limit()) {
+                top.add(hit);
+            } else if (RANKING.compare(hit, top.peek()) < 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+    }
+
+    // First position at or after from whose doc is >= target: gallop, then binary search
+    static int advance(int[] docs, int from, int target) {
+        if (from >= docs.length || docs[from] >= target) {
+            return from;
+        }
+        int step = 1;
+        int low = from;
+        int high = from + 1;
+        while (high < docs.length && docs[high] < target) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        high = Math.min(high, docs.length);
+        int found = Arrays.binarySearch(docs, low + 1, high, target);
+        return found >= 0 ? found : -found - 1;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.skillswap.service.search;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One profile as the index sees it: weighted term frequencies plus the fields search filters on.
+ * latitude/longitude are null unless the profile shares its location.
+ */
+public record SearchDocument(long profileId, long userId, String university, Double latitude, Double longitude,
+                             Map<String, Integer> termWeights, int length) {
+
+    // Field weights, in units of one bio word: a skill counts three times as much
+    public static final int SKILL_WEIGHT = 6;
+    public static final int MAJOR_WEIGHT = 4;
+    public static final int INTEREST_WEIGHT = 3;
+    public static final int TEXT_WEIGHT = 2;
+
+    public static Builder builder(long profileId, long userId) {
+        return new Builder(profileId, userId);
+    }
+
+    public static final class Builder {
+
+        private final long profileId;
+        private final long userId;
+        private String university;
+        private Double latitude;
+        private Double longitude;
+        private final Map<String, Integer> termWeights = new HashMap<>();
+        private int length;
+
+        private Builder(long profileId, long userId) {
+            this.profileId = profileId;
+            this.userId = userId;
+        }
+
+        public Builder university(String university) {
+            this.university = university;
+            return this;
+        }
+
+        public Builder location(Double latitude, Double longitude) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            return this;
+        }
+
+        public Builder text(String text, int weight) {
+            for (String term : TextAnalyzer.terms(text)) {
+                termWeights.merge(term, weight, Integer::sum);
+                length += weight;
+            }
+            return this;
+        }
+
+        public SearchDocument build() {
+            boolean located = latitude != null && longitude != null;
+            return new SearchDocument(profileId, userId, university,
+                    located ? latitude : null, located ? longitude : null, Map.copyOf(termWeights), length);
+        }
+    }
+}
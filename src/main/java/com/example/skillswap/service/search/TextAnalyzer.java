@@ -0,0 +1,79 @@
+package com.example.skillswap.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits profile text and search queries into index terms: lower-cased runs of letters and digits
+ * (keeping + and #, for C++ and C#), without stop words, with plurals reduced to the singular.
+ * Documents and queries go through the same steps, so "Kubernetes clusters" finds "kubernetes cluster".
+ */
+public final class TextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "i", "im", "in", "is", "it",
+            "me", "my", "of", "on", "or", "so", "that", "the", "to", "with", "who");
+
+    private TextAnalyzer() {
+    }
+
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean tokenChar = i < lower.length() && isTokenChar(lower.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                addTerm(terms, lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static boolean isTokenChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#' || c == '\'';
+    }
+
+    private static void addTerm(List<String> terms, String token) {
+        // Leading symbols and possessives are punctuation, not part of the word
+        int begin = 0;
+        while (begin < token.length() && !Character.isLetterOrDigit(token.charAt(begin))) {
+            begin++;
+        }
+        String word = token.substring(begin);
+        if (word.endsWith("'s")) {
+            word = word.substring(0, word.length() - 2);
+        }
+        word = word.replace("'", "");
+        if (word.isEmpty() || STOP_WORDS.contains(word)) {
+            return;
+        }
+        terms.add(singular(word));
+    }
+
+    // Light stemming: plural forms only, which is where most query/document mismatches come from
+    static String singular(String word) {
+        int length = word.length();
+        if (length <= 3 || !Character.isLetter(word.charAt(length - 1))) {
+            return word;
+        }
+        if (word.endsWith("ies") && length > 4) {
+            return word.substring(0, length - 3) + "y";
+        }
+        if (word.endsWith("sses") || word.endsWith("shes") || word.endsWith("ches") || word.endsWith("xes")) {
+            return word.substring(0, length - 2);
+        }
+        if (word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us") && !word.endsWith("is")) {
+            return word.substring(0, length - 1);
+        }
+        return word;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.skillswap.service.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Keeps uploads in a directory on the local filesystem (the default).
+ */
+@Component
+@ConditionalOnProperty(name = "skillswap.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalStorageBackend implements StorageBackend {
+
+    private final Path root;
+
+    public LocalStorageBackend(@Value("${skillswap.upload.dir:uploads}") String uploadDir) throws IOException {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Files.createDirectories(this.root);
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        Path target = locate(key);
+        if (target == null) {
+            throw new IllegalArgumentException("Invalid storage key: " + key);
+        }
+        if (!Files.exists(target)) {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        Path path = locate(key);
+        return path != null && Files.exists(path);
+    }
+
+    @Override
+    public Optional<Path> localFile(String key) {
+        Path path = locate(key);
+        if (path == null || !Files.isRegularFile(path) || !Files.isReadable(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(path);
+    }
+
+    @Override
+    public Optional<URI> presignedUrl(String key) {
+        return Optional.empty();
+    }
+
+    private Path locate(String key) {
+        if (key == null || key.isBlank() || key.contains("/") || key.contains("\\")) {
+            return null;
+        }
+        Path path = root.resolve(key).normalize();
+        return path.startsWith(root) ? path : null;
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.skillswap.service.storage;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Stores uploads in an S3 bucket so every node sees the same photos.
+ * Large files go up as a multipart upload with parts sent in parallel; reads are served
+ * through presigned GET URLs. Any S3-compatible endpoint (MinIO, LocalStack) works via
+ * {@code skillswap.storage.s3.endpoint} and path-style access.
+ */
+@Component
+@ConditionalOnProperty(name = "skillswap.storage.type", havingValue = "s3")
+public class S3StorageBackend implements StorageBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3StorageBackend.class);
+
+    // S3 rejects non-final parts smaller than 5 MiB
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    private final S3Client s3;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final long partSize;
+    private final Duration presignTtl;
+    private final ExecutorService partUploader;
+
+    public S3StorageBackend(@Value("${skillswap.storage.s3.bucket}") String bucket,
+                            @Value("${skillswap.storage.s3.region:us-east-1}") String region,
+                            @Value("${skillswap.storage.s3.endpoint:}") String endpoint,
+                            @Value("${skillswap.storage.s3.path-style-access:false}") boolean pathStyleAccess,
+                            @Value("${skillswap.storage.s3.access-key:}") String accessKey,
+                            @Value("${skillswap.storage.s3.secret-key:}") String secretKey,
+                            @Value("${skillswap.storage.s3.part-size:8MB}") DataSize partSize,
+                            @Value("${skillswap.storage.s3.upload-parallelism:4}") int uploadParallelism,
+                            @Value("${skillswap.storage.s3.presign-ttl:15m}") Duration presignTtl) {
+        AwsCredentialsProvider credentials = StringUtils.hasText(accessKey)
+                ? StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey))
+                : DefaultCredentialsProvider.create();
+        S3Configuration s3Configuration = S3Configuration.builder()
+                .pathStyleAccessEnabled(pathStyleAccess)
+                .build();
+
+        var clientBuilder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(s3Configuration);
+        var presignerBuilder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(s3Configuration);
+        if (StringUtils.hasText(endpoint)) {
+            clientBuilder.endpointOverride(URI.create(endpoint));
+            presignerBuilder.endpointOverride(URI.create(endpoint));
+        }
+
+        this.s3 = clientBuilder.build();
+        this.presigner = presignerBuilder.build();
+        this.bucket = bucket;
+        this.partSize = Math.max(partSize.toBytes(), MIN_PART_SIZE);
+        this.presignTtl = presignTtl;
+        this.partUploader = Executors.newFixedThreadPool(Math.max(uploadParallelism, 1), runnable -> {
+            Thread thread = new Thread(runnable, "s3-part-upload");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        long size = Files.size(source);
+        if (size <= partSize) {
+            s3.putObject(b -> b.bucket(bucket).key(key).contentType(contentType), RequestBody.fromFile(source));
+            return;
+        }
+        putMultipart(key, source, size, contentType);
+    }
+
+    private void putMultipart(String key, Path source, long size, String contentType) throws IOException {
+        String uploadId = s3.createMultipartUpload(b -> b.bucket(bucket).key(key).contentType(contentType)).uploadId();
+        try {
+            List<Future<CompletedPart>> futures = new ArrayList<>();
+            int partNumber = 1;
+            for (long offset = 0; offset < size; offset += partSize, partNumber++) {
+                long length = Math.min(partSize, size - offset);
+                int number = partNumber;
+                long start = offset;
+                futures.add(partUploader.submit(() -> uploadPart(key, uploadId, number, source, start, length)));
+            }
+
+            List<CompletedPart> parts = new ArrayList<>(futures.size());
+            for (Future<CompletedPart> future : futures) {
+                parts.add(future.get());
+            }
+            parts.sort(Comparator.comparing(CompletedPart::partNumber));
+
+            s3.completeMultipartUpload(b -> b.bucket(bucket).key(key).uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(key, uploadId);
+            throw new IOException("Interrupted while uploading " + key, e);
+        } catch (ExecutionException | RuntimeException e) {
+            abort(key, uploadId);
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            throw new IOException("Multipart upload failed for " + key, cause);
+        }
+    }
+
+    private CompletedPart uploadPart(String key, String uploadId, int partNumber, Path source, long offset, long length) {
+        // Each part reads its own slice, so parts can be sent concurrently from one file
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.flip();
+
+        String etag = s3.uploadPart(b -> b.bucket(bucket).key(key).uploadId(uploadId)
+                        .partNumber(partNumber).contentLength(length),
+                RequestBody.fromByteBuffer(buffer)).eTag();
+        return CompletedPart.builder().partNumber(partNumber).eTag(etag).build();
+    }
+
+    private void abort(String key, String uploadId) {
+        try {
+            s3.abortMultipartUpload(b -> b.bucket(bucket).key(key).uploadId(uploadId));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to abort multipart upload {} for {}: {}", uploadId, key, e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        try {
+            s3.headObject(b -> b.bucket(bucket).key(key));
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<Path> localFile(String key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<URI> presignedUrl(String key) {
+        var request = presigner.presignGetObject(b -> b.signatureDuration(presignTtl)
+                .getObjectRequest(g -> g.bucket(bucket).key(key)));
+        try {
+            return Optional.of(request.url().toURI());
+        } catch (URISyntaxException e) {
+            return Optional.empty();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        partUploader.shutdownNow();
+        presigner.close();
+        s3.close();
+    }
+}
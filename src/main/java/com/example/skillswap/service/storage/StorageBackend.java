@@ -0,0 +1,30 @@
+package com.example.skillswap.service.storage;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Where uploaded photo bytes live. Keys are the content-hashed names produced by
+ * {@link com.example.skillswap.service.FileStorageService}, so an object is written once and never changes.
+ */
+public interface StorageBackend {
+
+    /**
+     * Store a staged local file under the given key. The backend may move or consume the source file.
+     */
+    void put(String key, Path source, String contentType) throws IOException;
+
+    boolean exists(String key);
+
+    /**
+     * The file on this node's disk, for backends that keep bytes locally.
+     */
+    Optional<Path> localFile(String key);
+
+    /**
+     * A time-limited URL the browser can fetch directly, for backends that support it.
+     */
+    Optional<URI> presignedUrl(String key);
+}
@@ -0,0 +1,268 @@
+-- SkillSwap baseline schema
+-- The schema schema.sql used to create, with the old migration-*.sql scripts folded in. Written to be
+-- re-runnable: databases created before Flyway are baselined at version 0 (see application.properties),
+-- so this script also brings one that missed some of those scripts up to date without touching its data.
+
+
+-- USERS
+
+CREATE TABLE IF NOT EXISTS users (
+    user_id SERIAL PRIMARY KEY,
+    email VARCHAR(255) UNIQUE NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    first_name VARCHAR(100),
+    last_name VARCHAR(100),
+    date_of_birth DATE,
+    university VARCHAR(255),
+    email_verified BOOLEAN DEFAULT FALSE,
+    latitude DECIMAL(10, 8),
+    longitude DECIMAL(11, 8),
+    show_location BOOLEAN DEFAULT FALSE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    last_login TIMESTAMP
+);
+
+-- (was migration-add-user-geolocation.sql)
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS latitude DECIMAL(10, 8),
+    ADD COLUMN IF NOT EXISTS longitude DECIMAL(11, 8),
+    ADD COLUMN IF NOT EXISTS show_location BOOLEAN DEFAULT FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_users_location ON users(latitude, longitude) WHERE show_location = TRUE;
+
+-- Login looks users up by lower(email); also makes emails unique regardless of case.
+-- Fails if two existing accounts differ only by email case; find them first with:
+--   SELECT lower(email), COUNT(*) FROM users GROUP BY lower(email) HAVING COUNT(*) > 1;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_users_email_lower ON users (lower(email));
+
+
+-- PROFILE
+
+CREATE TABLE IF NOT EXISTS profile (
+    profile_id SERIAL PRIMARY KEY,
+    user_id INT REFERENCES users(user_id) ON DELETE CASCADE,
+    major VARCHAR(255),
+    year VARCHAR(50),
+    bio TEXT,
+    location VARCHAR(255),
+    latitude DECIMAL(10, 8),
+    longitude DECIMAL(11, 8),
+    show_location BOOLEAN DEFAULT FALSE,
+    career_goals TEXT,
+    availability VARCHAR(100),
+    linkedin VARCHAR(255),
+    github VARCHAR(255),
+    portfolio VARCHAR(255),
+    career VARCHAR(255),
+    career_experience TEXT,
+    research_publications TEXT,
+    awards TEXT,
+    profile_complete BOOLEAN DEFAULT FALSE,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- (was migration-add-geolocation.sql and migration-add-profile-fields.sql)
+ALTER TABLE profile
+    ADD COLUMN IF NOT EXISTS latitude DECIMAL(10, 8),
+    ADD COLUMN IF NOT EXISTS longitude DECIMAL(11, 8),
+    ADD COLUMN IF NOT EXISTS show_location BOOLEAN DEFAULT FALSE,
+    ADD COLUMN IF NOT EXISTS career VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS career_experience TEXT,
+    ADD COLUMN IF NOT EXISTS research_publications TEXT,
+    ADD COLUMN IF NOT EXISTS awards TEXT;
+
+CREATE INDEX IF NOT EXISTS idx_profile_location ON profile(latitude, longitude) WHERE show_location = TRUE;
+-- The combined profile view (/api/profiles/user/{userId}/full) finds the profile by user_id
+CREATE INDEX IF NOT EXISTS idx_profile_userid ON profile(user_id);
+
+
+-- PROFILE_PHOTO
+
+CREATE TABLE IF NOT EXISTS profile_photo (
+    photo_id SERIAL PRIMARY KEY,
+    profile_id INT REFERENCES profile(profile_id) ON DELETE CASCADE,
+    photo_url VARCHAR(255),
+    is_primary BOOLEAN DEFAULT TRUE,
+    uploaded_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Batch card rendering looks up the primary photo for many profiles at once
+CREATE INDEX IF NOT EXISTS idx_profile_photo_primary ON profile_photo(profile_id, is_primary);
+
+
+-- SKILL
+
+CREATE TABLE IF NOT EXISTS skills (
+    skill_id SERIAL PRIMARY KEY,
+    skill_name VARCHAR(100) NOT NULL UNIQUE,
+    skill_category VARCHAR(100),
+    description TEXT
+);
+
+
+-- USER_SKILL
+
+CREATE TABLE IF NOT EXISTS user_skill (
+    skill_id SERIAL PRIMARY KEY,
+    user_id INT REFERENCES users(user_id) ON DELETE CASCADE,
+    skill_name VARCHAR(255) NOT NULL,
+    skill_level VARCHAR(100),
+    offering BOOLEAN DEFAULT FALSE,
+    seeking BOOLEAN DEFAULT FALSE
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_skill_userid ON user_skill(user_id);
+
+
+-- USER_INTEREST
+
+CREATE TABLE IF NOT EXISTS user_interest (
+    interest_id SERIAL PRIMARY KEY,
+    user_id INT REFERENCES users(user_id) ON DELETE CASCADE,
+    interest_name VARCHAR(255) NOT NULL,
+    category VARCHAR(100)
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_interest_userid ON user_interest(user_id);
+
+
+-- USER_ORGANIZATION
+
+CREATE TABLE IF NOT EXISTS user_organization (
+    org_id SERIAL PRIMARY KEY,
+    user_id INT REFERENCES users(user_id) ON DELETE CASCADE,
+    organization_name VARCHAR(255) NOT NULL,
+    role VARCHAR(100)
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_organization_userid ON user_organization(user_id);
+
+
+-- USER_LANGUAGE
+
+CREATE TABLE IF NOT EXISTS user_language (
+    language_id SERIAL PRIMARY KEY,
+    user_id INT REFERENCES users(user_id) ON DELETE CASCADE,
+    language_name VARCHAR(100) NOT NULL,
+    proficiency_level VARCHAR(50)
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_language_userid ON user_language(user_id);
+
+
+-- Hibernate reserves 50 IDs per nextval (allocationSize = 50, pooled-lo) for skills, interests,
+-- languages and organizations, so their sequences step by 50 (was migration-pooled-collection-sequences.sql)
+ALTER SEQUENCE user_skill_skill_id_seq INCREMENT BY 50;
+ALTER SEQUENCE user_interest_interest_id_seq INCREMENT BY 50;
+ALTER SEQUENCE user_language_language_id_seq INCREMENT BY 50;
+ALTER SEQUENCE user_organization_org_id_seq INCREMENT BY 50;
+
+
+-- SWIPE
+
+CREATE TABLE IF NOT EXISTS swipe (
+    swipe_id SERIAL PRIMARY KEY,
+    swiper_id INT REFERENCES users(user_id) ON DELETE CASCADE,
+    swipee_id INT REFERENCES users(user_id) ON DELETE CASCADE,
+    is_like BOOLEAN DEFAULT FALSE,
+    swiped_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT unique_swipe UNIQUE (swiper_id, swipee_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_swipe_swiper ON swipe(swiper_id);
+CREATE INDEX IF NOT EXISTS idx_swipe_swipee ON swipe(swipee_id);
+
+
+-- MATCH
+
+CREATE TABLE IF NOT EXISTS match (
+    match_id SERIAL PRIMARY KEY,
+    user1_id INT REFERENCES users(user_id) ON DELETE CASCADE,
+    user2_id INT REFERENCES users(user_id) ON DELETE CASCADE,
+    matched_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    is_active BOOLEAN DEFAULT TRUE,
+    CONSTRAINT unique_match UNIQUE (user1_id, user2_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_match_user1 ON match(user1_id);
+CREATE INDEX IF NOT EXISTS idx_match_user2 ON match(user2_id);
+
+
+-- SWIPE EVENT LOG (append-only; used when skillswap.swipes.async.enabled=true)
+
+CREATE TABLE IF NOT EXISTS swipe_event (
+    event_id BIGSERIAL PRIMARY KEY,
+    swiper_id INT NOT NULL REFERENCES users(user_id) ON DELETE CASCADE,
+    swipee_id INT NOT NULL REFERENCES users(user_id) ON DELETE CASCADE,
+    is_like BOOLEAN NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- How far each consumer has read the log
+CREATE TABLE IF NOT EXISTS swipe_event_cursor (
+    consumer VARCHAR(100) PRIMARY KEY,
+    last_event_id BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO swipe_event_cursor (consumer, last_event_id) VALUES ('match-detector', 0)
+ON CONFLICT (consumer) DO NOTHING;
+
+
+-- MESSAGE
+
+CREATE TABLE IF NOT EXISTS message (
+    message_id SERIAL PRIMARY KEY,
+    match_id INT REFERENCES match(match_id) ON DELETE CASCADE,
+    sender_id INT REFERENCES users(user_id) ON DELETE CASCADE,
+    message_content TEXT NOT NULL,
+    is_read BOOLEAN DEFAULT FALSE,
+    sent_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_message_matchid ON message(match_id);
+CREATE INDEX IF NOT EXISTS idx_message_senderid ON message(sender_id);
+
+
+-- RECORD_SWIPE
+-- Used by SwipeService when skillswap.swipes.use-db-function=true (the default).
+-- Upserts a swipe and, for a like that completes a mutual like, creates the match, in one call.
+-- The advisory lock on the user pair serialises concurrent swipes between the same two users, so
+-- simultaneous mutual likes can neither both miss the match nor both insert it.
+CREATE OR REPLACE FUNCTION record_swipe(p_swiper BIGINT, p_swipee BIGINT, p_like BOOLEAN)
+RETURNS TABLE (new_swipe_id BIGINT, new_match_id BIGINT, match_created BOOLEAN)
+LANGUAGE plpgsql AS $$
+DECLARE
+    v_swipe_id BIGINT;
+    v_match_id BIGINT;
+    v_created BOOLEAN := FALSE;
+BEGIN
+    PERFORM pg_advisory_xact_lock(LEAST(p_swiper, p_swipee)::INT, GREATEST(p_swiper, p_swipee)::INT);
+
+    INSERT INTO swipe AS s (swiper_id, swipee_id, is_like, swiped_at)
+    VALUES (p_swiper, p_swipee, p_like, CURRENT_TIMESTAMP)
+    ON CONFLICT (swiper_id, swipee_id)
+    DO UPDATE SET is_like = EXCLUDED.is_like, swiped_at = EXCLUDED.swiped_at
+    RETURNING s.swipe_id INTO v_swipe_id;
+
+    IF p_like AND EXISTS (
+        SELECT 1 FROM swipe r
+        WHERE r.swiper_id = p_swipee AND r.swipee_id = p_swiper AND r.is_like
+    ) THEN
+        SELECT m.match_id INTO v_match_id
+        FROM match m
+        WHERE (m.user1_id = p_swiper AND m.user2_id = p_swipee)
+           OR (m.user1_id = p_swipee AND m.user2_id = p_swiper);
+
+        IF v_match_id IS NULL THEN
+            INSERT INTO match AS m (user1_id, user2_id, matched_at, is_active)
+            VALUES (p_swiper, p_swipee, CURRENT_TIMESTAMP, TRUE)
+            ON CONFLICT (user1_id, user2_id) DO NOTHING
+            RETURNING m.match_id INTO v_match_id;
+            v_created := v_match_id IS NOT NULL;
+        END IF;
+    END IF;
+
+    RETURN QUERY SELECT v_swipe_id, v_match_id, v_created;
+END;
+$$;
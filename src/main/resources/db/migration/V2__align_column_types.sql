@@ -0,0 +1,69 @@
+-- Match column types to the entity mappings so ddl-auto=validate accepts the schema:
+-- ids and user/match references are Long (BIGINT), coordinates are Double (DOUBLE PRECISION).
+-- Columns that already have these types (e.g. a database Hibernate created) are left as they are;
+-- the others are rewritten once, which takes a while on large swipe and message tables.
+
+ALTER TABLE users
+    ALTER COLUMN user_id TYPE BIGINT,
+    ALTER COLUMN latitude TYPE DOUBLE PRECISION,
+    ALTER COLUMN longitude TYPE DOUBLE PRECISION;
+
+ALTER TABLE profile
+    ALTER COLUMN profile_id TYPE BIGINT,
+    ALTER COLUMN user_id TYPE BIGINT,
+    ALTER COLUMN latitude TYPE DOUBLE PRECISION,
+    ALTER COLUMN longitude TYPE DOUBLE PRECISION;
+
+ALTER TABLE profile_photo
+    ALTER COLUMN photo_id TYPE BIGINT,
+    ALTER COLUMN profile_id TYPE BIGINT;
+
+ALTER TABLE skills ALTER COLUMN skill_id TYPE BIGINT;
+
+ALTER TABLE user_skill
+    ALTER COLUMN skill_id TYPE BIGINT,
+    ALTER COLUMN user_id TYPE BIGINT;
+
+ALTER TABLE user_interest
+    ALTER COLUMN interest_id TYPE BIGINT,
+    ALTER COLUMN user_id TYPE BIGINT;
+
+ALTER TABLE user_organization
+    ALTER COLUMN org_id TYPE BIGINT,
+    ALTER COLUMN user_id TYPE BIGINT;
+
+ALTER TABLE user_language
+    ALTER COLUMN language_id TYPE BIGINT,
+    ALTER COLUMN user_id TYPE BIGINT;
+
+ALTER TABLE swipe
+    ALTER COLUMN swipe_id TYPE BIGINT,
+    ALTER COLUMN swiper_id TYPE BIGINT,
+    ALTER COLUMN swipee_id TYPE BIGINT;
+
+ALTER TABLE match
+    ALTER COLUMN match_id TYPE BIGINT,
+    ALTER COLUMN user1_id TYPE BIGINT,
+    ALTER COLUMN user2_id TYPE BIGINT;
+
+ALTER TABLE swipe_event
+    ALTER COLUMN swiper_id TYPE BIGINT,
+    ALTER COLUMN swipee_id TYPE BIGINT;
+
+ALTER TABLE message
+    ALTER COLUMN message_id TYPE BIGINT,
+    ALTER COLUMN match_id TYPE BIGINT,
+    ALTER COLUMN sender_id TYPE BIGINT;
+
+-- SERIAL sequences stop at 2^31 - 1 unless widened too
+ALTER SEQUENCE IF EXISTS users_user_id_seq AS BIGINT;
+ALTER SEQUENCE IF EXISTS profile_profile_id_seq AS BIGINT;
+ALTER SEQUENCE IF EXISTS profile_photo_photo_id_seq AS BIGINT;
+ALTER SEQUENCE IF EXISTS skills_skill_id_seq AS BIGINT;
+ALTER SEQUENCE IF EXISTS user_skill_skill_id_seq AS BIGINT;
+ALTER SEQUENCE IF EXISTS user_interest_interest_id_seq AS BIGINT;
+ALTER SEQUENCE IF EXISTS user_organization_org_id_seq AS BIGINT;
+ALTER SEQUENCE IF EXISTS user_language_language_id_seq AS BIGINT;
+ALTER SEQUENCE IF EXISTS swipe_swipe_id_seq AS BIGINT;
+ALTER SEQUENCE IF EXISTS match_match_id_seq AS BIGINT;
+ALTER SEQUENCE IF EXISTS message_message_id_seq AS BIGINT;
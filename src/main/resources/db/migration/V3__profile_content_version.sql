@@ -0,0 +1,5 @@
+-- Version stamp for conditional GETs (ETag / Last-Modified). Advanced by ContentVersionService whenever
+-- the user's profile, skills, interests, languages, organizations or photos change; JPA never writes it.
+ALTER TABLE profile
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    ADD COLUMN IF NOT EXISTS content_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- The profile search index on every node picks up profile, skill and interest changes made on other
+-- nodes by polling for recently bumped profiles (ContentVersionService advances updated_at on every write)
+CREATE INDEX IF NOT EXISTS idx_profile_updated_at ON profile(updated_at);
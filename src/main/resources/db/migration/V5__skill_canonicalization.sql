@@ -0,0 +1,35 @@
+-- Catalogue skill a free-text user_skill.skill_name resolves to (SkillCanonicalizer); NULL when nothing
+-- in the catalogue matches. Matching compares these IDs instead of names.
+ALTER TABLE user_skill
+    ADD COLUMN IF NOT EXISTS canonical_skill_id BIGINT REFERENCES skills(skill_id) ON DELETE SET NULL;
+
+CREATE INDEX IF NOT EXISTS idx_user_skill_canonical ON user_skill(canonical_skill_id);
+
+-- Alternative spellings and abbreviations, mapped to a catalogue skill by name so entries for skills the
+-- catalogue does not have yet simply stay unused
+CREATE TABLE IF NOT EXISTS skill_synonym (
+    synonym VARCHAR(100) PRIMARY KEY,
+    skill_name VARCHAR(100) NOT NULL
+);
+
+INSERT INTO skill_synonym (synonym, skill_name) VALUES
+    ('js', 'JavaScript'),
+    ('ecmascript', 'JavaScript'),
+    ('ts', 'TypeScript'),
+    ('golang', 'Go'),
+    ('py', 'Python'),
+    ('cpp', 'C++'),
+    ('c plus plus', 'C++'),
+    ('csharp', 'C#'),
+    ('k8s', 'Kubernetes'),
+    ('ml', 'Machine Learning'),
+    ('reactjs', 'React'),
+    ('react.js', 'React'),
+    ('spring boot', 'Spring'),
+    ('stats', 'Statistics'),
+    ('calc', 'Calculus'),
+    ('ms excel', 'Excel'),
+    ('microsoft excel', 'Excel'),
+    ('espanol', 'Spanish'),
+    ('español', 'Spanish')
+ON CONFLICT (synonym) DO NOTHING;
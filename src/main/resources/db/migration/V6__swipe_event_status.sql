@@ -0,0 +1,17 @@
+-- The swipe log consumer tracks each event instead of a read position. event_id is taken at insert,
+-- not at commit, so a transaction can commit an event below the position a cursor has already passed;
+-- a pending flag picks it up whenever it commits. Events that keep failing are parked as FAILED.
+
+ALTER TABLE swipe_event ADD COLUMN IF NOT EXISTS status VARCHAR(10) NOT NULL DEFAULT 'PENDING';
+ALTER TABLE swipe_event ADD COLUMN IF NOT EXISTS attempts INT NOT NULL DEFAULT 0;
+ALTER TABLE swipe_event ADD COLUMN IF NOT EXISTS last_error VARCHAR(500);
+
+-- Everything the old cursor had passed is applied
+UPDATE swipe_event e SET status = 'APPLIED'
+FROM swipe_event_cursor c
+WHERE c.consumer = 'match-detector' AND e.event_id <= c.last_event_id;
+
+-- The consumer reads the oldest pending events; applied ones drop out of this index
+CREATE INDEX IF NOT EXISTS idx_swipe_event_pending ON swipe_event(event_id) WHERE status = 'PENDING';
+
+DROP TABLE IF EXISTS swipe_event_cursor;
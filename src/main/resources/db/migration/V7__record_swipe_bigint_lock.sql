@@ -0,0 +1,41 @@
+-- record_swipe() locked the user pair with the two-int form of pg_advisory_xact_lock, casting the
+-- BIGINT user IDs to INT, so every swipe involving an ID above 2^31 - 1 failed with "integer out of
+-- range". The pair is now hashed to the single BIGINT key form. SwipeService's batch path takes the
+-- same key. Pairs whose hashes collide only share a lock.
+CREATE OR REPLACE FUNCTION record_swipe(p_swiper BIGINT, p_swipee BIGINT, p_like BOOLEAN)
+RETURNS TABLE (new_swipe_id BIGINT, new_match_id BIGINT, match_created BOOLEAN)
+LANGUAGE plpgsql AS $$
+DECLARE
+    v_swipe_id BIGINT;
+    v_match_id BIGINT;
+    v_created BOOLEAN := FALSE;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtextextended(LEAST(p_swiper, p_swipee) || ':' || GREATEST(p_swiper, p_swipee), 0));
+
+    INSERT INTO swipe AS s (swiper_id, swipee_id, is_like, swiped_at)
+    VALUES (p_swiper, p_swipee, p_like, CURRENT_TIMESTAMP)
+    ON CONFLICT (swiper_id, swipee_id)
+    DO UPDATE SET is_like = EXCLUDED.is_like, swiped_at = EXCLUDED.swiped_at
+    RETURNING s.swipe_id INTO v_swipe_id;
+
+    IF p_like AND EXISTS (
+        SELECT 1 FROM swipe r
+        WHERE r.swiper_id = p_swipee AND r.swipee_id = p_swiper AND r.is_like
+    ) THEN
+        SELECT m.match_id INTO v_match_id
+        FROM match m
+        WHERE (m.user1_id = p_swiper AND m.user2_id = p_swipee)
+           OR (m.user1_id = p_swipee AND m.user2_id = p_swiper);
+
+        IF v_match_id IS NULL THEN
+            INSERT INTO match AS m (user1_id, user2_id, matched_at, is_active)
+            VALUES (p_swiper, p_swipee, CURRENT_TIMESTAMP, TRUE)
+            ON CONFLICT (user1_id, user2_id) DO NOTHING
+            RETURNING m.match_id INTO v_match_id;
+            v_created := v_match_id IS NOT NULL;
+        END IF;
+    END IF;
+
+    RETURN QUERY SELECT v_swipe_id, v_match_id, v_created;
+END;
+$$;
@@ -0,0 +1,7 @@
+-- Default test users for local development (login: test@example.com / 12345).
+-- Only applied where spring.flyway.locations includes classpath:db/seed; re-applied if this file changes.
+INSERT INTO users (email, password_hash, first_name, last_name, university, email_verified, latitude, longitude)
+VALUES
+  ('test@example.com', '12345', 'Test', 'User', 'MGA', TRUE, 32.811818, -83.731341),
+  ('test2@example.com', '12345', 'Second', 'User', 'MGA', TRUE, 32.616361, -83.607028)
+ON CONFLICT DO NOTHING;
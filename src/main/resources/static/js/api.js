@@ -31,7 +31,9 @@ async function apiCall(endpoint, options = {}) {
         
         if (!response.ok) {
             const error = await response.json().catch(() => ({ message: 'Unknown error' }));
-            throw new Error(error.message || `HTTP error! status: ${response.status}`);
+            const failure = new Error(error.message || `HTTP error! status: ${response.status}`);
+            failure.status = response.status;
+            throw failure;
         }
         
         return await response.json();
@@ -79,6 +81,10 @@ const SwipeAPI = {
         method: 'POST',
         body: swipeData
     }),
+    createBatch: (batchData) => apiCall('/api/swipes/batch', {
+        method: 'POST',
+        body: batchData
+    }),
     getByUser: (userId) => apiCall(`/api/swipes/user/${userId}`)
 };
 
@@ -107,8 +113,15 @@ const SkillAPI = {
     })
 };
 
+// Photo API
+const PhotoAPI = {
+    getByProfile: (profileId) => apiCall(`/api/photos/${profileId}`),
+    // Map of profileId -> primary photo URL for many cards in one request
+    getPrimary: (profileIds) => apiCall(`/api/photos/primary?profileIds=${profileIds.join(',')}`)
+};
+
 // Export for use in other scripts
 if (typeof module !== 'undefined' && module.exports) {
-    module.exports = { UserAPI, ProfileAPI, SwipeAPI, MatchAPI, MessageAPI, SkillAPI };
+    module.exports = { UserAPI, ProfileAPI, SwipeAPI, MatchAPI, MessageAPI, SkillAPI, PhotoAPI };
 }
 
@@ -1,5 +1,5 @@
 -- Test Data for SkillSwap
--- Run this after schema.sql to populate the database with test users
+-- Run this after the Flyway migrations (start the app once) to populate the database with test users
 
 -- Insert test users
 INSERT INTO users (email, password_hash, first_name, last_name, date_of_birth, university, email_verified)
@@ -0,0 +1,72 @@
+package com.example.skillswap.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a recommendations response (GET /api/matches/recommendations/{userId}).
+ * 50 is the most the endpoint returns; 1000 shows how cost scales with list length.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecommendationSerializationBenchmark {
+
+    @Param({"10", "50", "1000"})
+    int size;
+
+    private ObjectWriter writer;
+    private List<MatchRecommendationDto> recommendations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Same modules Spring Boot registers on its ObjectMapper
+        ObjectMapper mapper = JsonMapper.builder().findAndAddModules().build();
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, MatchRecommendationDto.class));
+
+        recommendations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            MatchRecommendationDto dto = new MatchRecommendationDto();
+            dto.setUserId((long) i + 2);
+            dto.setFullName("First" + i + " Last" + i);
+            dto.setUniversity("Georgia Tech");
+            dto.setMajor("Computer Science");
+            dto.setYear("Junior");
+            dto.setBio("Looking for someone to practice Spanish with; happy to help with Java and SQL in return.");
+            dto.setDistanceKm(3.5 + i);
+            dto.setCompatibilityScore(80 - i * 0.5);
+            dto.setSharedInterests(List.of("Hackathons", "Chess"));
+            dto.setComplementarySkills(List.of("spanish (they offer)", "java (they need)"));
+            dto.setReasons(List.of("Shared interests: Hackathons, Chess",
+                    "Complementary skills: spanish (they offer), java (they need)",
+                    "Same university", String.format("Nearby (~%.1f km)", 3.5 + i)));
+            recommendations.add(dto);
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(recommendations);
+    }
+}
@@ -0,0 +1,428 @@
+package com.example.skillswap.perf;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Bulk-loads a synthetic user base: users, profiles, skills, interests, swipes, matches and messages.
+ * Postgres is loaded with COPY, anything else (e.g. H2) with batched INSERTs. New rows are appended
+ * after the existing ones, so the generator can run against a database that already has data.
+ *
+ * <pre>
+ * mvn -Pperf test-compile exec:exec@datagen -Ddatagen.args="--users 1000000"
+ * </pre>
+ * Options (defaults in brackets): --url [jdbc:postgresql://localhost:5432/skillswap], --username [postgres],
+ * --password [postgres], --users [100000], --swipes-per-user [20], --messages-per-match [4], --seed [42].
+ *
+ * Every table is written in its own pass, and each user's attributes are derived from (seed, user id),
+ * so the passes agree with each other and the same options always produce the same data.
+ */
+public final class DataGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+    // Swipe targets are picked among the next SWIPE_WINDOW user ids, which keeps every pair unique
+    private static final int SWIPE_WINDOW = 1000;
+
+    private final Connection connection;
+    private final boolean postgres;
+    private final long seed;
+    private final long firstUserId;
+    private final long lastUserId;
+    private final int swipesPerUser;
+    private final int messagesPerMatch;
+
+    private DataGenerator(Connection connection, long seed, long firstUserId, int users,
+                          int swipesPerUser, int messagesPerMatch) throws SQLException {
+        this.connection = connection;
+        this.postgres = connection.isWrapperFor(PGConnection.class);
+        this.seed = seed;
+        this.firstUserId = firstUserId;
+        this.lastUserId = firstUserId + users - 1;
+        this.swipesPerUser = swipesPerUser;
+        this.messagesPerMatch = messagesPerMatch;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Map<String, String> options = Options.parse(args);
+        String url = options.getOrDefault("url", "jdbc:postgresql://localhost:5432/skillswap");
+        int users = Integer.parseInt(options.getOrDefault("users", "100000"));
+
+        try (Connection connection = DriverManager.getConnection(url,
+                options.getOrDefault("username", "postgres"), options.getOrDefault("password", "postgres"))) {
+            connection.setAutoCommit(false);
+            long firstUserId = maxId(connection, "users", "user_id") + 1;
+            DataGenerator generator = new DataGenerator(connection,
+                    Long.parseLong(options.getOrDefault("seed", "42")),
+                    firstUserId, users,
+                    Integer.parseInt(options.getOrDefault("swipes-per-user", "20")),
+                    Integer.parseInt(options.getOrDefault("messages-per-match", "4")));
+            generator.run();
+        }
+    }
+
+    private void run() throws SQLException {
+        long started = System.nanoTime();
+        System.out.printf("Generating users %d..%d using %s%n", firstUserId, lastUserId,
+                postgres ? "COPY" : "batched INSERTs");
+
+        timed("users", this::writeUsers);
+        timed("profile", this::writeProfiles);
+        timed("user_skill", this::writeSkills);
+        timed("user_interest", this::writeInterests);
+        long firstMatchId = maxId(connection, "match", "match_id") + 1;
+        long[] counts = new long[2];
+        timed("swipe", this::writeSwipes);
+        timed("match", () -> counts[0] = writeMatches(firstMatchId));
+        timed("message", () -> counts[1] = writeMessages(firstMatchId));
+
+        if (postgres) {
+            resetSequences();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+        }
+        connection.commit();
+
+        System.out.printf("Done in %.1fs: %d users, %d matches, %d messages%n",
+                (System.nanoTime() - started) / 1e9, lastUserId - firstUserId + 1, counts[0], counts[1]);
+        System.out.printf("Load harness options for this data: --first-user %d --last-user %d --first-match %d --last-match %d%n",
+                firstUserId, lastUserId, firstMatchId, firstMatchId + counts[0] - 1);
+    }
+
+    private long writeUsers() throws SQLException {
+        try (RowSink sink = sink("users", "user_id", "email", "password_hash", "first_name", "last_name",
+                "university", "email_verified", "latitude", "longitude", "show_location", "created_at")) {
+            for (long id = firstUserId; id <= lastUserId; id++) {
+                Person p = person(id);
+                sink.row(id, "user" + id + "@gen.skillswap.edu", "password", p.firstName, p.lastName,
+                        p.university, true, p.latitude, p.longitude, p.showLocation, p.createdAt);
+            }
+            return sink.rows();
+        }
+    }
+
+    private long writeProfiles() throws SQLException {
+        long profileId = maxId(connection, "profile", "profile_id");
+        try (RowSink sink = sink("profile", "profile_id", "user_id", "major", "year", "bio",
+                "latitude", "longitude", "show_location", "profile_complete")) {
+            for (long id = firstUserId; id <= lastUserId; id++) {
+                Person p = person(id);
+                if (p.hasProfile) {
+                    sink.row(++profileId, id, p.major, p.year, "Hi, I'm " + p.firstName + " and I study " + p.major + ".",
+                            p.latitude, p.longitude, p.showLocation, true);
+                }
+            }
+            return sink.rows();
+        }
+    }
+
+    private long writeSkills() throws SQLException {
+        long skillId = maxId(connection, "user_skill", "skill_id");
+        try (RowSink sink = sink("user_skill", "skill_id", "user_id", "skill_name", "skill_level", "offering", "seeking")) {
+            for (long id = firstUserId; id <= lastUserId; id++) {
+                Person p = person(id);
+                for (int i = 0; i < p.skills.length; i++) {
+                    sink.row(++skillId, id, p.skills[i], p.skillLevels[i], p.offering[i], !p.offering[i]);
+                }
+            }
+            return sink.rows();
+        }
+    }
+
+    private long writeInterests() throws SQLException {
+        long interestId = maxId(connection, "user_interest", "interest_id");
+        try (RowSink sink = sink("user_interest", "interest_id", "user_id", "interest_name", "category")) {
+            for (long id = firstUserId; id <= lastUserId; id++) {
+                Person p = person(id);
+                for (int i = 0; i < p.interests.length; i++) {
+                    sink.row(++interestId, id, p.interests[i], p.interestCategories[i]);
+                }
+            }
+            return sink.rows();
+        }
+    }
+
+    private long writeSwipes() throws SQLException {
+        long swipeId = maxId(connection, "swipe", "swipe_id");
+        try (RowSink sink = sink("swipe", "swipe_id", "swiper_id", "swipee_id", "is_like", "swiped_at")) {
+            for (long id = firstUserId; id <= lastUserId; id++) {
+                for (Swipe s : swipes(id)) {
+                    sink.row(++swipeId, id, s.target, s.like, s.at);
+                    if (s.mutual) {
+                        sink.row(++swipeId, s.target, id, true, s.at.plusMinutes(5));
+                    }
+                }
+            }
+            return sink.rows();
+        }
+    }
+
+    private long writeMatches(long firstMatchId) throws SQLException {
+        long matchId = firstMatchId - 1;
+        try (RowSink sink = sink("match", "match_id", "user1_id", "user2_id", "matched_at", "is_active")) {
+            for (long id = firstUserId; id <= lastUserId; id++) {
+                for (Swipe s : swipes(id)) {
+                    if (s.mutual) {
+                        sink.row(++matchId, id, s.target, s.at.plusMinutes(5), true);
+                    }
+                }
+            }
+            return sink.rows();
+        }
+    }
+
+    private long writeMessages(long firstMatchId) throws SQLException {
+        long matchId = firstMatchId - 1;
+        long messageId = maxId(connection, "message", "message_id");
+        try (RowSink sink = sink("message", "message_id", "match_id", "sender_id", "message_content", "is_read", "sent_at")) {
+            for (long id = firstUserId; id <= lastUserId; id++) {
+                for (Swipe s : swipes(id)) {
+                    if (!s.mutual) {
+                        continue;
+                    }
+                    matchId++;
+                    for (int m = 0; m < messagesPerMatch; m++) {
+                        long sender = m % 2 == 0 ? id : s.target;
+                        sink.row(++messageId, matchId, sender, Vocabulary.MESSAGES[m % Vocabulary.MESSAGES.length],
+                                m < messagesPerMatch - 1, s.at.plusMinutes(10L + m * 7L));
+                    }
+                }
+            }
+            return sink.rows();
+        }
+    }
+
+    private void resetSequences() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String[] table : new String[][]{{"users", "user_id"}, {"profile", "profile_id"},
+                    {"user_skill", "skill_id"}, {"user_interest", "interest_id"}, {"swipe", "swipe_id"},
+                    {"match", "match_id"}, {"message", "message_id"}}) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + table[0] + "', '" + table[1] + "'), "
+                        + "(SELECT COALESCE(MAX(" + table[1] + "), 1) FROM " + table[0] + "))");
+            }
+        }
+    }
+
+    // ----- per-user synthetic attributes -----
+
+    private static final class Person {
+        String firstName;
+        String lastName;
+        String university;
+        double latitude;
+        double longitude;
+        boolean showLocation;
+        LocalDateTime createdAt;
+        boolean hasProfile;
+        String major;
+        String year;
+        String[] skills = new String[4];
+        String[] skillLevels = new String[4];
+        boolean[] offering = new boolean[4];
+        String[] interests = new String[3];
+        String[] interestCategories = new String[3];
+    }
+
+    private record Swipe(long target, boolean like, boolean mutual, LocalDateTime at) {
+    }
+
+    private Person person(long id) {
+        Random random = new Random(seed * 1_000_003L + id);
+        Person p = new Person();
+        p.firstName = pick(random, Vocabulary.FIRST_NAMES);
+        p.lastName = pick(random, Vocabulary.LAST_NAMES);
+        p.university = pick(random, Vocabulary.UNIVERSITIES);
+        // Roughly a 300 km square around Atlanta
+        p.latitude = Vocabulary.CENTER_LAT + (random.nextDouble() - 0.5) * 3;
+        p.longitude = Vocabulary.CENTER_LON + (random.nextDouble() - 0.5) * 3;
+        p.showLocation = random.nextInt(10) < 7;
+        p.createdAt = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(random.nextInt(60 * 24 * 365));
+        p.hasProfile = random.nextInt(10) < 8;
+        p.major = pick(random, Vocabulary.MAJORS);
+        p.year = pick(random, Vocabulary.YEARS);
+        for (int i = 0; i < p.skills.length; i++) {
+            p.skills[i] = pick(random, Vocabulary.SKILLS);
+            p.skillLevels[i] = pick(random, Vocabulary.SKILL_LEVELS);
+            p.offering[i] = random.nextBoolean();
+        }
+        for (int i = 0; i < p.interests.length; i++) {
+            p.interests[i] = pick(random, Vocabulary.INTERESTS);
+            p.interestCategories[i] = pick(random, Vocabulary.INTEREST_CATEGORIES);
+        }
+        return p;
+    }
+
+    /**
+     * The swipes a user makes, on distinct users after them (so no pair is generated twice);
+     * some likes are returned, which makes a match.
+     */
+    private Swipe[] swipes(long id) {
+        Random random = new Random(seed * 2_000_003L + id);
+        long window = Math.min(SWIPE_WINDOW, lastUserId - id);
+        int count = (int) Math.min(swipesPerUser, window);
+        Swipe[] swipes = new Swipe[count];
+        long start = random.nextInt((int) Math.max(window - count, 0) + 1);
+        long step = count == 0 ? 1 : Math.max(1, (window - start) / count);
+        LocalDateTime at = LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(random.nextInt(60 * 24 * 300));
+        for (int i = 0; i < count; i++) {
+            long target = id + 1 + start + i * step;
+            boolean like = random.nextInt(10) < 6;
+            boolean mutual = like && random.nextInt(10) < 3;
+            swipes[i] = new Swipe(target, like, mutual, at.plusMinutes(i));
+        }
+        return swipes;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    // ----- output -----
+
+    private interface Pass {
+        long run() throws SQLException;
+    }
+
+    private void timed(String table, Pass pass) throws SQLException {
+        long started = System.nanoTime();
+        long rows = pass.run();
+        connection.commit();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("  %-14s %,12d rows  %6.1fs  %,10.0f rows/s%n", table, rows, seconds, rows / Math.max(seconds, 1e-9));
+    }
+
+    private RowSink sink(String table, String... columns) throws SQLException {
+        return postgres ? new CopySink(connection, table, columns) : new BatchSink(connection, table, columns);
+    }
+
+    private static long maxId(Connection connection, String table, String column) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(" + column + "), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private abstract static class RowSink implements AutoCloseable {
+        private long rows;
+
+        void row(Object... values) throws SQLException {
+            write(values);
+            rows++;
+        }
+
+        long rows() {
+            return rows;
+        }
+
+        abstract void write(Object[] values) throws SQLException;
+
+        @Override
+        public abstract void close() throws SQLException;
+    }
+
+    /**
+     * COPY ... FROM STDIN in text format, streamed in 256 KB chunks.
+     */
+    private static final class CopySink extends RowSink {
+        private final CopyIn copy;
+        private final StringBuilder buffer = new StringBuilder(1 << 18);
+
+        CopySink(Connection connection, String table, String[] columns) throws SQLException {
+            copy = connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN");
+        }
+
+        @Override
+        void write(Object[] values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append('\t');
+                }
+                appendValue(values[i]);
+            }
+            buffer.append('\n');
+            if (buffer.length() >= (1 << 18) - 1024) {
+                flush();
+            }
+        }
+
+        private void appendValue(Object value) {
+            if (value == null) {
+                buffer.append("\\N");
+                return;
+            }
+            String text = value instanceof LocalDateTime time ? Timestamp.valueOf(time).toString() : value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\' -> buffer.append("\\\\");
+                    case '\t' -> buffer.append("\\t");
+                    case '\n' -> buffer.append("\\n");
+                    case '\r' -> buffer.append("\\r");
+                    default -> buffer.append(c);
+                }
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            flush();
+            copy.endCopy();
+        }
+    }
+
+    /**
+     * Batched INSERTs for databases without COPY.
+     */
+    private static final class BatchSink extends RowSink {
+        private final PreparedStatement statement;
+        private int pending;
+
+        BatchSink(Connection connection, String table, String[] columns) throws SQLException {
+            String placeholders = String.join(", ", Collections.nCopies(columns.length, "?"));
+            statement = connection.prepareStatement(
+                    "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES (" + placeholders + ")");
+        }
+
+        @Override
+        void write(Object[] values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i] instanceof LocalDateTime time ? Timestamp.valueOf(time) : values[i];
+                statement.setObject(i + 1, value);
+            }
+            statement.addBatch();
+            if (++pending == BATCH_SIZE) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+            statement.close();
+        }
+    }
+}
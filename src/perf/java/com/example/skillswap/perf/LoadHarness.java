@@ -0,0 +1,329 @@
+package com.example.skillswap.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Replays a mix of user sessions against a running app and reports throughput and latency
+ * percentiles per endpoint. Each virtual user loops: pick a session type by weight, act as a random
+ * generated user, issue that session's requests back to back.
+ *
+ * <pre>
+ * mvn -Pperf test-compile exec:exec@load -Dload.args="--last-user 100000 --last-match 60000 --duration 120"
+ * </pre>
+ * Options (defaults in brackets): --base-url [http://localhost:8080], --concurrency [32], --duration [60]
+ * seconds, --warmup [10] seconds, --first-user [1], --last-user [1000], --first-match [1], --last-match [100],
+ * --mix [discover=40,swipe=25,chat=20,profile=15], --think-ms [0] pause between sessions,
+ * --report [target/load-report.csv]. Session types are discover, swipe, chat, profile and poll (a chat
+ * screen checking for the latest message). DataGenerator prints the user and match ranges for its data.
+ */
+public final class LoadHarness {
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+    private final long firstUser;
+    private final long lastUser;
+    private final long firstMatch;
+    private final long lastMatch;
+    private final Map<String, Integer> mix;
+    private final int totalWeight;
+    private final long thinkMillis;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    private LoadHarness(Map<String, String> options) {
+        this.baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        this.firstUser = Long.parseLong(options.getOrDefault("first-user", "1"));
+        this.lastUser = Long.parseLong(options.getOrDefault("last-user", "1000"));
+        this.firstMatch = Long.parseLong(options.getOrDefault("first-match", "1"));
+        this.lastMatch = Long.parseLong(options.getOrDefault("last-match", "100"));
+        this.mix = new TreeMap<>();
+        for (String entry : options.getOrDefault("mix", "discover=40,swipe=25,chat=20,profile=15").split(",")) {
+            String[] parts = entry.split("=");
+            mix.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.thinkMillis = Long.parseLong(options.getOrDefault("think-ms", "0"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        run(Options.parse(args));
+    }
+
+    static void run(Map<String, String> options) throws Exception {
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        Path report = Path.of(options.getOrDefault("report", "target/load-report.csv"));
+
+        LoadHarness harness = new LoadHarness(options);
+        System.out.printf("%d virtual users against %s, mix %s: %ds warmup, %ds measured%n",
+                concurrency, harness.baseUrl, harness.mix, warmup, duration);
+
+        long stopAt = System.nanoTime() + Duration.ofSeconds(warmup + duration).toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                executor.submit(() -> harness.virtualUser(stopAt));
+            }
+            Thread.sleep(Duration.ofSeconds(warmup));
+            harness.recording = true;
+        }
+        harness.report(duration, report);
+    }
+
+    private void virtualUser(long stopAt) {
+        while (System.nanoTime() < stopAt) {
+            long userId = randomBetween(firstUser, lastUser);
+            try {
+                switch (pickSession()) {
+                    case "discover" -> discover(userId);
+                    case "swipe" -> swipe(userId);
+                    case "chat" -> chat(userId);
+                    case "profile" -> editProfile(userId);
+                    case "poll" -> poll();
+                    default -> throw new IllegalArgumentException("Unknown session type in --mix");
+                }
+                if (thinkMillis > 0) {
+                    Thread.sleep(thinkMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // ----- sessions -----
+
+    // Open the discover page: recommendations, then the first recommended profile
+    private void discover(long userId) throws InterruptedException {
+        JsonNode recommendations = get("GET /api/matches/recommendations/{userId}",
+                "/api/matches/recommendations/" + userId + "?limit=20");
+        if (recommendations != null && recommendations.isArray() && !recommendations.isEmpty()) {
+            long candidate = recommendations.get(0).path("userId").asLong();
+            get("GET /api/profiles/user/{userId}/full", "/api/profiles/user/" + candidate + "/full");
+        }
+    }
+
+    // A burst of swipes on other generated users
+    private void swipe(long userId) throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            long other = randomBetween(firstUser, lastUser);
+            if (other == userId) {
+                continue;
+            }
+            ObjectNode body = mapper.createObjectNode();
+            body.putObject("swiper").put("userId", userId);
+            body.putObject("swipee").put("userId", other);
+            body.put("isLike", ThreadLocalRandom.current().nextInt(10) < 6);
+            send("POST /api/swipes", "POST", "/api/swipes", body);
+        }
+    }
+
+    // Read a conversation and reply in it
+    private void chat(long userId) throws InterruptedException {
+        long matchId = randomBetween(firstMatch, lastMatch);
+        JsonNode messages = get("GET /api/messages/match/{matchId}", "/api/messages/match/" + matchId);
+        if (messages == null) {
+            return;
+        }
+        long sender = messages.isArray() && !messages.isEmpty()
+                ? messages.get(0).path("sender").path("userId").asLong(userId) : userId;
+        ObjectNode body = mapper.createObjectNode();
+        body.putObject("match").put("matchId", matchId);
+        body.putObject("sender").put("userId", sender);
+        body.put("messageContent", "Load test message " + System.nanoTime());
+        send("POST /api/messages", "POST", "/api/messages", body);
+    }
+
+    // An open chat screen checking for new messages
+    private void poll() throws InterruptedException {
+        long matchId = randomBetween(firstMatch, lastMatch);
+        get("GET /api/messages/match/{matchId}/latest", "/api/messages/match/" + matchId + "/latest");
+    }
+
+    // Load the profile page, then save the skills list with one entry changed
+    private void editProfile(long userId) throws InterruptedException {
+        JsonNode view = get("GET /api/profiles/user/{userId}/full", "/api/profiles/user/" + userId + "/full");
+        if (view == null) {
+            return;
+        }
+        ArrayNode skills = mapper.createArrayNode();
+        for (JsonNode skill : view.path("skills")) {
+            skills.add(skill.deepCopy());
+        }
+        if (!skills.isEmpty()) {
+            ((ObjectNode) skills.get(0)).put("skillLevel",
+                    Vocabulary.SKILL_LEVELS[ThreadLocalRandom.current().nextInt(Vocabulary.SKILL_LEVELS.length)]);
+        }
+        send("PUT /api/user-skills/user/{userId}", "PUT", "/api/user-skills/user/" + userId, skills);
+    }
+
+    // ----- HTTP and measurement -----
+
+    private String pickSession() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty --mix");
+    }
+
+    private JsonNode get(String endpoint, String path) throws InterruptedException {
+        return send(endpoint, "GET", path, null);
+    }
+
+    /**
+     * Sends a request and records its latency under the endpoint's template; returns the parsed body
+     * of a 2xx response, or null. Timeouts and connection failures count as errors of that endpoint.
+     */
+    private JsonNode send(String endpoint, String method, String path, JsonNode body)
+            throws InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body.toString()));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        long started = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            record(endpoint, System.nanoTime() - started, 599);
+            return null;
+        }
+        record(endpoint, System.nanoTime() - started, response.statusCode());
+
+        if (response.statusCode() / 100 != 2 || response.body().length == 0) {
+            return null;
+        }
+        try {
+            return mapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable response from " + endpoint, e);
+        }
+    }
+
+    private void record(String endpoint, long nanos, int status) {
+        if (recording) {
+            stats.computeIfAbsent(endpoint, k -> new EndpointStats()).add(nanos, status);
+        }
+    }
+
+    private void report(int durationSeconds, Path reportFile) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint,requests,errors,req_per_s,p50_ms,p90_ms,p99_ms,max_ms");
+        System.out.printf("%n%-40s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+
+        long totalRequests = 0;
+        Map<Integer, Integer> errorsByStatus = new TreeMap<>();
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(stats).entrySet()) {
+            entry.getValue().errorsByStatus().forEach((status, n) -> errorsByStatus.merge(status, n, Integer::sum));
+            long[] latencies = entry.getValue().sortedLatencies();
+            int errors = entry.getValue().errors();
+            double throughput = (double) latencies.length / durationSeconds;
+            double p50 = percentileMillis(latencies, 0.50);
+            double p90 = percentileMillis(latencies, 0.90);
+            double p99 = percentileMillis(latencies, 0.99);
+            double max = latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6;
+            totalRequests += latencies.length;
+
+            System.out.printf("%-40s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey(), latencies.length, errors, throughput, p50, p90, p99, max);
+            lines.add(String.format("\"%s\",%d,%d,%.2f,%.2f,%.2f,%.2f,%.2f",
+                    entry.getKey(), latencies.length, errors, throughput, p50, p90, p99, max));
+        }
+        System.out.printf("%nTotal: %d requests, %.1f req/s%n", totalRequests, (double) totalRequests / durationSeconds);
+        // 503 is a bulkhead turning work away, 599 a client-side timeout or connection failure
+        if (!errorsByStatus.isEmpty()) {
+            System.out.println("Errors by status: " + errorsByStatus);
+        }
+
+        if (reportFile.getParent() != null) {
+            Files.createDirectories(reportFile.getParent());
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(reportFile))) {
+            lines.forEach(out::println);
+        }
+        System.out.println("Report written to " + reportFile);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static long randomBetween(long from, long to) {
+        return from + ThreadLocalRandom.current().nextLong(Math.max(to - from + 1, 1));
+    }
+
+    /**
+     * Every latency of one endpoint (exact percentiles; a run records at most a few million samples).
+     */
+    private static final class EndpointStats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private final Map<Integer, Integer> errorsByStatus = new TreeMap<>();
+
+        synchronized void add(long nanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (status >= 400) {
+                errors++;
+                errorsByStatus.merge(status, 1, Integer::sum);
+            }
+        }
+
+        synchronized long[] sortedLatencies() {
+            long[] copy = Arrays.copyOf(latencies, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized int errors() {
+            return errors;
+        }
+
+        synchronized Map<Integer, Integer> errorsByStatus() {
+            return new TreeMap<>(errorsByStatus);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.skillswap.perf;
+
+import com.example.skillswap.SkillswapApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Boots the application in this JVM twice, first on platform threads and then with
+ * spring.threads.virtual.enabled, and puts each through the same LoadHarness run. The default mix is
+ * mostly chat screens polling for new messages, many clients each holding a request open at once.
+ *
+ * Takes the LoadHarness options (--base-url is ignored) plus --url, --username and --password for the
+ * database DataGenerator loaded. Reports go to target/thread-mode-platform.csv and -virtual.csv.
+ */
+public final class ThreadModeBenchmark {
+
+    private ThreadModeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Options.parse(args));
+        options.putIfAbsent("concurrency", "1000");
+        options.putIfAbsent("duration", "30");
+        options.putIfAbsent("warmup", "10");
+        options.putIfAbsent("mix", "poll=70,chat=15,profile=10,swipe=5");
+
+        // Devtools is on the test classpath and would restart the context in a new classloader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        for (String mode : new String[] {"platform", "virtual"}) {
+            System.out.printf("%n=== %s threads ===%n", mode);
+            try (ConfigurableApplicationContext app = start(options, "virtual".equals(mode))) {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                Map<String, String> run = new HashMap<>(options);
+                run.put("base-url", "http://localhost:" + port);
+                run.put("report", "target/thread-mode-" + mode + ".csv");
+                LoadHarness.run(run);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(Map<String, String> options, boolean virtualThreads) {
+        // As command-line arguments, which override application.properties (builder properties do not)
+        return new SpringApplicationBuilder(SkillswapApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=" + options.getOrDefault("url", "jdbc:postgresql://localhost:5432/skillswap"),
+                "--spring.datasource.username=" + options.getOrDefault("username", "postgres"),
+                "--spring.datasource.password=" + options.getOrDefault("password", "postgres"),
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.skillswap.config=ERROR");
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.skillswap.perf;
+
+/**
+ * Value pools for synthetic users, shared by the benchmarks and the data generator. Kept small so that
+ * shared interests and complementary skills occur about as often as they would among real students.
+ */
+public final class Vocabulary {
+
+    public static final String[] SKILLS = {
+            "Java", "Python", "JavaScript", "TypeScript", "Go", "Rust", "C++", "SQL", "React", "Spring",
+            "Machine Learning", "Data Analysis", "Statistics", "Calculus", "Linear Algebra", "Physics",
+            "Chemistry", "Biology", "Spanish", "French", "German", "Japanese", "Public Speaking", "Writing",
+            "Photography", "Video Editing", "Graphic Design", "UI Design", "Figma", "Guitar", "Piano",
+            "Excel", "Accounting", "Marketing", "Economics", "Drawing", "3D Modeling", "Unity", "Docker",
+            "Kubernetes"
+    };
+    public static final String[] SKILL_LEVELS = {"Beginner", "Intermediate", "Advanced", "Expert"};
+    public static final String[] INTERESTS = {
+            "Hackathons", "Hiking", "Chess", "Gaming", "Startups", "Music", "Film", "Cooking", "Running",
+            "Robotics", "Open Source", "Volunteering", "Travel", "Reading", "Basketball", "Soccer",
+            "Climbing", "Podcasts", "Board Games", "Anime", "Art", "Theatre", "Debate", "Yoga"
+    };
+    public static final String[] INTEREST_CATEGORIES = {"Tech", "Sports", "Arts", "Social", "Outdoors"};
+    public static final String[] UNIVERSITIES = {
+            "Georgia Tech", "Emory", "Georgia State", "MGA", "UGA", "Kennesaw State", "Mercer", "Spelman"
+    };
+    public static final String[] MAJORS = {
+            "Computer Science", "Mathematics", "Biology", "Business", "Psychology", "Physics",
+            "Mechanical Engineering", "Economics", "Art", "Nursing"
+    };
+    public static final String[] YEARS = {"Freshman", "Sophomore", "Junior", "Senior"};
+    public static final String[] FIRST_NAMES = {
+            "Ada", "Grace", "Linus", "Alan", "Barbara", "Ken", "Margaret", "Dennis", "Frances", "Tim",
+            "Radia", "John", "Katherine", "Guido", "Hedy", "James", "Sophie", "Carlos", "Priya", "Wei"
+    };
+    public static final String[] LAST_NAMES = {
+            "Lovelace", "Hopper", "Torvalds", "Turing", "Liskov", "Thompson", "Hamilton", "Ritchie", "Allen",
+            "Berners-Lee", "Perlman", "McCarthy", "Johnson", "van Rossum", "Lamarr", "Gosling", "Wilson",
+            "Garcia", "Patel", "Zhang"
+    };
+    public static final String[] MESSAGES = {
+            "Hey! Want to swap skills this week?", "I could help with that, when are you free?",
+            "Thursday afternoon works for me.", "Great, library second floor?", "See you there!",
+            "Thanks for today, that was really helpful.", "Same time next week?"
+    };
+
+    // Users are spread around Atlanta
+    public static final double CENTER_LAT = 33.7490;
+    public static final double CENTER_LON = -84.3880;
+
+    private Vocabulary() {
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.skillswap.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The two Haversine implementations (MatchingService for ranking, GeolocationService for the
+ * location endpoints) over the same pseudo-random coordinate pairs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DistanceBenchmark {
+
+    private static final int PAIRS = 4096;
+
+    private MatchingService matchingService;
+    private GeolocationService geolocationService;
+    private final double[] coordinates = new double[PAIRS * 4];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        matchingService = SyntheticPopulation.matchingService();
+        geolocationService = SyntheticPopulation.geolocationService();
+        Random random = new Random(42);
+        for (int i = 0; i < coordinates.length; i += 2) {
+            coordinates[i] = random.nextDouble() * 180 - 90;
+            coordinates[i + 1] = random.nextDouble() * 360 - 180;
+        }
+    }
+
+    private int nextPair() {
+        next = (next + 4) % coordinates.length;
+        return next;
+    }
+
+    @Benchmark
+    public double matchingServiceHaversine() {
+        int i = nextPair();
+        return matchingService.calculateDistanceKm(coordinates[i], coordinates[i + 1], coordinates[i + 2], coordinates[i + 3]);
+    }
+
+    @Benchmark
+    public double geolocationServiceHaversine() {
+        int i = nextPair();
+        return geolocationService.calculateDistance(coordinates[i], coordinates[i + 1], coordinates[i + 2], coordinates[i + 3]);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.skillswap.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GeolocationService.findBestMatch on a canned Nominatim response (no network), with and without
+ * parsing the response body, since the service does both for every geocoding attempt.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeocodeMatchBenchmark {
+
+    @Param({"Atlanta, GA", "Atlanta"})
+    String query;
+
+    private GeolocationService geolocationService;
+    private ObjectMapper objectMapper;
+    private String responseBody;
+    private JsonNode results;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        geolocationService = SyntheticPopulation.geolocationService();
+        objectMapper = new ObjectMapper();
+        try (InputStream in = getClass().getResourceAsStream("/nominatim-atlanta.json")) {
+            responseBody = new String(in.readAllBytes());
+        }
+        results = objectMapper.readTree(responseBody);
+    }
+
+    @Benchmark
+    public JsonNode findBestMatch() {
+        return geolocationService.findBestMatch(results, query);
+    }
+
+    @Benchmark
+    public JsonNode parseAndFindBestMatch() throws IOException {
+        return geolocationService.findBestMatch(objectMapper.readTree(responseBody), query);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.dto.MatchRecommendationDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full recommendation ranking (score every candidate, keep the top 50) for a user in populations
+ * of 1k to 1M, i.e. MatchingService.rankCandidates without the database loads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MatchRankingBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int users;
+
+    private MatchingService matchingService;
+    private SyntheticPopulation population;
+    private long currentUserId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        matchingService = SyntheticPopulation.matchingService();
+        population = new SyntheticPopulation(users, 42);
+        currentUserId = 1;
+    }
+
+    @Benchmark
+    public List<MatchRecommendationDto> rankPopulation() {
+        return matchingService.rankPopulation(
+                population.user(currentUserId),
+                population.profilesByUser.get(currentUserId),
+                population.users,
+                Set.of(currentUserId),
+                population.profilesByUser,
+                population.skillsByUser,
+                population.interestsByUser);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.dto.MatchRecommendationDto;
+import com.example.skillswap.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-candidate scoring steps. Each call moves to the next candidate of a 1k population, so the
+ * numbers average over realistic mixes of hits and misses rather than one fixed pair.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchScoringBenchmark {
+
+    private static final int POPULATION = 1000;
+
+    private MatchingService matchingService;
+    private SyntheticPopulation population;
+    private User currentUser;
+    private long candidateId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        matchingService = SyntheticPopulation.matchingService();
+        population = new SyntheticPopulation(POPULATION, 42);
+        currentUser = population.user(1);
+        candidateId = 1;
+    }
+
+    private long nextCandidate() {
+        candidateId = candidateId % POPULATION + 1;
+        return candidateId;
+    }
+
+    @Benchmark
+    public List<String> computeSharedInterests() {
+        return matchingService.computeSharedInterests(
+                population.interestsByUser.get(1L),
+                population.interestsByUser.get(nextCandidate()));
+    }
+
+    @Benchmark
+    public List<String> computeComplementarySkills() {
+        return matchingService.computeComplementarySkills(
+                population.skillsByUser.get(1L),
+                population.skillsByUser.get(nextCandidate()));
+    }
+
+    @Benchmark
+    public MatchRecommendationDto buildRecommendation() {
+        long id = nextCandidate();
+        return matchingService.buildRecommendation(
+                currentUser,
+                population.profilesByUser.get(1L),
+                population.user(id),
+                population.profilesByUser.get(id),
+                population.skillsByUser,
+                population.interestsByUser);
+    }
+}
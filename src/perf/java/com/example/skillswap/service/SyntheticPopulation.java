@@ -0,0 +1,106 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.config.Bulkhead;
+import com.example.skillswap.config.ReplicaRoutingDataSource;
+import com.example.skillswap.model.Profile;
+import com.example.skillswap.model.User;
+import com.example.skillswap.model.UserInterest;
+import com.example.skillswap.model.UserSkill;
+import com.example.skillswap.perf.Vocabulary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A reproducible in-memory user base shaped like what MatchingService loads from the database:
+ * users spread around Atlanta, most with a profile, each with a few skills and interests drawn from
+ * small vocabularies so that shared interests and complementary skills actually occur.
+ * The same size and seed always give the same population, so runs can be compared.
+ */
+public class SyntheticPopulation {
+
+    final List<User> users;
+    final Map<Long, Profile> profilesByUser;
+    final Map<Long, List<UserSkill>> skillsByUser;
+    final Map<Long, List<UserInterest>> interestsByUser;
+
+    public SyntheticPopulation(int size, long seed) {
+        Random random = new Random(seed);
+        users = new ArrayList<>(size);
+        profilesByUser = new HashMap<>(size * 2);
+        skillsByUser = new HashMap<>(size * 2);
+        interestsByUser = new HashMap<>(size * 2);
+
+        for (long id = 1; id <= size; id++) {
+            User user = new User();
+            user.setUserId(id);
+            user.setFirstName("First" + id);
+            user.setLastName("Last" + id);
+            user.setUniversity(pick(random, Vocabulary.UNIVERSITIES));
+            // Roughly a 300 km square around Atlanta
+            user.setLatitude(Vocabulary.CENTER_LAT + (random.nextDouble() - 0.5) * 3);
+            user.setLongitude(Vocabulary.CENTER_LON + (random.nextDouble() - 0.5) * 3);
+            user.setShowLocation(random.nextInt(10) < 7);
+            users.add(user);
+
+            if (random.nextInt(10) < 8) {
+                Profile profile = new Profile();
+                profile.setUser(user);
+                profile.setMajor(pick(random, Vocabulary.MAJORS));
+                profile.setYear(pick(random, Vocabulary.YEARS));
+                profile.setBio("Bio of user " + id);
+                profilesByUser.put(id, profile);
+            }
+
+            List<UserSkill> skills = new ArrayList<>(4);
+            for (int i = 0; i < 4; i++) {
+                boolean offering = random.nextBoolean();
+                // Linked the way SkillCanonicalizer would, taking the vocabulary as the catalogue
+                int skill = random.nextInt(Vocabulary.SKILLS.length);
+                UserSkill userSkill = new UserSkill(user, Vocabulary.SKILLS[skill], "Intermediate", offering, !offering);
+                userSkill.setCanonicalSkillId(skill + 1L);
+                skills.add(userSkill);
+            }
+            skillsByUser.put(id, skills);
+
+            List<UserInterest> interests = new ArrayList<>(3);
+            for (int i = 0; i < 3; i++) {
+                interests.add(new UserInterest(user, pick(random, Vocabulary.INTERESTS), null));
+            }
+            interestsByUser.put(id, interests);
+        }
+    }
+
+    /**
+     * A MatchingService for calling its scoring code directly; the repositories are never touched.
+     */
+    static MatchingService matchingService() {
+        return new MatchingService(null, null, null, null, null,
+                new ConcurrentMapCacheManager(MatchingService.RECOMMENDATIONS_CACHE),
+                new StaticListableBeanFactory().getBeanProvider(ReplicaRoutingDataSource.class),
+                new SimpleMeterRegistry());
+    }
+
+    /**
+     * A GeolocationService for its local helpers (distance, result matching); it never calls Nominatim here.
+     */
+    static GeolocationService geolocationService() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        return new GeolocationService(registry, new Bulkhead("geocoder", 1, Duration.ZERO, registry));
+    }
+
+    User user(long id) {
+        return users.get((int) id - 1);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
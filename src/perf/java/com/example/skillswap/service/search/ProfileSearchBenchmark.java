@@ -0,0 +1,102 @@
+package com.example.skillswap.service.search;
+
+import com.example.skillswap.perf.Vocabulary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searches against a ProfileSearchIndex of 100k and 1M synthetic profiles, shaped like the data
+ * generator's (four skills, three interests, a major and a short bio each; 70% sharing a location
+ * around Atlanta). With only 40 skills in the vocabulary a skill matches ~10% of profiles, so these
+ * are the index's expensive queries. Also measures one profile update, merges included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ProfileSearchBenchmark {
+
+    @Param({"100000", "1000000"})
+    int docs;
+
+    private ProfileSearchIndex index;
+    private long nextUpdate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new ProfileSearchIndex(8, 1000, ForkJoinPool.commonPool());
+        index.rebuild(sink -> {
+            for (long profileId = 1; profileId <= docs; profileId++) {
+                sink.accept(document(profileId));
+            }
+        });
+    }
+
+    @Benchmark
+    public List<ProfileSearchIndex.Hit> commonSkill() {
+        return index.search(new ProfileSearchIndex.Query("java", null, null, null, null, 20));
+    }
+
+    @Benchmark
+    public List<ProfileSearchIndex.Hit> twoTerms() {
+        return index.search(new ProfileSearchIndex.Query("kubernetes hiking", null, null, null, null, 20));
+    }
+
+    @Benchmark
+    public List<ProfileSearchIndex.Hit> atUniversity() {
+        return index.search(new ProfileSearchIndex.Query("machine learning", "Georgia Tech", null, null, null, 20));
+    }
+
+    @Benchmark
+    public List<ProfileSearchIndex.Hit> nearAtlanta() {
+        return index.search(new ProfileSearchIndex.Query("python", null,
+                Vocabulary.CENTER_LAT, Vocabulary.CENTER_LON, 25.0, 20));
+    }
+
+    @Benchmark
+    public void updateProfile() {
+        nextUpdate = nextUpdate % docs + 1;
+        index.put(document(nextUpdate));
+    }
+
+    private static SearchDocument document(long profileId) {
+        Random random = new Random(profileId);
+        String major = pick(random, Vocabulary.MAJORS);
+        SearchDocument.Builder document = SearchDocument.builder(profileId, profileId)
+                .university(pick(random, Vocabulary.UNIVERSITIES))
+                .text(pick(random, Vocabulary.SKILLS) + " " + pick(random, Vocabulary.SKILLS) + " "
+                        + pick(random, Vocabulary.SKILLS) + " " + pick(random, Vocabulary.SKILLS),
+                        SearchDocument.SKILL_WEIGHT)
+                .text(major, SearchDocument.MAJOR_WEIGHT)
+                .text(pick(random, Vocabulary.INTERESTS) + " " + pick(random, Vocabulary.INTERESTS) + " "
+                        + pick(random, Vocabulary.INTERESTS), SearchDocument.INTEREST_WEIGHT)
+                .text("Hi, I'm " + pick(random, Vocabulary.FIRST_NAMES) + " and I study " + major + ".",
+                        SearchDocument.TEXT_WEIGHT);
+        if (random.nextInt(10) < 7) {
+            document.location(Vocabulary.CENTER_LAT + (random.nextDouble() - 0.5) * 3,
+                    Vocabulary.CENTER_LON + (random.nextDouble() - 0.5) * 3);
+        }
+        return document.build();
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
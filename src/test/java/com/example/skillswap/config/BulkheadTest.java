@@ -0,0 +1,51 @@
+package com.example.skillswap.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsCallersOnceFullAndCountsThem() {
+        Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ofMillis(20), registry);
+        bulkhead.acquire();
+
+        assertThatThrownBy(bulkhead::acquire).isInstanceOf(BulkheadFullException.class);
+        assertThat(registry.get("skillswap.bulkhead.rejected").tag("name", "test").counter().count()).isEqualTo(1);
+
+        bulkhead.release();
+        assertThat(bulkhead.call(() -> "ok")).isEqualTo("ok");
+        assertThat(bulkhead.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void dataSourceHoldsPermitUntilConnectionClosed() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:bulkhead-test");
+        Bulkhead bulkhead = new Bulkhead("jdbc-test", 1, Duration.ZERO, registry);
+        BulkheadDataSource dataSource = new BulkheadDataSource(h2, bulkhead);
+
+        Connection connection = dataSource.getConnection();
+        assertThat(bulkhead.getAvailablePermits()).isZero();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(BulkheadFullException.class);
+
+        connection.close();
+        connection.close();
+        assertThat(connection.isClosed()).isTrue();
+        assertThat(bulkhead.getAvailablePermits()).isEqualTo(1);
+
+        try (Connection again = dataSource.getConnection()) {
+            assertThat(again.isValid(1)).isTrue();
+        }
+        assertThat(bulkhead.getAvailablePermits()).isEqualTo(1);
+    }
+}
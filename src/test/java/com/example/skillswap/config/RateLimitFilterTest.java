@@ -0,0 +1,125 @@
+package com.example.skillswap.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private static final String RECOMMENDATIONS = "/api/matches/recommendations/";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void bucketRefillsOneTokenPerInterval() {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        TokenBucket bucket = new TokenBucket(2, second);
+        long now = 0;
+
+        assertThat(bucket.tryConsume(now)).isZero();
+        assertThat(bucket.tryConsume(now)).isZero();
+        assertThat(bucket.tryConsume(now)).isEqualTo(second);
+
+        assertThat(bucket.tryConsume(now + second / 2)).isEqualTo(second / 2);
+        assertThat(bucket.tryConsume(now + second)).isZero();
+        assertThat(bucket.tryConsume(now + second)).isEqualTo(second);
+    }
+
+    @Test
+    void limitsEachUserSeparatelyAndAnswers429WithRetryAfter() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(properties(), null, registry);
+
+        assertThat(perform(filter, RECOMMENDATIONS + "1").getStatus()).isEqualTo(200);
+        assertThat(perform(filter, RECOMMENDATIONS + "1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = perform(filter, RECOMMENDATIONS + "1");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("30");
+        assertThat(registry.get("skillswap.ratelimit.rejected").tag("route", "recommendations").counter().count())
+                .isEqualTo(1);
+
+        // Another user (the rejected request spent no address token), and routes without a limit, are unaffected
+        assertThat(perform(filter, RECOMMENDATIONS + "2").getStatus()).isEqualTo(200);
+        assertThat(perform(filter, "/api/matches").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void limitsEachClientAddressAcrossUserIds() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(properties(), null, registry);
+
+        // Three tokens per address, whichever user IDs they are spent on
+        assertThat(perform(filter, RECOMMENDATIONS + "1").getStatus()).isEqualTo(200);
+        assertThat(perform(filter, RECOMMENDATIONS + "2").getStatus()).isEqualTo(200);
+        assertThat(perform(filter, RECOMMENDATIONS + "3").getStatus()).isEqualTo(200);
+        assertThat(perform(filter, RECOMMENDATIONS + "4").getStatus()).isEqualTo(429);
+
+        // Another address still gets through for a fresh user
+        MockHttpServletRequest elsewhere = new MockHttpServletRequest("GET", RECOMMENDATIONS + "5");
+        elsewhere.setRemoteAddr("10.0.0.2");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(elsewhere, response, new MockFilterChain());
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void nodesShareOneLimitThroughRedis() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        RedisServer redisServer = new RedisServer(port);
+        redisServer.start();
+        LettuceConnectionFactory connectionFactory =
+                new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        try {
+            StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+            RateLimitFilter nodeA = new RateLimitFilter(properties(),
+                    new RedisRateLimiter(redisTemplate, "test:rate-limit:"), registry);
+            RateLimitFilter nodeB = new RateLimitFilter(properties(),
+                    new RedisRateLimiter(redisTemplate, "test:rate-limit:"), registry);
+
+            assertThat(perform(nodeA, RECOMMENDATIONS + "1").getStatus()).isEqualTo(200);
+            assertThat(perform(nodeB, RECOMMENDATIONS + "1").getStatus()).isEqualTo(200);
+            MockHttpServletResponse rejected = perform(nodeA, RECOMMENDATIONS + "1");
+            assertThat(rejected.getStatus()).isEqualTo(429);
+            assertThat(rejected.getHeader("Retry-After")).isEqualTo("30");
+        } finally {
+            connectionFactory.destroy();
+            redisServer.stop();
+        }
+    }
+
+    // Two requests at once per user and three per address, then one every 30 seconds
+    private static RateLimitProperties properties() {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPath("/api/matches/recommendations/{userId}");
+        route.setCapacity(2);
+        route.setRefillPerMinute(2);
+        route.setAddressCapacity(3);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRoutes().put("recommendations", route);
+        return properties;
+    }
+
+    private static MockHttpServletResponse perform(RateLimitFilter filter, String uri)
+            throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", uri), response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.skillswap.config;
+
+import com.example.skillswap.dto.MatchRecommendationDto;
+import com.example.skillswap.dto.ProfileViewDto;
+import com.example.skillswap.model.User;
+import com.example.skillswap.model.UserSkill;
+import com.example.skillswap.repository.UserRepository;
+import com.example.skillswap.repository.UserSkillRepository;
+import com.example.skillswap.service.MatchingService;
+import com.example.skillswap.service.ProfileViewService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A second in-memory database stands in for the replica; a local Postgres works the same way.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:skillswap-primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.cache.region_prefix=replica-routing",
+        "skillswap.datasource.replica.enabled=true",
+        "skillswap.datasource.replica.url=jdbc:h2:mem:skillswap-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "skillswap.datasource.replica.username=sa",
+        "skillswap.datasource.replica.password=",
+        // Lag is read from a table the test controls; checks are run explicitly
+        "skillswap.datasource.replica.lag-query=SELECT seconds FROM replica_lag",
+        "skillswap.datasource.replica.max-lag=5s",
+        "skillswap.datasource.replica.lag-check-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryPool;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSkillRepository skillRepository;
+
+    @Autowired
+    private ProfileViewService profileViewService;
+
+    @Autowired
+    private MatchingService matchingService;
+
+    @BeforeEach
+    void resetLag() {
+        onReplica("CREATE TABLE IF NOT EXISTS replica_lag (seconds INT)",
+                "DELETE FROM replica_lag",
+                "INSERT INTO replica_lag VALUES (0)");
+        lagMonitor.check();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        skillRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplicaAndWritesUsePrimary() {
+        assertThat(databaseName(true)).isEqualTo("skillswap-replica");
+        assertThat(databaseName(false)).isEqualTo("skillswap-primary");
+        // Outside a transaction (schema init, DDL) always the primary
+        assertThat(new JdbcTemplate(dataSource).queryForObject("SELECT DATABASE()", String.class))
+                .isEqualTo("skillswap-primary");
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhileReplicaLags() {
+        setLag(30);
+        assertThat(databaseName(true)).isEqualTo("skillswap-primary");
+
+        setLag(1);
+        assertThat(databaseName(true)).isEqualTo("skillswap-replica");
+    }
+
+    @Test
+    void readFromPrimaryOverridesReadOnlyRouting() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        String database = tx.execute(status -> ReplicaRoutingDataSource.readFromPrimary(() ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT DATABASE()", String.class)));
+        assertThat(database).isEqualTo("skillswap-primary");
+    }
+
+    @Test
+    void cachedViewsAreRebuiltFromPrimaryRightAfterTheUsersWrite() {
+        User ada = userRepository.save(buildUser("ada@replica.edu", "Ada"));
+        skillRepository.save(new UserSkill(ada, "Java", "Expert", true, false));
+        // The replica holds this snapshot and misses every write after it, though it reports no lag
+        copyPrimaryToReplica();
+
+        User grace = userRepository.save(buildUser("grace@replica.edu", "Grace"));
+        skillRepository.save(new UserSkill(ada, "Rust", "Beginner", false, true));
+        skillRepository.save(new UserSkill(grace, "Rust", "Expert", true, false));
+
+        // Without a write of their own, views are read from the replica
+        assertThat(databaseName(true)).isEqualTo("skillswap-replica");
+        assertThat(profileViewService.getProfileView(ada.getUserId()).getSkills())
+                .extracting(ProfileViewDto.Skill::getSkillName)
+                .containsExactly("Java");
+
+        profileViewService.evict(ada.getUserId());
+        ProfileViewDto view = profileViewService.getProfileView(ada.getUserId());
+        assertThat(view.getSkills()).extracting(ProfileViewDto.Skill::getSkillName)
+                .containsExactlyInAnyOrder("Java", "Rust");
+        assertThat(matchingService.recommendMatches(ada.getUserId(), 10))
+                .extracting(MatchRecommendationDto::getUserId)
+                .contains(grace.getUserId());
+    }
+
+    @Test
+    void saturatedPoolsAreCounted() throws Exception {
+        double before = meterRegistry.get("skillswap.db.pool.saturated").tag("pool", "primary").counter().count();
+        List<Connection> held = new ArrayList<>();
+        try {
+            for (int i = 0; i < primaryPool.getMaximumPoolSize(); i++) {
+                held.add(primaryPool.getConnection());
+            }
+            CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return primaryPool.getConnection();
+                } catch (SQLException e) {
+                    return null;
+                }
+            });
+            long deadline = System.currentTimeMillis() + 5000;
+            while (primaryPool.getHikariPoolMXBean().getThreadsAwaitingConnection() == 0
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            lagMonitor.check();
+            held.remove(0).close();
+            Connection granted = waiting.get();
+            if (granted != null) {
+                granted.close();
+            }
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+        assertThat(meterRegistry.get("skillswap.db.pool.saturated").tag("pool", "primary").counter().count())
+                .isEqualTo(before + 1);
+    }
+
+    private void copyPrimaryToReplica() {
+        String snapshot = "target/replica-snapshot.sql";
+        new JdbcTemplate(dataSource).execute("SCRIPT TO '" + snapshot + "'");
+        onReplica("DROP ALL OBJECTS",
+                "RUNSCRIPT FROM '" + snapshot + "'",
+                "CREATE TABLE replica_lag (seconds INT)",
+                "INSERT INTO replica_lag VALUES (0)");
+        lagMonitor.check();
+    }
+
+    private static User buildUser(String email, String firstName) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPasswordHash("secret");
+        user.setFirstName(firstName);
+        user.setLastName("Replica");
+        return user;
+    }
+
+    private void setLag(int seconds) {
+        onReplica("UPDATE replica_lag SET seconds = " + seconds);
+        lagMonitor.check();
+    }
+
+    // The replica pool hands out read-only connections; test setup writes through one anyway
+    private void onReplica(String... statements) {
+        try (Connection connection = replicaDataSource.getConnection(); Statement statement = connection.createStatement()) {
+            connection.setReadOnly(false);
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String databaseName(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT DATABASE()", String.class));
+    }
+}
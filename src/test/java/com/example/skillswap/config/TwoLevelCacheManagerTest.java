@@ -0,0 +1,166 @@
+package com.example.skillswap.config;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two "nodes" sharing one embedded Redis server.
+ */
+class TwoLevelCacheManagerTest {
+
+    private static final String CHANNEL = "test:cache-invalidation";
+    private static final String CACHE = "profileViews";
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static final List<RedisMessageListenerContainer> containers = new CopyOnWriteArrayList<>();
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        containers.forEach(RedisMessageListenerContainer::stop);
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @Test
+    void evictionsOnOneNodeInvalidateTheOtherNodesNearCache() {
+        TwoLevelCacheManager nodeA = node();
+        TwoLevelCacheManager nodeB = node();
+        Cache cacheA = nodeA.getCache(CACHE);
+        Cache cacheB = nodeB.getCache(CACHE);
+
+        cacheA.put(42L, "v1");
+        // Node B has no near copy yet and reads the shared one
+        assertThat(cacheB.get(42L, String.class)).isEqualTo("v1");
+
+        // Node B now holds v1 locally; the change has to reach it through the invalidation
+        cacheA.evict(42L);
+        assertEventually(() -> cacheB.get(42L), null);
+        cacheA.put(42L, "v2");
+        assertThat(cacheB.get(42L, String.class)).isEqualTo("v2");
+    }
+
+    @Test
+    void fillsAreNotBroadcast() throws InterruptedException {
+        TwoLevelCacheManager nodeA = node();
+        TwoLevelCacheManager nodeB = node();
+        List<String> published = new CopyOnWriteArrayList<>();
+        RedisMessageListenerContainer listener = new RedisMessageListenerContainer();
+        listener.setConnectionFactory(connectionFactory);
+        listener.addMessageListener((message, pattern) ->
+                published.add(new String(message.getBody(), StandardCharsets.UTF_8)), new ChannelTopic(CHANNEL));
+        listener.afterPropertiesSet();
+        listener.start();
+        containers.add(listener);
+
+        // Once an eviction comes through, the listener is subscribed
+        nodeB.getCache(CACHE).evict(0L);
+        assertEventually(() -> published.size(), 1);
+
+        // Misses on both nodes fill Redis and the near copies without invalidating each other
+        nodeA.getCache(CACHE).put(7L, "v1");
+        assertThat(nodeB.getCache(CACHE).get(8L, () -> "v2")).isEqualTo("v2");
+        assertThat(nodeA.getCache(CACHE).get(8L, () -> "unused")).isEqualTo("v2");
+        nodeB.getCache(CACHE).evict(7L);
+
+        // The second eviction is the only other message, and it comes after anything the fills would have sent
+        assertEventually(() -> published.size(), 2);
+        Thread.sleep(100);
+        assertThat(published).hasSize(2);
+    }
+
+    @Test
+    void entityInvalidationsReachTheHandlerOnOtherNodesOnly() {
+        TwoLevelCacheManager nodeA = node();
+        TwoLevelCacheManager nodeB = node();
+        List<String> seenByA = new CopyOnWriteArrayList<>();
+        List<String> seenByB = new CopyOnWriteArrayList<>();
+        nodeA.setEntityInvalidationHandler((entity, id) -> seenByA.add(entity + "#" + id));
+        nodeB.setEntityInvalidationHandler((entity, id) -> seenByB.add(entity + "#" + id));
+
+        nodeA.publish(TwoLevelCacheManager.ENTITY_PREFIX + "com.example.skillswap.model.User", "7");
+
+        assertEventually(() -> seenByB.contains("com.example.skillswap.model.User#7"), true);
+        assertThat(seenByA).isEmpty();
+    }
+
+    private TwoLevelCacheManager node() {
+        CaffeineCacheManager local = new CaffeineCacheManager();
+        local.setCacheNames(List.of(CACHE));
+
+        RedisCacheManager remote = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(1)))
+                .build();
+        remote.afterPropertiesSet();
+
+        StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(local, remote, template, CHANNEL, Set.of(CACHE));
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> manager.onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+        containers.add(container);
+        return manager;
+    }
+
+    private static void assertEventually(Supplier<Object> actual, Object expected) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            Object value = actual.get();
+            if (value instanceof Cache.ValueWrapper wrapper) {
+                value = wrapper.get();
+            }
+            if (expected == null ? value == null : expected.equals(value)) {
+                return;
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        Object value = actual.get();
+        assertThat(value instanceof Cache.ValueWrapper wrapper ? wrapper.get() : value).isEqualTo(expected);
+    }
+}
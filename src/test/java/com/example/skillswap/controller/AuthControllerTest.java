@@ -0,0 +1,70 @@
+package com.example.skillswap.controller;
+
+import com.example.skillswap.model.User;
+import com.example.skillswap.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        user = new User();
+        user.setEmail("Login.Tester@Uni.edu");
+        user.setPasswordHash("s3cret");
+        user.setFirstName("Login");
+        user.setLastName("Tester");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void login_matchesEmailIgnoringCaseAndReturnsSessionPayload() throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\" login.tester@uni.EDU \",\"password\":\"s3cret\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(user.getUserId()))
+                .andExpect(jsonPath("$.firstName").value("Login"))
+                .andExpect(jsonPath("$.passwordHash").doesNotExist());
+    }
+
+    @Test
+    void login_rejectsWrongPassword() throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"login.tester@uni.edu\",\"password\":\"nope\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void getUser_neverSerializesPasswordHash() throws Exception {
+        mockMvc.perform(get("/api/users/" + user.getUserId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("Login.Tester@Uni.edu"))
+                .andExpect(jsonPath("$.passwordHash").doesNotExist());
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.skillswap.controller;
+
+import com.example.skillswap.model.Match;
+import com.example.skillswap.model.Profile;
+import com.example.skillswap.model.Swipe;
+import com.example.skillswap.model.User;
+import com.example.skillswap.model.UserInterest;
+import com.example.skillswap.model.UserSkill;
+import com.example.skillswap.repository.MatchRepository;
+import com.example.skillswap.repository.ProfileRepository;
+import com.example.skillswap.repository.SwipeRepository;
+import com.example.skillswap.repository.UserInterestRepository;
+import com.example.skillswap.repository.UserRepository;
+import com.example.skillswap.repository.UserSkillRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: entities already in a test transaction would hide queries from the count
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MatchControllerTest {
+
+    private static final String RECOMMENDATIONS_URI = "/api/matches/recommendations/{userId}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private UserSkillRepository userSkillRepository;
+
+    @Autowired
+    private UserInterestRepository userInterestRepository;
+
+    @Autowired
+    private SwipeRepository swipeRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 8; i++) {
+            User user = new User();
+            user.setEmail("budget" + i + "@test.edu");
+            user.setPasswordHash("test");
+            user.setFirstName("Budget" + i);
+            user.setLastName("Tester");
+            user.setUniversity("State University");
+            user = userRepository.save(user);
+            users.add(user);
+
+            Profile profile = new Profile();
+            profile.setUser(user);
+            profile.setMajor("Computer Science");
+            profileRepository.save(profile);
+            userSkillRepository.save(new UserSkill(user, i % 2 == 0 ? "Java" : "Design", "Intermediate", true, false));
+            userSkillRepository.save(new UserSkill(user, i % 2 == 0 ? "Design" : "Java", "Beginner", false, true));
+            userInterestRepository.save(new UserInterest(user, "Hackathons", "Tech"));
+        }
+
+        Swipe swipe = new Swipe();
+        swipe.setSwiper(users.get(0));
+        swipe.setSwipee(users.get(1));
+        swipe.setIsLike(false);
+        swipe.setSwipedAt(LocalDateTime.now());
+        swipeRepository.save(swipe);
+
+        Match match = new Match();
+        match.setUser1(users.get(2));
+        match.setUser2(users.get(0));
+        match.setMatchedAt(LocalDateTime.now());
+        match.setIsActive(true);
+        matchRepository.save(match);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        matchRepository.deleteAll();
+        swipeRepository.deleteAll();
+        userSkillRepository.deleteAll();
+        userInterestRepository.deleteAll();
+        profileRepository.deleteAll();
+        userRepository.deleteAll(users);
+        users.clear();
+    }
+
+    @Test
+    void recommendations_stayWithinQueryBudget() throws Exception {
+        long requestsBefore = queries().count();
+        double queriesBefore = queries().totalAmount();
+
+        mockMvc.perform(get(RECOMMENDATIONS_URI, users.get(0).getUserId()))
+                .andExpect(status().isOk())
+                // Everyone but the user, the swiped-on user and the match
+                .andExpect(jsonPath("$", hasSize(5)));
+
+        assertThat(queries().count()).isEqualTo(requestsBefore + 1);
+        assertThat(queries().totalAmount() - queriesBefore).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void allMatches_streamIdsAndNamesOnly() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/matches"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].user1.firstName").value("Budget2"))
+                .andExpect(jsonPath("$[0].user1.email").doesNotExist())
+                .andExpect(jsonPath("$[0].user1.university").doesNotExist());
+    }
+
+    @Test
+    void allUsers_inCborWhenAsked() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/users").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode rows = new CBORMapper().readTree(body);
+        assertThat(rows).hasSize(users.size());
+        assertThat(rows.get(0).get("university").asText()).isEqualTo("State University");
+        assertThat(rows.get(0).has("email")).isFalse();
+    }
+
+    @Test
+    void allUsers_streamedAcrossChunks() throws Exception {
+        // More than one 500-row chunk
+        List<User> extra = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            User user = new User();
+            user.setEmail("chunk" + i + "@test.edu");
+            user.setPasswordHash("test");
+            user.setFirstName("Chunk" + i);
+            user.setLastName("Tester");
+            extra.add(user);
+        }
+        users.addAll(userRepository.saveAll(extra));
+
+        MvcResult result = mockMvc.perform(get("/api/users"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(users.size())))
+                .andExpect(jsonPath("$[607].firstName").value("Chunk599"));
+    }
+
+    private DistributionSummary queries() {
+        return DistributionSummary.builder("skillswap.http.queries")
+                .tag("method", "GET")
+                .tag("uri", RECOMMENDATIONS_URI)
+                .register(meterRegistry);
+    }
+}
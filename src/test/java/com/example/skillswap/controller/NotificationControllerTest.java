@@ -0,0 +1,170 @@
+package com.example.skillswap.controller;
+
+import com.example.skillswap.config.Bulkhead;
+import com.example.skillswap.model.Match;
+import com.example.skillswap.model.User;
+import com.example.skillswap.repository.MatchRepository;
+import com.example.skillswap.repository.MessageRepository;
+import com.example.skillswap.repository.UserRepository;
+import com.example.skillswap.service.MatchCreatedEvent;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: notifications are sent from @Async listeners after the data is visible to them
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class NotificationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("jdbcBulkhead")
+    private Bulkhead jdbcBulkhead;
+
+    @Value("${skillswap.bulkhead.jdbc.max-concurrent:20}")
+    private int jdbcPermits;
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 2; i++) {
+            User user = new User();
+            user.setEmail("notify" + i + "@test.edu");
+            user.setPasswordHash("test");
+            user.setFirstName("Notify" + i);
+            user.setLastName("Tester");
+            users.add(userRepository.save(user));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        messageRepository.deleteAll();
+        matchRepository.deleteAll();
+        userRepository.deleteAll(users);
+        users.clear();
+    }
+
+    @Test
+    void stream_pushesNewMatchesAndMessages() throws Exception {
+        User alice = users.get(0);
+        User bob = users.get(1);
+
+        MvcResult stream = mockMvc.perform(get("/api/notifications/user/{userId}", bob.getUserId())
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse response = stream.getResponse();
+        assertThat(response.getContentAsString()).contains("event:ready");
+
+        Match match = matchRepository.save(newMatch(alice, bob));
+        eventPublisher.publishEvent(new MatchCreatedEvent(match.getMatchId(), alice.getUserId(), bob.getUserId()));
+        awaitContent(response, "event:match");
+
+        mockMvc.perform(post("/api/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"match\":{\"matchId\":" + match.getMatchId() + "},"
+                                + "\"sender\":{\"userId\":" + alice.getUserId() + "},"
+                                + "\"messageContent\":\"Hi Bob\"}"))
+                .andExpect(status().isOk());
+        awaitContent(response, "event:message");
+        assertThat(response.getContentAsString()).contains("\"fromUserId\":" + alice.getUserId());
+    }
+
+    @Test
+    void reconnect_replaysWhatWasMissed() throws Exception {
+        User alice = users.get(0);
+        User bob = users.get(1);
+        Match match = matchRepository.save(newMatch(alice, bob));
+
+        // Cursors from before the match existed: the match is sent as soon as the stream opens
+        MvcResult stream = mockMvc.perform(get("/api/notifications/user/{userId}", bob.getUserId())
+                        .header("Last-Event-ID", "0.0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String content = stream.getResponse().getContentAsString();
+        assertThat(content).contains("event:match").contains("\"matchId\":" + match.getMatchId());
+        assertThat(content).doesNotContain("event:ready");
+    }
+
+    @Test
+    void openStream_holdsNoConnection() throws Exception {
+        User bob = users.get(1);
+        matchRepository.save(newMatch(users.get(0), bob));
+
+        // Both the "ready" lookups and a replay; once the streams are open nothing is left checked out
+        mockMvc.perform(get("/api/notifications/user/{userId}", bob.getUserId()))
+                .andExpect(request().asyncStarted());
+        mockMvc.perform(get("/api/notifications/user/{userId}", bob.getUserId()).header("Last-Event-ID", "0.0"))
+                .andExpect(request().asyncStarted());
+
+        assertThat(dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections()).isZero();
+        assertThat(jdbcBulkhead.getAvailablePermits()).isEqualTo(jdbcPermits);
+    }
+
+    @Test
+    void stream_unknownUser_is404() throws Exception {
+        mockMvc.perform(get("/api/notifications/user/{userId}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    private static Match newMatch(User user1, User user2) {
+        Match match = new Match();
+        match.setUser1(user1);
+        match.setUser2(user2);
+        match.setMatchedAt(LocalDateTime.now());
+        match.setIsActive(true);
+        return match;
+    }
+
+    private static void awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!response.getContentAsString().contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(response.getContentAsString()).contains(expected);
+    }
+}
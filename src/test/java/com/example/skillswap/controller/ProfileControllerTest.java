@@ -0,0 +1,169 @@
+package com.example.skillswap.controller;
+
+import com.example.skillswap.model.Profile;
+import com.example.skillswap.model.User;
+import com.example.skillswap.model.UserSkill;
+import com.example.skillswap.repository.ProfileRepository;
+import com.example.skillswap.repository.UserRepository;
+import com.example.skillswap.repository.UserSkillRepository;
+import com.example.skillswap.service.ProfileSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class ProfileControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private UserSkillRepository skillRepository;
+
+    @Autowired
+    private ProfileSearchService profileSearchService;
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        user = new User();
+        user.setEmail("full@profile.edu");
+        user.setPasswordHash("secret");
+        user.setFirstName("Full");
+        user.setLastName("View");
+        user = userRepository.save(user);
+
+        Profile profile = new Profile();
+        profile.setUser(user);
+        profile.setMajor("Physics");
+        profileRepository.save(profile);
+
+        UserSkill skill = new UserSkill();
+        skill.setUser(user);
+        skill.setSkillName("Java");
+        skillRepository.save(skill);
+    }
+
+    @Test
+    void getFullProfile_assemblesViewAndRefreshesAfterEdit() throws Exception {
+        String url = "/api/profiles/user/" + user.getUserId() + "/full";
+
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.firstName").value("Full"))
+                .andExpect(jsonPath("$.user.passwordHash").doesNotExist())
+                .andExpect(jsonPath("$.profile.major").value("Physics"))
+                .andExpect(jsonPath("$.skills", hasSize(1)))
+                .andExpect(jsonPath("$.photos", hasSize(0)));
+
+        // Adding a skill through the API drops the cached view
+        mockMvc.perform(post("/api/user-skills")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"user\":{\"userId\":" + user.getUserId() + "},\"skillName\":\"Go\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.skills", hasSize(2)));
+    }
+
+    @Test
+    void getFullProfile_answers304UntilTheUserChangesSomething() throws Exception {
+        String url = "/api/profiles/user/" + user.getUserId() + "/full";
+
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(post("/api/user-skills")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"user\":{\"userId\":" + user.getUserId() + "},\"skillName\":\"Go\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.skills", hasSize(2)));
+    }
+
+    @Test
+    void searchProfiles_matchesSkillsAndProfileTextWithinFilters() throws Exception {
+        Profile near = profileRepository.findByUserUserId(user.getUserId());
+        near.setBio("Runs the campus Kubernetes cluster");
+        near.setLatitude(33.749);
+        near.setLongitude(-84.388);
+        near.setShowLocation(true);
+        profileRepository.save(near);
+        // The index reads through JDBC; make the pending JPA writes visible to it, then reindex as a write would
+        skillRepository.flush();
+        profileSearchService.awaitIndex();
+        profileSearchService.reindexUsers(List.of(user.getUserId()));
+
+        mockMvc.perform(get("/api/profiles/search").param("q", "kubernetes java"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].userId").value(user.getUserId()))
+                .andExpect(jsonPath("$[0].fullName").value("Full View"))
+                .andExpect(jsonPath("$[0].distanceKm").doesNotExist());
+
+        // ~10 km from Atlanta
+        mockMvc.perform(get("/api/profiles/search").param("q", "java")
+                        .param("lat", "33.84").param("lng", "-84.39").param("radiusKm", "25"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].distanceKm").value(10.1));
+
+        mockMvc.perform(get("/api/profiles/search").param("q", "java")
+                        .param("lat", "34.5").param("lng", "-84.39").param("radiusKm", "25"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/profiles/search").param("q", "java").param("university", "Elsewhere"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/profiles/search").param("q", "kubernetes golang"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void getFullProfile_returns404ForUnknownUser() throws Exception {
+        mockMvc.perform(get("/api/profiles/user/{userId}/full", user.getUserId() + 1000))
+                .andExpect(status().isNotFound());
+    }
+}
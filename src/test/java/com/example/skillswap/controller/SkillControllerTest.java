@@ -0,0 +1,99 @@
+package com.example.skillswap.controller;
+
+import com.example.skillswap.config.CacheConfig;
+import com.example.skillswap.dto.CacheRegionStatsDto;
+import com.example.skillswap.repository.SkillRepository;
+import com.example.skillswap.service.EntityCacheService;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.cache.Caching;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: the second-level and query caches are only filled by committed transactions
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SkillControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void cleanUp() {
+        skillRepository.deleteAll();
+        entityCacheService.evictAll();
+    }
+
+    @Test
+    void getAllSkills_servedFromQueryCacheAndRefreshedAfterWrite() throws Exception {
+        addSkill("Kotlin");
+
+        mockMvc.perform(get("/api/skills")).andExpect(status().isOk());
+        long hitsBefore = catalogHits();
+        mockMvc.perform(get("/api/skills"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].skillName", hasItem("Kotlin")));
+        assertThat(catalogHits()).isGreaterThan(hitsBefore);
+        assertThat(meterRegistry.get("skillswap.cache.hit.ratio")
+                .tags("cache", SkillRepository.CATALOG_REGION, "layer", "hibernate").gauge().value())
+                .isGreaterThan(0.0);
+
+        // The write evicts the catalogue, so the new skill shows up straight away
+        addSkill("Haskell");
+        mockMvc.perform(get("/api/skills"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].skillName", hasItem("Haskell")));
+    }
+
+    @Test
+    void secondLevelCacheRegions_areBoundedByHibernateJcacheConf() {
+        // Without the config, Caffeine falls back to unbounded regions without saying so
+        javax.cache.Cache<Object, Object> skills = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("classpath:hibernate-jcache.conf"), CacheConfig.class.getClassLoader())
+                .getCache("skills");
+        assertThat(skills).isNotNull();
+        com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine =
+                skills.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+        assertThat(caffeine.policy().eviction().map(Policy.Eviction::getMaximum)).hasValue(5000L);
+    }
+
+    private void addSkill(String name) throws Exception {
+        mockMvc.perform(post("/api/skills")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"skillName\":\"" + name + "\"}"))
+                .andExpect(status().isOk());
+    }
+
+    private long catalogHits() {
+        return entityCacheService.regionStats().stream()
+                .filter(stats -> stats.getRegion().equals(SkillRepository.CATALOG_REGION))
+                .mapToLong(CacheRegionStatsDto::getHits)
+                .sum();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.skillswap.controller;
+
+import com.example.skillswap.service.FileStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UploadControllerTest {
+
+    private static final byte[] CONTENT = "0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    private String url;
+
+    @BeforeEach
+    void storeFile() throws Exception {
+        url = fileStorageService.store(new MockMultipartFile("file", "photo.PNG", "image/png", CONTENT));
+    }
+
+    @Test
+    void store_usesContentHashedName() throws Exception {
+        String again = fileStorageService.store(new MockMultipartFile("file", "copy.png", "image/png", CONTENT));
+
+        assertThat(url).matches("/uploads/[0-9a-f]{64}\\.png");
+        assertThat(again).isEqualTo(url);
+    }
+
+    @Test
+    void serve_returnsImmutableCacheHeadersAndStrongEtag() throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(CONTENT))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andExpect(header().string(HttpHeaders.ETAG, expectedEtag()))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"));
+    }
+
+    @Test
+    void serve_returnsNotModifiedForMatchingEtag() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, expectedEtag()))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void serve_returnsRequestedRange() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/16"))
+                .andExpect(content().string("2345"));
+
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("def"));
+    }
+
+    @Test
+    void serve_ignoresRangeWhenIfRangeIsStale() throws Exception {
+        mockMvc.perform(get(url)
+                        .header(HttpHeaders.RANGE, "bytes=2-5")
+                        .header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void serve_rejectsUnsatisfiableRange() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=100-200"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */16"));
+    }
+
+    @Test
+    void serve_returnsNotFoundForUnknownFile() throws Exception {
+        mockMvc.perform(get("/uploads/missing.png"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String expectedEtag() {
+        String name = url.substring("/uploads/".length());
+        return "\"" + name.substring(0, name.indexOf('.')) + "\"";
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.skillswap.controller;
+
+import com.example.skillswap.model.User;
+import com.example.skillswap.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class UserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        for (String name : List.of("ada", "grace", "linus")) {
+            User user = new User();
+            user.setEmail(name + "@page.edu");
+            user.setPasswordHash("secret");
+            user.setFirstName(name);
+            user.setLastName("Pager");
+            userIds.add(userRepository.save(user).getUserId());
+        }
+    }
+
+    @Test
+    void getUserPage_walksUsersByKeysetWithSlimRows() throws Exception {
+        long before = userIds.get(0) - 1;
+
+        mockMvc.perform(get("/api/users/page").param("after", String.valueOf(before)).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].firstName").value("ada"))
+                .andExpect(jsonPath("$.items[0].passwordHash").doesNotExist())
+                .andExpect(jsonPath("$.items[0].email").doesNotExist())
+                .andExpect(jsonPath("$.nextAfter").value(userIds.get(1)));
+
+        mockMvc.perform(get("/api/users/page").param("after", String.valueOf(userIds.get(1))).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].firstName").value("linus"))
+                .andExpect(jsonPath("$.nextAfter").value(nullValue()));
+    }
+
+    @Test
+    void updateUser_rejectsAnotherUsersEmailInAnyCase() throws Exception {
+        mockMvc.perform(put("/api/users/" + userIds.get(1))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \" ADA@Page.edu \"}"))
+                .andExpect(status().isConflict());
+
+        // Changing only the case of your own email is not a conflict, and the stored email is normalized
+        mockMvc.perform(put("/api/users/" + userIds.get(0))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"Ada@PAGE.edu\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("ada@page.edu"));
+    }
+}
@@ -9,6 +9,7 @@ import com.example.skillswap.repository.ProfileRepository;
 import com.example.skillswap.repository.UserInterestRepository;
 import com.example.skillswap.repository.UserRepository;
 import com.example.skillswap.repository.UserSkillRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,6 +42,9 @@ class MatchingServiceTest {
     @Autowired
     private UserInterestRepository userInterestRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @BeforeEach
     void cleanAndSeed() {
         userSkillRepository.deleteAll();
@@ -81,6 +85,44 @@ class MatchingServiceTest {
         assertThat(top.getCompatibilityScore()).isGreaterThan(20);
     }
 
+    @Test
+    void recommendMatches_recordsPhaseTimingsAndCandidateCount() {
+        User alice = userRepository.findAll().stream()
+                .filter(u -> "alice@test.edu".equals(u.getEmail()))
+                .findFirst()
+                .orElseThrow();
+        long misses = meterRegistry.get("skillswap.recommendations").tag("cache", "miss").timer().count();
+        long hits = meterRegistry.get("skillswap.recommendations").tag("cache", "hit").timer().count();
+
+        matchingService.recommendMatches(alice.getUserId(), 5);
+        matchingService.recommendMatches(alice.getUserId(), 5);
+
+        assertThat(meterRegistry.get("skillswap.recommendations").tag("cache", "miss").timer().count())
+                .isEqualTo(misses + 1);
+        assertThat(meterRegistry.get("skillswap.recommendations").tag("cache", "hit").timer().count())
+                .isEqualTo(hits + 1);
+        for (String phase : List.of("fetch", "exclusion", "scoring", "sorting")) {
+            assertThat(meterRegistry.get("skillswap.recommendations.phase").tag("phase", phase).timer().count())
+                    .as(phase).isPositive();
+        }
+        assertThat(meterRegistry.get("skillswap.recommendations.candidates").summary().max()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void computeComplementarySkills_matchesOnCanonicalSkillId() {
+        UserSkill offersJava = buildSkill(null, "Java 17", true, false);
+        offersJava.setCanonicalSkillId(7L);
+        UserSkill seeksJava = buildSkill(null, "java", false, true);
+        seeksJava.setCanonicalSkillId(7L);
+        UserSkill seeksJavaScript = buildSkill(null, "Java", false, true);
+        seeksJavaScript.setCanonicalSkillId(8L);
+
+        assertThat(matchingService.computeComplementarySkills(List.of(seeksJava), List.of(offersJava)))
+                .containsExactly("java 17 (they offer)");
+        assertThat(matchingService.computeComplementarySkills(List.of(seeksJavaScript), List.of(offersJava)))
+                .isEmpty();
+    }
+
     private User buildUser(String email, String first, String last, String university, double lat, double lon) {
         User user = new User();
         user.setEmail(email);
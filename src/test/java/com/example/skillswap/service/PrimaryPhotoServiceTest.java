@@ -0,0 +1,103 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.model.Profile;
+import com.example.skillswap.model.ProfilePhoto;
+import com.example.skillswap.model.User;
+import com.example.skillswap.repository.ProfilePhotoRepository;
+import com.example.skillswap.repository.ProfileRepository;
+import com.example.skillswap.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PrimaryPhotoServiceTest {
+
+    @Autowired
+    private PrimaryPhotoService primaryPhotoService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProfilePhotoRepository photoRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Profile withPhotos;
+    private Profile withoutPhotos;
+
+    @BeforeEach
+    void seed() {
+        cacheManager.getCache(PrimaryPhotoService.CACHE_NAME).clear();
+
+        withPhotos = profileRepository.save(buildProfile(userRepository.save(buildUser("photos@test.edu"))));
+        withoutPhotos = profileRepository.save(buildProfile(userRepository.save(buildUser("nophotos@test.edu"))));
+
+        photoRepository.save(buildPhoto(withPhotos, "/uploads/old.png", true, LocalDateTime.now().minusDays(2)));
+        photoRepository.save(buildPhoto(withPhotos, "/uploads/new.png", true, LocalDateTime.now().minusDays(1)));
+        photoRepository.save(buildPhoto(withPhotos, "/uploads/gallery.png", false, LocalDateTime.now()));
+    }
+
+    @Test
+    void findPrimaryPhotoUrls_returnsNewestPrimaryPerProfile() {
+        Map<Long, String> urls = primaryPhotoService.findPrimaryPhotoUrls(
+                List.of(withPhotos.getProfileId(), withoutPhotos.getProfileId()));
+
+        assertThat(urls).containsExactly(Map.entry(withPhotos.getProfileId(), "/uploads/new.png"));
+    }
+
+    @Test
+    void findPrimaryPhotoUrls_servesCachedValueUntilEvicted() {
+        primaryPhotoService.findPrimaryPhotoUrls(List.of(withoutPhotos.getProfileId()));
+        photoRepository.save(buildPhoto(withoutPhotos, "/uploads/first.png", true, LocalDateTime.now()));
+
+        assertThat(primaryPhotoService.findPrimaryPhotoUrls(List.of(withoutPhotos.getProfileId()))).isEmpty();
+
+        primaryPhotoService.evict(withoutPhotos.getProfileId());
+
+        assertThat(primaryPhotoService.findPrimaryPhotoUrls(List.of(withoutPhotos.getProfileId())))
+                .containsEntry(withoutPhotos.getProfileId(), "/uploads/first.png");
+    }
+
+    private User buildUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPasswordHash("test");
+        user.setFirstName("Photo");
+        user.setLastName("Tester");
+        return user;
+    }
+
+    private Profile buildProfile(User user) {
+        Profile profile = new Profile();
+        profile.setUser(user);
+        profile.setBio("Test bio");
+        return profile;
+    }
+
+    private ProfilePhoto buildPhoto(Profile profile, String url, boolean primary, LocalDateTime uploadedAt) {
+        ProfilePhoto photo = new ProfilePhoto();
+        photo.setProfile(profile);
+        photo.setPhotoUrl(url);
+        photo.setIsPrimary(primary);
+        photo.setUploadedAt(uploadedAt);
+        return photo;
+    }
+}
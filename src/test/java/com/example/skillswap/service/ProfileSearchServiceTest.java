@@ -0,0 +1,53 @@
+package com.example.skillswap.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProfileSearchServiceTest {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void failedStartupBuildIsRetriedUntilItSucceeds() {
+        AtomicInteger attempts = new AtomicInteger();
+        DataSource flaky = new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (attempts.incrementAndGet() <= 2) {
+                    throw new SQLException("Connection refused");
+                }
+                return super.getConnection();
+            }
+        };
+        ProfileSearchService service = new ProfileSearchService(jdbcTemplate, flaky, transactionManager,
+                new SimpleMeterRegistry(), 2, 1000, 0, 10);
+
+        service.buildOnStartup();
+
+        assertThat(attempts).hasValue(3);
+        assertThatCode(service::awaitIndex).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.model.Skill;
+import com.example.skillswap.model.SkillSynonym;
+import com.example.skillswap.model.User;
+import com.example.skillswap.model.UserSkill;
+import com.example.skillswap.repository.SkillRepository;
+import com.example.skillswap.repository.SkillSynonymRepository;
+import com.example.skillswap.repository.UserRepository;
+import com.example.skillswap.repository.UserSkillRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class SkillCanonicalizerTest {
+
+    @Autowired
+    private SkillCanonicalizer skillCanonicalizer;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private SkillSynonymRepository synonymRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSkillRepository userSkillRepository;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private ProfileViewService profileViewService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void synonymEdits_rebuildTheIndexAndLinkAndEvictTheirUsers() {
+        Skill kotlin = skillRepository.save(new Skill("Kotlin", "Programming", null));
+        contentVersionService.evictSkillCatalogue();
+        User user = new User();
+        user.setEmail("synonym@skills.edu");
+        user.setPasswordHash("secret");
+        user.setFirstName("Syn");
+        user.setLastName("Onym");
+        user = userRepository.save(user);
+        UserSkill kt = userSkillRepository.saveAndFlush(new UserSkill(user, "kt", "Beginner", true, false));
+        assertThat(skillCanonicalizer.resolve("kt")).isNull();
+
+        profileViewService.getProfileView(user.getUserId());
+        assertThat(cacheManager.getCache(ProfileViewService.CACHE_NAME).get(user.getUserId())).isNotNull();
+
+        // Added in SQL, as synonyms are: the catalogue stamp stays the same
+        synonymRepository.saveAndFlush(new SkillSynonym("kt", "Kotlin"));
+        skillCanonicalizer.checkSynonyms();
+
+        assertThat(skillCanonicalizer.resolve("kt")).isEqualTo(kotlin.getSkillId());
+        assertThat(jdbcTemplate.queryForObject("SELECT canonical_skill_id FROM user_skill WHERE skill_id = ?",
+                Long.class, kt.getSkillId())).isEqualTo(kotlin.getSkillId());
+        assertThat(cacheManager.getCache(ProfileViewService.CACHE_NAME).get(user.getUserId())).isNull();
+    }
+}
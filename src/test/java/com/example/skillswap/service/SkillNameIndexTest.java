@@ -0,0 +1,52 @@
+package com.example.skillswap.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillNameIndexTest {
+
+    private final SkillNameIndex index = SkillNameIndex.build(
+            Map.of(1L, "Java", 2L, "JavaScript", 3L, "Python", 4L, "C++", 5L, "Go", 6L, "Machine Learning",
+                    7L, "Kubernetes", 8L, ".NET"),
+            Map.of("js", "JavaScript", "k8s", "Kubernetes", "golang", "Go", "ruby", "Ruby"));
+
+    @Test
+    void resolvesCaseVersionsSpacingAndFillerWords() {
+        assertThat(index.resolve("JAVA")).isEqualTo(1L);
+        assertThat(index.resolve("  Java 17 ")).isEqualTo(1L);
+        assertThat(index.resolve("Java programming")).isEqualTo(1L);
+        assertThat(index.resolve("java script")).isEqualTo(2L);
+        assertThat(index.resolve("Python 3.12")).isEqualTo(3L);
+        assertThat(index.resolve("c++")).isEqualTo(4L);
+        assertThat(index.resolve(".net")).isEqualTo(8L);
+    }
+
+    @Test
+    void resolvesSynonymsForCatalogueSkillsOnly() {
+        assertThat(index.resolve("JS")).isEqualTo(2L);
+        assertThat(index.resolve("k8s")).isEqualTo(7L);
+        assertThat(index.resolve("Golang")).isEqualTo(5L);
+        assertThat(index.resolve("Ruby")).isNull();
+    }
+
+    @Test
+    void resolvesTyposOnLongerNamesOnly() {
+        assertThat(index.resolve("Pyhton")).isEqualTo(3L);
+        assertThat(index.resolve("Kubernetse")).isEqualTo(7L);
+        assertThat(index.resolve("Machine Lerning")).isEqualTo(6L);
+        assertThat(index.resolve("Jav")).isNull();
+        assertThat(index.resolve("Gp")).isNull();
+        assertThat(index.resolve("Painting")).isNull();
+        assertThat(index.resolve(" ")).isNull();
+    }
+
+    @Test
+    void editDistanceCountsAdjacentSwapsAsOneEdit() {
+        assertThat(SkillNameIndex.editDistance("python", "pyhton", 2)).isEqualTo(1);
+        assertThat(SkillNameIndex.editDistance("python", "java", 2)).isEqualTo(3);
+        assertThat(SkillNameIndex.editDistance("kitten", "sitting", 3)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.dto.SwipeResultDto;
+import com.example.skillswap.model.SwipeEvent;
+import com.example.skillswap.model.User;
+import com.example.skillswap.repository.MatchRepository;
+import com.example.skillswap.repository.SwipeEventRepository;
+import com.example.skillswap.repository.SwipeRepository;
+import com.example.skillswap.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+@SpringBootTest(properties = {
+        "skillswap.swipes.async.enabled=true",
+        // Drained explicitly by the test
+        "skillswap.swipes.async.poll-interval-ms=3600000",
+        // Separate in-memory database, so this context's create-drop does not touch the shared one
+        "spring.datasource.url=jdbc:h2:mem:skillswap-swipe-log;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        // The JCache manager is shared per JVM, so keep this database's entities in their own regions
+        "spring.jpa.properties.hibernate.cache.region_prefix=swipe-log",
+        "skillswap.swipes.async.max-attempts=2"
+})
+@ActiveProfiles("test")
+@Transactional
+@Import(SwipeEventConsumerTest.MatchEvents.class)
+class SwipeEventConsumerTest {
+
+    @SpyBean
+    private SwipeService swipeService;
+
+    @Autowired
+    private SwipeEventConsumer consumer;
+
+    @Autowired
+    private SwipeEventLog eventLog;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SwipeRepository swipeRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private SwipeEventRepository eventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MatchEvents matchEvents;
+
+    // The tests that commit clean up after themselves; in the others this runs inside the rolled-back transaction
+    @AfterEach
+    void cleanUp() {
+        reset(swipeService);
+        matchRepository.deleteAll();
+        swipeRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void drain_appliesLoggedSwipesAndPublishesMatches() {
+        matchEvents.received.clear();
+        User alice = userRepository.save(buildUser("alice@log.edu"));
+        User bob = userRepository.save(buildUser("bob@log.edu"));
+
+        SwipeResultDto queued = swipeService.recordSwipe(alice.getUserId(), bob.getUserId(), true);
+        swipeService.recordSwipe(bob.getUserId(), alice.getUserId(), true);
+
+        // Only appended so far
+        assertThat(queued.getSwipeId()).isNull();
+        assertThat(swipeRepository.findBySwiperUserId(alice.getUserId())).isEmpty();
+
+        assertThat(consumer.drain()).isEqualTo(2);
+        assertThat(consumer.drain()).isZero();
+
+        assertThat(swipeRepository.findBySwiperUserId(alice.getUserId())).hasSize(1);
+        assertThat(matchRepository.findExistingMatch(alice.getUserId(), bob.getUserId())).isPresent();
+        assertThat(matchEvents.received).singleElement()
+                .satisfies(event -> assertThat(event.getUser1Id()).isEqualTo(bob.getUserId()));
+
+        // Replaying the log is idempotent
+        eventLog.rewind(1);
+        consumer.drain();
+        assertThat(matchRepository.count()).isEqualTo(1);
+        assertThat(matchEvents.received).hasSize(1);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void drain_appliesAnEventThatCommitsAfterLaterOnes() throws Exception {
+        User alice = userRepository.save(buildUser("alice@late.edu"));
+        User bob = userRepository.save(buildUser("bob@late.edu"));
+
+        // Alice's append takes the lower event_id but stays uncommitted while bob's commits
+        AtomicLong lateEventId = new AtomicLong();
+        CountDownLatch appended = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        Thread late = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            lateEventId.set(eventLog.append(alice.getUserId(), bob.getUserId(), true));
+            appended.countDown();
+            try {
+                commit.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        late.start();
+        assertThat(appended.await(10, TimeUnit.SECONDS)).isTrue();
+        Long earlyEventId = eventLog.append(bob.getUserId(), alice.getUserId(), true);
+        assertThat(lateEventId.get()).isLessThan(earlyEventId);
+
+        assertThat(consumer.drain()).isEqualTo(1);
+        commit.countDown();
+        late.join(10_000);
+
+        // A read position would already be past the late event; the pending flag still finds it
+        assertThat(consumer.drain()).isEqualTo(1);
+        assertThat(matchRepository.findExistingMatch(alice.getUserId(), bob.getUserId())).isPresent();
+        assertThat(eventRepository.countByStatus(SwipeEvent.PENDING)).isZero();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void drain_parksAnEventThatKeepsFailingAndAppliesTheRest() {
+        User alice = userRepository.save(buildUser("alice@poison.edu"));
+        User bob = userRepository.save(buildUser("bob@poison.edu"));
+        User carol = userRepository.save(buildUser("carol@poison.edu"));
+        doThrow(new IllegalStateException("cannot apply")).when(swipeService).applyDecisions(eq(carol.getUserId()), anyMap());
+
+        eventLog.append(alice.getUserId(), bob.getUserId(), true);
+        Long poisonId = eventLog.append(carol.getUserId(), alice.getUserId(), true);
+        eventLog.append(bob.getUserId(), alice.getUserId(), true);
+
+        // The block fails, so its events are applied one at a time; only carol's fails
+        assertThat(consumer.drain()).isEqualTo(2);
+        assertThat(matchRepository.findExistingMatch(alice.getUserId(), bob.getUserId())).isPresent();
+        assertThat(eventRepository.findById(poisonId).orElseThrow().getStatus()).isEqualTo(SwipeEvent.PENDING);
+
+        // Second failure reaches max-attempts: parked, and no longer read
+        assertThat(consumer.drain()).isZero();
+        SwipeEvent parked = eventRepository.findById(poisonId).orElseThrow();
+        assertThat(parked.getStatus()).isEqualTo(SwipeEvent.FAILED);
+        assertThat(parked.getAttempts()).isEqualTo(2);
+        assertThat(parked.getLastError()).contains("cannot apply");
+        assertThat(consumer.drain()).isZero();
+
+        // Once the cause is fixed, replaying from the event applies it
+        reset(swipeService);
+        eventLog.rewind(poisonId);
+        assertThat(consumer.drain()).isEqualTo(2);
+        assertThat(eventRepository.countByStatus(SwipeEvent.FAILED)).isZero();
+    }
+
+    private User buildUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPasswordHash("test");
+        user.setFirstName("Log");
+        user.setLastName("Tester");
+        return user;
+    }
+
+    @TestConfiguration
+    static class MatchEvents {
+        final List<MatchCreatedEvent> received = new ArrayList<>();
+
+        @EventListener
+        void onMatch(MatchCreatedEvent event) {
+            received.add(event);
+        }
+    }
+}
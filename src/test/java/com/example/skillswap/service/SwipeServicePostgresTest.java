@@ -0,0 +1,169 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.dto.SwipeBatchRequestDto;
+import com.example.skillswap.dto.SwipeBatchResultDto;
+import com.example.skillswap.dto.SwipeResultDto;
+import com.example.skillswap.model.User;
+import com.example.skillswap.repository.MatchRepository;
+import com.example.skillswap.repository.SwipeRepository;
+import com.example.skillswap.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the swipe paths that only exist on PostgreSQL (the record_swipe() function and the JDBC batch)
+ * against a real database migrated by Flyway. Skipped automatically when Docker is not available.
+ */
+@SpringBootTest(properties = {
+        "skillswap.swipes.use-db-function=true",
+        "skillswap.upload.dir=target/test-uploads"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional
+class SwipeServicePostgresTest {
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private SwipeService swipeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SwipeRepository swipeRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void seed() {
+        alice = userRepository.save(buildUser("alice@pg-swipe.edu"));
+        bob = userRepository.save(buildUser("bob@pg-swipe.edu"));
+    }
+
+    @Test
+    void recordSwipe_mutualLikeCreatesExactlyOneMatch() {
+        SwipeResultDto first = swipeService.recordSwipe(alice.getUserId(), bob.getUserId(), true);
+        assertThat(first.getSwipeId()).isNotNull();
+        assertThat(first.isMatchCreated()).isFalse();
+        assertThat(first.getMatchId()).isNull();
+
+        SwipeResultDto second = swipeService.recordSwipe(bob.getUserId(), alice.getUserId(), true);
+        assertThat(second.isMatchCreated()).isTrue();
+        assertThat(second.getMatchId()).isNotNull();
+
+        // The upsert keeps the swipe row, and the existing match is reported rather than created again
+        SwipeResultDto repeat = swipeService.recordSwipe(alice.getUserId(), bob.getUserId(), true);
+        assertThat(repeat.getSwipeId()).isEqualTo(first.getSwipeId());
+        assertThat(repeat.isMatchCreated()).isFalse();
+        assertThat(repeat.getMatchId()).isEqualTo(second.getMatchId());
+
+        assertThat(swipeRepository.findBySwiperUserId(alice.getUserId())).hasSize(1);
+        assertThat(matchRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordSwipeFunction_passDoesNotMatchAndChangesTheSwipe() {
+        Map<String, Object> like = callRecordSwipe(alice, bob, true);
+        Map<String, Object> pass = callRecordSwipe(bob, alice, false);
+        assertThat(pass.get("match_created")).isEqualTo(false);
+        assertThat(pass.get("new_match_id")).isNull();
+
+        // Changing a pass to a like completes the mutual like
+        Map<String, Object> changed = callRecordSwipe(bob, alice, true);
+        assertThat(changed.get("new_swipe_id")).isEqualTo(pass.get("new_swipe_id"));
+        assertThat(changed.get("match_created")).isEqualTo(true);
+        assertThat(callRecordSwipe(alice, bob, false).get("new_swipe_id")).isEqualTo(like.get("new_swipe_id"));
+        assertThat(matchRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordSwipes_jdbcBatchUpsertsAndMatchesOnlyNewMutualLikes() {
+        User carol = userRepository.save(buildUser("carol@pg-swipe.edu"));
+        User dave = userRepository.save(buildUser("dave@pg-swipe.edu"));
+        swipeService.recordSwipe(bob.getUserId(), alice.getUserId(), true);
+        swipeService.recordSwipe(carol.getUserId(), alice.getUserId(), false);
+        swipeService.recordSwipe(dave.getUserId(), alice.getUserId(), true);
+        swipeService.recordSwipe(alice.getUserId(), dave.getUserId(), true);
+        long existingMatches = matchRepository.count();
+
+        SwipeBatchRequestDto batch = new SwipeBatchRequestDto();
+        batch.setSwiperId(alice.getUserId());
+        batch.setSwipes(List.of(
+                new SwipeBatchRequestDto.Decision(bob.getUserId(), false),
+                new SwipeBatchRequestDto.Decision(carol.getUserId(), true),
+                new SwipeBatchRequestDto.Decision(dave.getUserId(), true),
+                new SwipeBatchRequestDto.Decision(bob.getUserId(), true)));
+        SwipeBatchResultDto result = swipeService.recordSwipes(batch);
+
+        // Bob's later decision wins; carol passed and dave was already matched, so only bob is new
+        assertThat(result.getSwipesRecorded()).isEqualTo(3);
+        assertThat(result.getNewMatches()).singleElement()
+                .satisfies(match -> assertThat(match.getUserId()).isEqualTo(bob.getUserId()));
+        assertThat(matchRepository.count()).isEqualTo(existingMatches + 1);
+        // The swipe to dave was upserted in place, not duplicated
+        assertThat(swipeRepository.findBySwiperUserId(alice.getUserId())).hasSize(3);
+    }
+
+    @Test
+    void userIdsAboveTheIntRangeCanSwipe() {
+        long big = Integer.MAX_VALUE + 10L;
+        for (long id : new long[] {big, big + 1, big + 2}) {
+            jdbcTemplate.update("INSERT INTO users (user_id, email, password_hash, first_name, last_name) "
+                    + "VALUES (?, ?, 'test', 'Big', 'Id')", id, "user" + id + "@pg-swipe.edu");
+        }
+
+        assertThat(swipeService.recordSwipe(big + 1, big, true).isMatchCreated()).isFalse();
+        SwipeBatchRequestDto batch = new SwipeBatchRequestDto();
+        batch.setSwiperId(big);
+        batch.setSwipes(List.of(
+                new SwipeBatchRequestDto.Decision(big + 1, true),
+                new SwipeBatchRequestDto.Decision(big + 2, true)));
+        SwipeBatchResultDto result = swipeService.recordSwipes(batch);
+
+        assertThat(result.getSwipesRecorded()).isEqualTo(2);
+        assertThat(result.getNewMatches()).singleElement()
+                .satisfies(match -> assertThat(match.getUserId()).isEqualTo(big + 1));
+        assertThat(callRecordSwipe(big + 2, big, true).get("match_created")).isEqualTo(true);
+    }
+
+    private Map<String, Object> callRecordSwipe(User swiper, User swipee, boolean like) {
+        return callRecordSwipe(swiper.getUserId(), swipee.getUserId(), like);
+    }
+
+    private Map<String, Object> callRecordSwipe(long swiperId, long swipeeId, boolean like) {
+        return jdbcTemplate.queryForMap("SELECT new_swipe_id, new_match_id, match_created FROM record_swipe(?, ?, ?)",
+                swiperId, swipeeId, like);
+    }
+
+    private User buildUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPasswordHash("test");
+        user.setFirstName("Swipe");
+        user.setLastName("Tester");
+        return user;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.dto.SwipeBatchRequestDto;
+import com.example.skillswap.dto.SwipeBatchResultDto;
+import com.example.skillswap.dto.SwipeResultDto;
+import com.example.skillswap.model.User;
+import com.example.skillswap.repository.MatchRepository;
+import com.example.skillswap.repository.SwipeRepository;
+import com.example.skillswap.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class SwipeServiceTest {
+
+    @Autowired
+    private SwipeService swipeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SwipeRepository swipeRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void seed() {
+        alice = userRepository.save(buildUser("alice@swipe.edu"));
+        bob = userRepository.save(buildUser("bob@swipe.edu"));
+    }
+
+    @Test
+    void recordSwipe_mutualLikeCreatesExactlyOneMatch() {
+        SwipeResultDto first = swipeService.recordSwipe(alice.getUserId(), bob.getUserId(), true);
+        assertThat(first.isMatchCreated()).isFalse();
+        assertThat(first.getMatchId()).isNull();
+
+        SwipeResultDto second = swipeService.recordSwipe(bob.getUserId(), alice.getUserId(), true);
+        assertThat(second.isMatchCreated()).isTrue();
+        assertThat(second.getMatchId()).isNotNull();
+
+        // Repeating the like keeps the same swipe row and reports the existing match
+        SwipeResultDto repeat = swipeService.recordSwipe(alice.getUserId(), bob.getUserId(), true);
+        assertThat(repeat.getSwipeId()).isEqualTo(first.getSwipeId());
+        assertThat(repeat.isMatchCreated()).isFalse();
+        assertThat(repeat.getMatchId()).isEqualTo(second.getMatchId());
+
+        assertThat(swipeRepository.findBySwiperUserId(alice.getUserId())).hasSize(1);
+        assertThat(matchRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordSwipes_returnsOnlyMatchesCreatedByTheBatch() {
+        User carol = userRepository.save(buildUser("carol@swipe.edu"));
+        swipeService.recordSwipe(bob.getUserId(), alice.getUserId(), true);
+        swipeService.recordSwipe(carol.getUserId(), alice.getUserId(), false);
+
+        SwipeBatchRequestDto batch = new SwipeBatchRequestDto();
+        batch.setSwiperId(alice.getUserId());
+        batch.setSwipes(List.of(
+                new SwipeBatchRequestDto.Decision(bob.getUserId(), false),
+                new SwipeBatchRequestDto.Decision(carol.getUserId(), true),
+                new SwipeBatchRequestDto.Decision(bob.getUserId(), true)));
+
+        SwipeBatchResultDto result = swipeService.recordSwipes(batch);
+
+        // The later decision for bob wins; carol passed, so only bob matches
+        assertThat(result.getSwipesRecorded()).isEqualTo(2);
+        assertThat(result.getNewMatches()).singleElement()
+                .satisfies(match -> assertThat(match.getUserId()).isEqualTo(bob.getUserId()));
+        assertThat(matchRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordSwipe_rejectsSelfSwipe() {
+        assertThatThrownBy(() -> swipeService.recordSwipe(alice.getUserId(), alice.getUserId(), true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private User buildUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPasswordHash("test");
+        user.setFirstName("Swipe");
+        user.setLastName("Tester");
+        return user;
+    }
+}
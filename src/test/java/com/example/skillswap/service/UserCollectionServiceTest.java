@@ -0,0 +1,145 @@
+package com.example.skillswap.service;
+
+import com.example.skillswap.config.QueryMonitor;
+import com.example.skillswap.model.User;
+import com.example.skillswap.model.UserSkill;
+import com.example.skillswap.repository.UserRepository;
+import com.example.skillswap.repository.UserSkillRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class UserCollectionServiceTest {
+
+    @Autowired
+    private UserCollectionService collectionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSkillRepository skillRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+    private UserSkill java;
+    private UserSkill cobol;
+
+    @BeforeEach
+    void seed() {
+        user = new User();
+        user.setEmail("bulk@skills.edu");
+        user.setPasswordHash("secret");
+        user.setFirstName("Bulk");
+        user.setLastName("Editor");
+        user = userRepository.save(user);
+
+        java = skillRepository.save(new UserSkill(user, "Java", "Beginner", true, false));
+        cobol = skillRepository.save(new UserSkill(user, "COBOL", "Expert", true, false));
+    }
+
+    @Test
+    void replaceSkills_updatesKeptInsertsNewAndDeletesMissing() {
+        UserSkill javaEdit = new UserSkill(null, "Java", "Advanced", true, true);
+        javaEdit.setSkillId(java.getSkillId());
+        List<UserSkill> incoming = List.of(
+                javaEdit,
+                new UserSkill(null, "Go", "Beginner", false, true),
+                new UserSkill(null, "Rust", "Beginner", false, true));
+
+        List<UserSkill> saved = collectionService.replaceSkills(user.getUserId(), incoming);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(saved).extracting(UserSkill::getSkillId).doesNotContainNull();
+        assertThat(saved.get(0).getSkillId()).isEqualTo(java.getSkillId());
+
+        List<UserSkill> stored = skillRepository.findByUserUserId(user.getUserId());
+        assertThat(stored).extracting(UserSkill::getSkillName).containsExactlyInAnyOrder("Java", "Go", "Rust");
+        assertThat(stored).filteredOn(s -> s.getSkillName().equals("Java"))
+                .singleElement()
+                .satisfies(s -> {
+                    assertThat(s.getSkillLevel()).isEqualTo("Advanced");
+                    assertThat(s.getSeeking()).isTrue();
+                });
+        assertThat(skillRepository.findById(cobol.getSkillId())).isEmpty();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        // Only needed after the non-transactional test; elsewhere it is rolled back with the rest
+        skillRepository.deleteAll(skillRepository.findByUserUserId(user.getUserId()));
+        userRepository.deleteById(user.getUserId());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void replaceSkills_runsInOneTransactionWithBatchedStatements() {
+        List<UserSkill> incoming = new ArrayList<>();
+        UserSkill javaEdit = new UserSkill(null, "Java", "Advanced", true, true);
+        javaEdit.setSkillId(java.getSkillId());
+        incoming.add(javaEdit);
+        for (int i = 0; i < 30; i++) {
+            incoming.add(new UserSkill(null, "Skill " + i, "Beginner", false, true));
+        }
+
+        List<String> commits = new ArrayList<>();
+        TransactionExecutionListener listener = new TransactionExecutionListener() {
+            @Override
+            public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+                commits.add(transaction.getTransactionName());
+            }
+        };
+        var listeners = ((AbstractPlatformTransactionManager) transactionManager).getTransactionExecutionListeners();
+        listeners.add(listener);
+        QueryMonitor.startCounting();
+        int statements;
+        try {
+            collectionService.replaceSkills(user.getUserId(), incoming);
+        } finally {
+            statements = QueryMonitor.stopCounting();
+            listeners.remove(listener);
+        }
+
+        assertThat(commits).containsExactly(UserCollectionService.class.getName() + ".replaceSkills");
+        // Reads, one sequence call, then one batch each for the delete, the inserts and the update;
+        // not one round trip per row
+        assertThat(statements).isLessThan(10);
+        assertThat(skillRepository.findByUserUserId(user.getUserId())).hasSize(31);
+        assertThat(skillRepository.findById(cobol.getSkillId())).isEmpty();
+    }
+
+    @Test
+    void replaceSkills_rejectsUnknownUserAndUnnamedEntries() {
+        assertThatThrownBy(() -> collectionService.replaceSkills(user.getUserId() + 1000, List.of()))
+                .isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(() -> collectionService.replaceSkills(user.getUserId(),
+                List.of(new UserSkill(null, " ", null, false, false))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
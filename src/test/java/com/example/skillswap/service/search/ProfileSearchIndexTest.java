@@ -0,0 +1,121 @@
+package com.example.skillswap.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProfileSearchIndexTest {
+
+    // Merges run inline, so every flush and threshold merge is done when put returns
+    private final ProfileSearchIndex index = new ProfileSearchIndex(2, 2, Runnable::run);
+
+    @Test
+    void ranksBySkillsBeforeBioMentionsAndRequiresEveryTerm() {
+        index.rebuild(sink -> {
+            sink.accept(document(1, "Georgia Tech", "Python", "I mostly write Java at work"));
+            sink.accept(document(2, "Georgia Tech", "Java, Spring", "Backend clusters"));
+            sink.accept(document(3, "Emory", "Painting", "Watercolors"));
+        });
+
+        assertThat(profileIds(search("java"))).containsExactly(2L, 1L);
+        assertThat(profileIds(search("Java cluster"))).containsExactly(2L);
+        assertThat(profileIds(search("java painting"))).isEmpty();
+        assertThat(profileIds(search("the"))).isEmpty();
+    }
+
+    @Test
+    void filtersByUniversityAndRadius() {
+        index.rebuild(sink -> {
+            sink.accept(located(1, "Georgia Tech", 33.749, -84.388));
+            sink.accept(located(2, "Emory", 33.790, -84.325));
+            sink.accept(located(3, "Georgia Tech", 34.500, -84.388));
+            sink.accept(document(4, "Georgia Tech", "Java", null));
+        });
+
+        assertThat(profileIds(index.search(universityQuery("georgia tech ")))).containsExactly(1L, 3L, 4L);
+        assertThat(profileIds(index.search(universityQuery("Unknown")))).isEmpty();
+
+        List<ProfileSearchIndex.Hit> near = index.search(
+                new ProfileSearchIndex.Query("java", null, 33.84, -84.39, 25.0, 10));
+        assertThat(profileIds(near)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(near).allSatisfy(hit -> assertThat(hit.distanceKm()).isLessThan(25));
+    }
+
+    @Test
+    void updatesAreSearchableBeforeAndAfterMerging() {
+        ProfileSearchIndex slowMerging = new ProfileSearchIndex(2, 100, Runnable::run);
+        slowMerging.rebuild(sink -> {
+            sink.accept(document(1, null, "Java", null));
+            sink.accept(document(2, null, "Java", null));
+        });
+
+        slowMerging.put(document(1, null, "Kotlin", null));
+        slowMerging.put(document(5, null, "Java", null));
+        slowMerging.remove(2);
+        assertThat(profileIds(slowMerging.search(textQuery("java")))).containsExactly(5L);
+        assertThat(profileIds(slowMerging.search(textQuery("kotlin")))).containsExactly(1L);
+        assertThat(slowMerging.size()).isEqualTo(2);
+
+        slowMerging.flush();
+        assertThat(profileIds(slowMerging.search(textQuery("java")))).containsExactly(5L);
+        assertThat(profileIds(slowMerging.search(textQuery("kotlin")))).containsExactly(1L);
+        assertThat(slowMerging.size()).isEqualTo(2);
+    }
+
+    @Test
+    void mergesOnceAShardReachesTheThreshold() {
+        index.rebuild(sink -> sink.accept(document(2, null, "Java", null)));
+
+        // Profiles 4 and 6 land in the same shard as 2; the second pending change triggers its merge
+        index.put(document(4, null, "Java", null));
+        index.put(document(6, null, "Java Go", null));
+        index.put(document(2, null, "Go", null));
+
+        assertThat(profileIds(search("java"))).containsExactlyInAnyOrder(4L, 6L);
+        assertThat(profileIds(search("go"))).containsExactlyInAnyOrder(2L, 6L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void advanceFindsTheFirstDocAtOrAfterTheTarget() {
+        int[] docs = {1, 3, 5, 7, 9, 11, 13, 15, 17};
+        assertThat(ProfileSearchIndex.advance(docs, 0, 1)).isZero();
+        assertThat(ProfileSearchIndex.advance(docs, 0, 8)).isEqualTo(4);
+        assertThat(ProfileSearchIndex.advance(docs, 2, 17)).isEqualTo(8);
+        assertThat(ProfileSearchIndex.advance(docs, 3, 18)).isEqualTo(docs.length);
+    }
+
+    private List<ProfileSearchIndex.Hit> search(String text) {
+        return index.search(textQuery(text));
+    }
+
+    private static ProfileSearchIndex.Query textQuery(String text) {
+        return new ProfileSearchIndex.Query(text, null, null, null, null, 10);
+    }
+
+    private static ProfileSearchIndex.Query universityQuery(String university) {
+        return new ProfileSearchIndex.Query("java", university, null, null, null, 10);
+    }
+
+    private static List<Long> profileIds(List<ProfileSearchIndex.Hit> hits) {
+        return hits.stream().map(ProfileSearchIndex.Hit::profileId).toList();
+    }
+
+    private static SearchDocument document(long profileId, String university, String skills, String bio) {
+        return SearchDocument.builder(profileId, profileId * 10)
+                .university(university)
+                .text(skills, SearchDocument.SKILL_WEIGHT)
+                .text(bio, SearchDocument.TEXT_WEIGHT)
+                .build();
+    }
+
+    private static SearchDocument located(long profileId, String university, double latitude, double longitude) {
+        return SearchDocument.builder(profileId, profileId * 10)
+                .university(university)
+                .location(latitude, longitude)
+                .text("Java", SearchDocument.SKILL_WEIGHT)
+                .build();
+    }
+}
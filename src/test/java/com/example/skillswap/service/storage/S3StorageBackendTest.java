@@ -0,0 +1,115 @@
+package com.example.skillswap.service.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the S3 backend against a MinIO container as a local S3 stand-in.
+ * Skipped automatically when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class S3StorageBackendTest {
+
+    private static final String ACCESS_KEY = "minioadmin";
+    private static final String SECRET_KEY = "minioadmin";
+    private static final String BUCKET = "skillswap-test";
+
+    @Container
+    private static final GenericContainer<?> minio = new GenericContainer<>("minio/minio:RELEASE.2024-06-13T22-53-53Z")
+            .withCommand("server", "/data")
+            .withEnv("MINIO_ROOT_USER", ACCESS_KEY)
+            .withEnv("MINIO_ROOT_PASSWORD", SECRET_KEY)
+            .withExposedPorts(9000)
+            .waitingFor(Wait.forHttp("/minio/health/live").forPort(9000));
+
+    @TempDir
+    Path tempDir;
+
+    private S3StorageBackend backend;
+
+    @BeforeEach
+    void setUp() {
+        String endpoint = "http://" + minio.getHost() + ":" + minio.getMappedPort(9000);
+        try (S3Client admin = S3Client.builder()
+                .endpointOverride(URI.create(endpoint))
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(ACCESS_KEY, SECRET_KEY)))
+                .forcePathStyle(true)
+                .build()) {
+            if (admin.listBuckets().buckets().stream().noneMatch(b -> BUCKET.equals(b.name()))) {
+                admin.createBucket(b -> b.bucket(BUCKET));
+            }
+        }
+
+        backend = new S3StorageBackend(BUCKET, "us-east-1", endpoint, true, ACCESS_KEY, SECRET_KEY,
+                DataSize.ofMegabytes(5), 3, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        backend.close();
+    }
+
+    @Test
+    void put_smallFileUsesSingleRequest() throws Exception {
+        Path file = writeRandomFile("small.bin", 1024);
+
+        backend.put("small-object", file, "application/octet-stream");
+
+        assertThat(backend.exists("small-object")).isTrue();
+        assertThat(download("small-object")).isEqualTo(Files.readAllBytes(file));
+    }
+
+    @Test
+    void put_largeFileUsesParallelMultipartUpload() throws Exception {
+        // Three 5 MiB parts plus a short tail
+        Path file = writeRandomFile("large.bin", 15 * 1024 * 1024 + 321);
+
+        backend.put("large-object", file, "image/jpeg");
+
+        assertThat(download("large-object")).isEqualTo(Files.readAllBytes(file));
+    }
+
+    @Test
+    void exists_isFalseForMissingKey() {
+        assertThat(backend.exists("missing-object")).isFalse();
+    }
+
+    private byte[] download(String key) throws Exception {
+        URI url = backend.presignedUrl(key).orElseThrow();
+        HttpResponse<byte[]> response = HttpClient.newHttpClient()
+                .send(HttpRequest.newBuilder(url).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return response.body();
+    }
+
+    private Path writeRandomFile(String name, int size) throws Exception {
+        byte[] bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        Path file = tempDir.resolve(name);
+        Files.write(file, bytes);
+        return file;
+    }
+}